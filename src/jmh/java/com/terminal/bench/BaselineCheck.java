@@ -0,0 +1,124 @@
+package com.terminal.bench;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compares a JMH result file with the stored baseline and fails on regressions.
+ *
+ * <p>Results are matched by benchmark name and parameters. A benchmark regresses when its
+ * score is worse than the baseline's by more than the tolerance plus the combined error
+ * margins, or when it allocates more per operation than the tolerance allows. Benchmarks
+ * missing from the baseline are reported but never fail the check. Without a baseline the
+ * results are stored as the new baseline.</p>
+ *
+ * <p>Usage: {@code BaselineCheck <result.json> <baseline.json> [tolerance]}</p>
+ */
+public final class BaselineCheck {
+
+  private static final String ALLOCATION = "gc.alloc.rate.norm";
+  // Allocation is deterministic up to a few bytes of profiler noise
+  private static final double ALLOCATION_SLACK_BYTES = 16;
+
+  private BaselineCheck() {
+  }
+
+  public static void main(String[] args) throws IOException {
+    if (args.length < 2) {
+      System.err.println("Usage: BaselineCheck <result.json> <baseline.json> [tolerance]");
+      System.exit(2);
+    }
+
+    Path result = Path.of(args[0]);
+    Path baseline = Path.of(args[1]);
+    double tolerance = args.length > 2 ? Double.parseDouble(args[2]) : 0.10;
+
+    if (!Files.exists(baseline)) {
+      Files.createDirectories(baseline.toAbsolutePath().getParent());
+      Files.copy(result, baseline, StandardCopyOption.REPLACE_EXISTING);
+      System.out.println("No baseline yet, stored the results as " + baseline);
+      return;
+    }
+
+    ObjectMapper mapper = new ObjectMapper();
+    Map<String, JsonNode> expected = index(mapper.readTree(baseline.toFile()));
+    Map<String, JsonNode> actual = index(mapper.readTree(result.toFile()));
+
+    int regressions = 0;
+    for (Map.Entry<String, JsonNode> entry : actual.entrySet()) {
+      JsonNode before = expected.get(entry.getKey());
+      if (before == null) {
+        System.out.printf("NEW        %s%n", entry.getKey());
+        continue;
+      }
+      if (!compare(entry.getKey(), before, entry.getValue(), tolerance)) {
+        regressions++;
+      }
+    }
+
+    System.out.printf("%d of %d benchmarks regressed (tolerance %.0f%%)%n", regressions,
+        actual.size(), tolerance * 100);
+    if (regressions > 0) {
+      System.exit(1);
+    }
+  }
+
+  // Prints the comparison of one benchmark and returns false if it regressed
+  private static boolean compare(String name, JsonNode before, JsonNode after, double tolerance) {
+    JsonNode oldMetric = before.path("primaryMetric");
+    JsonNode newMetric = after.path("primaryMetric");
+    double oldScore = oldMetric.path("score").asDouble();
+    double newScore = newMetric.path("score").asDouble();
+    double margin = oldScore * tolerance + error(oldMetric) + error(newMetric);
+
+    // Throughput is better when higher, the time modes when lower
+    boolean higherIsBetter = "thrpt".equals(after.path("mode").asText());
+    double worse = higherIsBetter ? oldScore - newScore : newScore - oldScore;
+    boolean timeRegressed = worse > margin;
+
+    double oldAllocation = allocation(before);
+    double newAllocation = allocation(after);
+    boolean allocationRegressed = oldAllocation >= 0 && newAllocation >= 0
+        && newAllocation > oldAllocation * (1 + tolerance) + ALLOCATION_SLACK_BYTES;
+
+    System.out.printf("%-10s %s: %.3f -> %.3f %s, %.0f -> %.0f B/op%n",
+        timeRegressed || allocationRegressed ? "REGRESSED" : "OK", name, oldScore, newScore,
+        newMetric.path("scoreUnit").asText(), oldAllocation, newAllocation);
+    return !timeRegressed && !allocationRegressed;
+  }
+
+  private static double error(JsonNode metric) {
+    double error = metric.path("scoreError").asDouble(0);
+    return Double.isNaN(error) ? 0 : error;
+  }
+
+  // Older JMH versions prefix the profiler's metrics with a middle dot
+  private static double allocation(JsonNode benchmark) {
+    JsonNode metrics = benchmark.path("secondaryMetrics");
+    JsonNode metric = metrics.has(ALLOCATION) ? metrics.get(ALLOCATION)
+        : metrics.path("·" + ALLOCATION);
+    return metric.isMissingNode() ? -1 : metric.path("score").asDouble();
+  }
+
+  private static Map<String, JsonNode> index(JsonNode results) {
+    Map<String, JsonNode> benchmarks = new LinkedHashMap<>();
+    for (JsonNode benchmark : results) {
+      StringBuilder key = new StringBuilder(benchmark.path("benchmark").asText());
+      Iterator<Map.Entry<String, JsonNode>> params = benchmark.path("params").fields();
+      while (params.hasNext()) {
+        Map.Entry<String, JsonNode> param = params.next();
+        key.append(key.indexOf(":") < 0 ? ":" : ",")
+            .append(param.getKey()).append('=').append(param.getValue().asText());
+      }
+      benchmarks.put(key.toString(), benchmark);
+    }
+    return benchmarks;
+  }
+}
@@ -0,0 +1,86 @@
+package com.terminal.bench;
+
+import com.terminal.commands.ClearCommand;
+import com.terminal.commands.CommandContext;
+import com.terminal.commands.CommandRegistry;
+import com.terminal.commands.GrepCommand;
+import com.terminal.commands.HeadCommand;
+import com.terminal.commands.HelpCommand;
+import com.terminal.commands.HistoryCommand;
+import com.terminal.commands.SeqCommand;
+import com.terminal.commands.SortCommand;
+import com.terminal.commands.TailCommand;
+import com.terminal.commands.TerminalCommand;
+import com.terminal.commands.TimeCommand;
+import com.terminal.commands.WcCommand;
+import com.terminal.history.CommandHistory;
+import com.terminal.io.OutputBuffer;
+import com.terminal.render.StaticScreens;
+import com.terminal.session.ForegroundApp;
+import com.terminal.session.ForegroundStack;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Command lines as the shell processes them: parsing, looking up the command, completing names
+ * and running a command that writes a screenful of ANSI styled output.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class DispatchBenchmark {
+
+  private final OutputBuffer out = FakeTerminal.output();
+  private final CommandRegistry registry = new CommandRegistry(List.of(
+      new HelpCommand(new StaticScreens()), new ClearCommand(), new TimeCommand(),
+      new HistoryCommand(), new SeqCommand(), new GrepCommand(), new HeadCommand(),
+      new TailCommand(), new WcCommand(), new SortCommand()));
+  private final CommandContext context = new CommandContext(out.getTerminal(), "bench", out, null,
+      Runnable::run, new ForegroundStack(new ForegroundApp() { }), null, new CommandHistory(100),
+      registry, null);
+
+  @Benchmark
+  public TerminalCommand parseAndFind() {
+    return find("  History   --all ");
+  }
+
+  @Benchmark
+  public TerminalCommand notFound() {
+    return find("histroy");
+  }
+
+  @Benchmark
+  public List<String> completeName() {
+    return registry.complete("h");
+  }
+
+  @Benchmark
+  public long help() {
+    String[] parts = "help".trim().split("\\s+");
+    out.beginEvent();
+    try {
+      registry.find(parts[0].toLowerCase()).execute(context, parts);
+    } finally {
+      out.endEvent();
+    }
+    return out.getFlushedBytes();
+  }
+
+  // Mirrors the shell's parsing of a command line
+  private TerminalCommand find(String commandLine) {
+    String[] parts = commandLine.trim().split("\\s+");
+    return registry.find(parts[0].toLowerCase());
+  }
+}
@@ -0,0 +1,34 @@
+package com.terminal.bench;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+import com.terminal.io.OutputBuffer;
+import com.webforj.component.terminal.Terminal;
+
+/**
+ * A terminal that discards its output, so benchmarks measure the server side only.
+ */
+final class FakeTerminal {
+
+  private FakeTerminal() {
+  }
+
+  /**
+   * Create a terminal sink. The mock is stub-only, so it does not remember the writes.
+   *
+   * @return the terminal
+   */
+  static Terminal create() {
+    return mock(Terminal.class, withSettings().stubOnly());
+  }
+
+  /**
+   * Create an output buffer writing to a terminal sink.
+   *
+   * @return the output buffer
+   */
+  static OutputBuffer output() {
+    return new OutputBuffer(create());
+  }
+}
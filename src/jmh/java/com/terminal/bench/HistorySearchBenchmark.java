@@ -0,0 +1,76 @@
+package com.terminal.bench;
+
+import com.terminal.history.CommandHistory;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Ctrl-R reverse search over a full history: a match near the newest entry, one near the
+ * oldest, a query matching nothing, and adding an entry, which evicts and indexes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class HistorySearchBenchmark {
+
+  private static final String[] COMMANDS = {
+      "history | grep snake | head 5", "seq 100000 | wc", "less server.log", "replay", "time",
+      "help", "snake", "seq 1000 | sort | tail 3", "grep error app.log", "share"};
+
+  @Param({"1000", "10000"})
+  int capacity;
+
+  private CommandHistory history;
+  private int added;
+
+  @Setup
+  public void setUp() {
+    history = new CommandHistory(capacity);
+    for (added = 0; added < capacity; added++) {
+      history.add(command(added));
+    }
+    // One distinctive entry at each end of the history
+    history.add("echo oldest-marker");
+    for (int i = 0; i < capacity - 2; i++) {
+      history.add(command(added++));
+    }
+    history.add("echo newest-marker");
+  }
+
+  @Benchmark
+  public int newestMatch() {
+    return history.searchBackward("newest-marker", history.size());
+  }
+
+  @Benchmark
+  public int oldestMatch() {
+    return history.searchBackward("oldest-marker", history.size());
+  }
+
+  @Benchmark
+  public int noMatch() {
+    return history.searchBackward("kubectl", history.size());
+  }
+
+  @Benchmark
+  public boolean add() {
+    return history.add(command(added++));
+  }
+
+  private static String command(int i) {
+    return COMMANDS[i % COMMANDS.length] + " #" + i;
+  }
+}
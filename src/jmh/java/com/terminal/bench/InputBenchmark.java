@@ -0,0 +1,110 @@
+package com.terminal.bench;
+
+import com.terminal.io.InputDecoder;
+import com.terminal.io.InputEvent;
+import com.terminal.io.LineEditor;
+import com.terminal.io.OutputBuffer;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Terminal input from data event to echo, as the shell handles it: decoding, editing the line
+ * and sending the composed echo in one flush.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class InputBenchmark {
+
+  // Long enough to wrap a few times, then the line is accepted and typing starts over
+  private static final int MAX_LINE = 240;
+
+  @Param({"1024", "65536"})
+  int pasteSize;
+
+  private final OutputBuffer out = FakeTerminal.output();
+  private final LineEditor editor = new LineEditor(out, "$ ", () -> 80);
+  private final InputDecoder decoder = new InputDecoder(this::handle);
+  private String paste;
+
+  @Setup
+  public void setUp() {
+    StringBuilder text = new StringBuilder(pasteSize + 12);
+    text.append("\u001B[200~");
+    for (int i = 0; i < pasteSize; i++) {
+      text.append((char) ('a' + i % 26));
+    }
+    text.append("\u001B[201~");
+    paste = text.toString();
+    editor.show();
+  }
+
+  @Benchmark
+  public int keystroke() {
+    onData("x");
+    if (editor.getCursor() >= MAX_LINE) {
+      onData("\r");
+    }
+    return editor.getCursor();
+  }
+
+  @Benchmark
+  public int arrowKeys() {
+    onData("\u001B[D");
+    onData("\u001B[C");
+    return editor.getCursor();
+  }
+
+  @Benchmark
+  public int paste() {
+    onData(paste);
+    int cursor = editor.getCursor();
+    onData("\r");
+    return cursor;
+  }
+
+  // Mirrors the view's data listener: one flush per data event
+  private void onData(String data) {
+    out.beginEvent();
+    try {
+      decoder.decode(data);
+    } finally {
+      out.endEvent();
+    }
+  }
+
+  private void handle(InputEvent event) {
+    switch (event) {
+      case InputEvent.Text text -> editor.insert(text.text());
+      case InputEvent.Paste paste -> editor.insert(paste.text());
+      case InputEvent.Key key -> {
+        switch (key.key()) {
+          case ENTER -> {
+            // The shell shows a fresh prompt after running the line
+            editor.accept();
+            editor.show();
+          }
+          case LEFT -> editor.left();
+          case RIGHT -> editor.right();
+          default -> {
+          }
+        }
+      }
+      case InputEvent.Control control -> {
+      }
+    }
+  }
+}
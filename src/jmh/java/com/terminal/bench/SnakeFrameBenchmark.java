@@ -0,0 +1,122 @@
+package com.terminal.bench;
+
+import com.terminal.io.OutputBuffer;
+import com.terminal.render.CellGrid;
+import com.terminal.snake.SnakeBoard;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Snake frames at different snake lengths: the differential frame of a tick, and a full redraw
+ * as sent after a resize or resume.
+ *
+ * <p>The snake runs along a closed path through every cell of the board, so it can move forever
+ * without colliding and the work per tick stays the same.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class SnakeFrameBenchmark {
+
+  private static final int WIDTH = 40;
+  private static final int HEIGHT = 20;
+  private static final int BOARD_ROW = 6;
+  private static final int SCORE_ROW = BOARD_ROW + HEIGHT + 3;
+  private static final String HEAD = "●";
+  private static final String HEAD_STYLE = "\u001B[1;32m";
+  private static final String BODY = "○";
+  private static final String BODY_STYLE = "\u001B[32m";
+  private static final String EMPTY = " ";
+
+  @Param({"3", "50", "400"})
+  int length;
+
+  private final SnakeBoard board = new SnakeBoard(WIDTH, HEIGHT);
+  private final CellGrid grid = new CellGrid(WIDTH, HEIGHT, BOARD_ROW + 1, 2);
+  private final StringBuilder frame = new StringBuilder(256);
+  private final OutputBuffer out = FakeTerminal.output();
+  private int[] path;
+  private int position;
+
+  @Setup
+  public void setUp() {
+    path = cycle();
+    board.clear();
+    grid.reset(EMPTY, null);
+    for (position = 0; position < length; position++) {
+      board.addHead(path[position]);
+    }
+    position--;
+    for (int i = 1; i < board.length(); i++) {
+      grid.set(board.segment(i), BODY, BODY_STYLE);
+    }
+    grid.set(board.head(), HEAD, HEAD_STYLE);
+    render();
+  }
+
+  @Benchmark
+  public int tick() {
+    int head = board.head();
+    position = (position + 1) % path.length;
+    int next = path[position];
+
+    grid.set(board.removeTail(), EMPTY, null);
+    board.addHead(next);
+    grid.set(head, BODY, BODY_STYLE);
+    grid.set(next, HEAD, HEAD_STYLE);
+    return render();
+  }
+
+  @Benchmark
+  public int redraw() {
+    grid.invalidate();
+    return render();
+  }
+
+  // Mirrors the frame the game sends: changed cells, the score line and the parked cursor
+  private int render() {
+    frame.setLength(0);
+    grid.render(frame);
+    frame.append("\u001B[").append(SCORE_ROW).append(";1H\u001B[2K")
+        .append("\u001B[1;33mScore: ").append(position * 10)
+        .append("  |  Length: ").append(board.length())
+        .append("\u001B[0m");
+    frame.append("\u001B[").append(SCORE_ROW + 1).append(";1H");
+    out.write(frame);
+    return frame.length();
+  }
+
+  // Right along even rows, left along odd rows back to column 1, then up column 0
+  private int[] cycle() {
+    int[] cells = new int[WIDTH * HEIGHT];
+    int i = 0;
+    for (int y = 0; y < HEIGHT; y++) {
+      if (y % 2 == 0) {
+        for (int x = y == 0 ? 0 : 1; x < WIDTH; x++) {
+          cells[i++] = board.cell(x, y);
+        }
+      } else {
+        for (int x = WIDTH - 1; x >= 1; x--) {
+          cells[i++] = board.cell(x, y);
+        }
+      }
+    }
+    for (int y = HEIGHT - 1; y >= 1; y--) {
+      cells[i++] = board.cell(0, y);
+    }
+    return cells;
+  }
+}
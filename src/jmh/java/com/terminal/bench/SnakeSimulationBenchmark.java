@@ -0,0 +1,45 @@
+package com.terminal.bench;
+
+import com.terminal.snake.Direction;
+import com.terminal.snake.SnakeEngine;
+import com.terminal.snake.SnakeRenderer;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Whole headless Snake games on the default board, with a player turning at random.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class SnakeSimulationBenchmark {
+
+  private static final Direction[] DIRECTIONS = Direction.values();
+
+  private final SplittableRandom player = new SplittableRandom(1);
+  private long seed = 0;
+
+  @Benchmark
+  public long game() {
+    SnakeEngine engine = new SnakeEngine(40, 20, seed++, SnakeRenderer.NONE);
+    engine.start();
+    while (!engine.tick().isOver()) {
+      if (player.nextInt(4) == 0) {
+        engine.turn(DIRECTIONS[player.nextInt(DIRECTIONS.length)]);
+      }
+    }
+    return engine.getTicks();
+  }
+}
@@ -0,0 +1,69 @@
+package com.terminal.bench;
+
+import com.terminal.render.Style;
+import com.terminal.render.TableWriter;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * A million-row table of a row number, a name and a size, written through {@link TableWriter}
+ * and, for comparison, with one {@code String.format} per row. The GC profiler shows the
+ * allocation per table, which for the writer is the sample window and its buffers.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class TableBenchmark {
+
+  private static final int ROWS = 1_000_000;
+  private static final String[] NAMES = {
+      "snake", "history", "less", "replay", "seq", "sort", "日本語のファイル", "wc"};
+
+  private Blackhole blackhole;
+
+  @Setup
+  public void setUp(Blackhole blackhole) {
+    this.blackhole = blackhole;
+  }
+
+  @Benchmark
+  public long tableWriter() {
+    TableWriter table = new TableWriter(blackhole::consume, 80)
+        .column("#", TableWriter.Align.RIGHT, Style.BOLD_YELLOW, 7)
+        .column("Name", TableWriter.Align.LEFT, null)
+        .column("Size", TableWriter.Align.RIGHT, Style.GREEN, 10);
+    for (int i = 0; i < ROWS; i++) {
+      table.cell(i).cell(NAMES[i & 7]).cell((long) i * 4099).endRow();
+    }
+    table.finish();
+    return table.getRowCount();
+  }
+
+  @Benchmark
+  public long stringFormat() {
+    StringBuilder chunk = new StringBuilder(TableWriter.DEFAULT_CHUNK_CHARS + 1024);
+    for (int i = 0; i < ROWS; i++) {
+      chunk.append(String.format("\u001B[1;33m%7d\u001B[0m  %-16s  \u001B[32m%10d\u001B[0m\r\n",
+          i, NAMES[i & 7], (long) i * 4099));
+      if (chunk.length() >= TableWriter.DEFAULT_CHUNK_CHARS) {
+        blackhole.consume(chunk);
+        chunk.setLength(0);
+      }
+    }
+    blackhole.consume(chunk);
+    return ROWS;
+  }
+}
@@ -2,12 +2,14 @@ package com.terminal;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
 import com.webforj.App;
 import com.webforj.annotation.AppProfile;
 import com.webforj.annotation.Routify;
 import com.webforj.annotation.StyleSheet;
 
 @SpringBootApplication
+@ImportRuntimeHints(TerminalRuntimeHints.class)
 @Routify(packages = "com.terminal.views")
 @StyleSheet("ws://app.css")
 @AppProfile(name = "Terminal", shortName = "Terminal")
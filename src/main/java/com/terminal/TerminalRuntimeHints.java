@@ -0,0 +1,50 @@
+package com.terminal;
+
+import com.terminal.commands.TerminalCommand;
+import com.webforj.router.annotation.Route;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.springframework.core.type.filter.AssignableTypeFilter;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Runtime hints for the ahead-of-time processed and native builds.
+ *
+ * <p>Spring's AOT processing covers the beans, but webforJ discovers and creates the
+ * {@code @Route} views by reflection, and the commands are looked up by their interface. Both
+ * are found by scanning the application's packages at build time, so a new view or command is
+ * covered without touching this class. The resources webforJ and Spring Boot read from the class
+ * path are registered as well.</p>
+ */
+public class TerminalRuntimeHints implements RuntimeHintsRegistrar {
+
+  private static final String BASE_PACKAGE = "com.terminal";
+
+  private static final String[] RESOURCES = {
+      "static/**", "icons/**", "banner.txt", "blsclient.conf", "certificate.bls"
+  };
+
+  @Override
+  public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+    ClassPathScanningCandidateComponentProvider scanner =
+        new ClassPathScanningCandidateComponentProvider(false);
+    scanner.setResourceLoader(new DefaultResourceLoader(classLoader));
+    scanner.addIncludeFilter(new AnnotationTypeFilter(Route.class));
+    scanner.addIncludeFilter(new AssignableTypeFilter(TerminalCommand.class));
+
+    for (BeanDefinition candidate : scanner.findCandidateComponents(BASE_PACKAGE)) {
+      Class<?> type = ClassUtils.resolveClassName(candidate.getBeanClassName(), classLoader);
+      hints.reflection().registerType(type, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+          MemberCategory.INVOKE_PUBLIC_METHODS);
+    }
+
+    for (String pattern : RESOURCES) {
+      hints.resources().registerPattern(pattern);
+    }
+  }
+}
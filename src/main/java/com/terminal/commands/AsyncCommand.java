@@ -0,0 +1,49 @@
+package com.terminal.commands;
+
+import com.terminal.io.StreamOutput;
+import com.terminal.session.CommandJob;
+
+/**
+ * A command that runs off the UI thread.
+ *
+ * <p>The shell starts asynchronous commands as a {@link CommandJob} on a virtual thread, where
+ * they can block and be interrupted with Ctrl-C, and shows the prompt again once they
+ * finish.</p>
+ */
+public interface AsyncCommand extends TerminalCommand {
+
+  /**
+   * Execute the command off the UI thread. Implementations must not touch UI components and
+   * should stop when interrupted.
+   *
+   * @param context the session context
+   * @param out the output stream
+   * @param args the command arguments
+   * @throws InterruptedException if the command was cancelled while waiting
+   */
+  void executeAsync(CommandContext context, StreamOutput out, String[] args)
+      throws InterruptedException;
+
+  /**
+   * Check whether the command runs asynchronously, a command can choose to run on the UI
+   * thread when its output is small.
+   *
+   * @return true unless {@link #execute(CommandContext, String[])} is implemented to run
+   *     synchronously
+   */
+  default boolean isAsync() {
+    return true;
+  }
+
+  /**
+   * Start the command as the session's foreground job. The shell starts jobs itself so that it
+   * can show the prompt when they finish.
+   *
+   * @param context the session context
+   * @param args the command arguments
+   */
+  @Override
+  default void execute(CommandContext context, String[] args) {
+    new CommandJob(this, args, context, () -> { }).start(context.getForeground());
+  }
+}
@@ -1,7 +1,8 @@
 package com.terminal.commands;
 
-import com.webforj.component.terminal.Terminal;
+import org.springframework.stereotype.Component;
 
+@Component
 public class ClearCommand implements TerminalCommand {
 
   @Override
@@ -15,7 +16,7 @@ public class ClearCommand implements TerminalCommand {
   }
 
   @Override
-  public void execute(Terminal term, String[] args) {
-    term.clear();
+  public void execute(CommandContext context, String[] args) {
+    context.getOutput().clear();
   }
 }
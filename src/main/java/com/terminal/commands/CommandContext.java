@@ -0,0 +1,162 @@
+package com.terminal.commands;
+
+import com.terminal.history.CommandHistory;
+import com.terminal.io.LineEditor;
+import com.terminal.io.OutputBuffer;
+import com.terminal.render.TextBuilder;
+import com.terminal.scheduler.TickSession;
+import com.terminal.session.ForegroundStack;
+import com.terminal.spectate.Broadcast;
+import com.webforj.component.terminal.Terminal;
+import java.util.concurrent.Executor;
+
+/**
+ * The per-session state available to commands.
+ *
+ * <p>Commands are shared by all sessions, so anything that belongs to one session is handed to
+ * them through this context instead of being held by the command.</p>
+ */
+public class CommandContext {
+
+  private final Terminal terminal;
+  private final String userId;
+  private final OutputBuffer output;
+  private final LineEditor editor;
+  private final Executor uiExecutor;
+  private final ForegroundStack foreground;
+  private final TickSession tickSession;
+  private final CommandHistory history;
+  private final CommandRegistry registry;
+  private final Broadcast broadcast;
+  private final TextBuilder text = new TextBuilder();
+
+  /**
+   * Create a context.
+   *
+   * @param terminal the terminal component
+   * @param userId the id of the session's user
+   * @param output the session's output buffer
+   * @param editor the shell's input line
+   * @param uiExecutor the executor running tasks on the session's UI thread
+   * @param foreground the session's foreground stack
+   * @param tickSession the session's handle on the tick scheduler
+   * @param history the session's command history
+   * @param registry the command registry
+   * @param broadcast the broadcast of the session's output to spectators
+   */
+  public CommandContext(Terminal terminal, String userId, OutputBuffer output, LineEditor editor,
+      Executor uiExecutor, ForegroundStack foreground, TickSession tickSession,
+      CommandHistory history, CommandRegistry registry, Broadcast broadcast) {
+    this.terminal = terminal;
+    this.userId = userId;
+    this.output = output;
+    this.editor = editor;
+    this.uiExecutor = uiExecutor;
+    this.foreground = foreground;
+    this.tickSession = tickSession;
+    this.history = history;
+    this.registry = registry;
+    this.broadcast = broadcast;
+  }
+
+  /**
+   * Get the terminal component. Only usable on the UI thread.
+   *
+   * @return the terminal
+   */
+  public Terminal getTerminal() {
+    return terminal;
+  }
+
+  /**
+   * Get the id of the session's user, which owns the session's history and recordings.
+   *
+   * @return the user id
+   */
+  public String getUserId() {
+    return userId;
+  }
+
+  /**
+   * Get the session's output buffer. Only usable on the UI thread.
+   *
+   * @return the output buffer
+   */
+  public OutputBuffer getOutput() {
+    return output;
+  }
+
+  /**
+   * Get the shell's input line. A command that keeps the foreground after it returns, such as a
+   * game, {@link LineEditor#show() shows} it again when it exits. Only usable on the UI thread.
+   *
+   * @return the line editor
+   */
+  public LineEditor getEditor() {
+    return editor;
+  }
+
+  /**
+   * Get the session's builder for composing output, which is cleared when written. Only usable
+   * on the UI thread.
+   *
+   * @return the text builder
+   */
+  public TextBuilder getText() {
+    return text;
+  }
+
+  /**
+   * Get the executor running tasks on the session's UI thread.
+   *
+   * @return the UI executor
+   */
+  public Executor getUiExecutor() {
+    return uiExecutor;
+  }
+
+  /**
+   * Get the stack deciding which application receives the terminal input.
+   *
+   * @return the foreground stack
+   */
+  public ForegroundStack getForeground() {
+    return foreground;
+  }
+
+  /**
+   * Get the session's handle on the shared tick scheduler.
+   *
+   * @return the tick session
+   */
+  public TickSession getTickSession() {
+    return tickSession;
+  }
+
+  /**
+   * Get the session's command history.
+   *
+   * @return the history
+   */
+  public CommandHistory getHistory() {
+    return history;
+  }
+
+  /**
+   * Get the command registry.
+   *
+   * @return the registry
+   */
+  public CommandRegistry getRegistry() {
+    return registry;
+  }
+
+  /**
+   * Get the broadcast of the session's output to spectators.
+   *
+   * @return the broadcast
+   */
+  public Broadcast getBroadcast() {
+    return broadcast;
+  }
+}
@@ -0,0 +1,87 @@
+package com.terminal.commands;
+
+import java.util.Collection;
+import java.util.List;
+import org.springframework.stereotype.Component;
+
+/**
+ * Application-wide registry of the terminal commands.
+ *
+ * <p>Commands are stateless Spring beans discovered once at startup and shared by every
+ * session; per-session state reaches them through the {@link CommandContext}. The registry is
+ * backed by a {@link CommandTrie} that is replaced as a whole when a command is registered, so
+ * sessions read it without locking.</p>
+ */
+@Component
+public class CommandRegistry {
+
+  private volatile CommandTrie trie;
+  private volatile long version = 0;
+
+  /**
+   * Create a registry holding the given commands.
+   *
+   * @param commands the commands
+   */
+  public CommandRegistry(List<TerminalCommand> commands) {
+    CommandTrie initial = new CommandTrie();
+    for (TerminalCommand command : commands) {
+      initial.put(command);
+    }
+    this.trie = initial;
+  }
+
+  /**
+   * Register a command, replacing any command with the same name.
+   *
+   * @param command the command
+   */
+  public synchronized void register(TerminalCommand command) {
+    CommandTrie updated = new CommandTrie();
+    for (TerminalCommand existing : trie.withPrefix("")) {
+      updated.put(existing);
+    }
+    updated.put(command);
+    trie = updated;
+    version++;
+  }
+
+  /**
+   * Get the version of the registry, which changes whenever a command is registered. Output
+   * derived from the commands can be cached for as long as the version stays the same.
+   *
+   * @return the version
+   */
+  public long getVersion() {
+    return version;
+  }
+
+  /**
+   * Find a command by its name.
+   *
+   * @param name the command name
+   * @return the command, or null if none has this name
+   */
+  public TerminalCommand find(String name) {
+    return trie.get(name);
+  }
+
+  /**
+   * Get the names of the commands starting with the prefix, in alphabetical order.
+   *
+   * @param prefix the prefix
+   * @return the matching names
+   */
+  public List<String> complete(String prefix) {
+    return trie.withPrefix(prefix).stream().map(TerminalCommand::getName).toList();
+  }
+
+  /**
+   * Get all commands in alphabetical order.
+   *
+   * @return the commands
+   */
+  public Collection<TerminalCommand> getCommands() {
+    return trie.withPrefix("");
+  }
+}
@@ -0,0 +1,94 @@
+package com.terminal.commands;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Prefix tree of commands keyed by name.
+ *
+ * <p>Lookups and prefix queries cost time proportional to the length of the name and the number
+ * of matches, not to the number of commands. Children are kept sorted so matches come out in
+ * alphabetical order.</p>
+ */
+class CommandTrie {
+
+  private final Node root = new Node();
+  private int size = 0;
+
+  /**
+   * Add a command, replacing any command with the same name.
+   *
+   * @param command the command
+   */
+  void put(TerminalCommand command) {
+    Node node = root;
+    String name = command.getName();
+    for (int i = 0; i < name.length(); i++) {
+      node = node.children.computeIfAbsent(name.charAt(i), c -> new Node());
+    }
+
+    if (node.command == null) {
+      size++;
+    }
+    node.command = command;
+  }
+
+  /**
+   * Find a command by its exact name.
+   *
+   * @param name the name
+   * @return the command, or null if none has this name
+   */
+  TerminalCommand get(String name) {
+    Node node = find(name);
+    return node == null ? null : node.command;
+  }
+
+  /**
+   * Collect the commands whose name starts with the prefix, in alphabetical order.
+   *
+   * @param prefix the prefix
+   * @return the matching commands
+   */
+  List<TerminalCommand> withPrefix(String prefix) {
+    List<TerminalCommand> matches = new ArrayList<>();
+    Node node = find(prefix);
+    if (node != null) {
+      collect(node, matches);
+    }
+    return matches;
+  }
+
+  /**
+   * Get the number of commands.
+   *
+   * @return the size
+   */
+  int size() {
+    return size;
+  }
+
+  private Node find(String prefix) {
+    Node node = root;
+    for (int i = 0; i < prefix.length() && node != null; i++) {
+      node = node.children.get(prefix.charAt(i));
+    }
+    return node;
+  }
+
+  private static void collect(Node node, List<TerminalCommand> matches) {
+    if (node.command != null) {
+      matches.add(node.command);
+    }
+    for (Node child : node.children.values()) {
+      collect(child, matches);
+    }
+  }
+
+  private static final class Node {
+    private final Map<Character, Node> children = new TreeMap<>();
+    private TerminalCommand command;
+  }
+}
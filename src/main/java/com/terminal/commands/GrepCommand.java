@@ -0,0 +1,58 @@
+package com.terminal.commands;
+
+import com.terminal.pipeline.LineInput;
+import com.terminal.pipeline.LineOutput;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.springframework.stereotype.Component;
+
+@Component
+public class GrepCommand implements PipelineCommand {
+
+  private static final List<String> OPTIONS = List.of("-i", "-v");
+
+  @Override
+  public String getName() {
+    return "grep";
+  }
+
+  @Override
+  public String getDescription() {
+    return "Keep lines matching a pattern (grep [-i] [-v] <pattern>)";
+  }
+
+  @Override
+  public void pipe(CommandContext context, LineInput in, LineOutput out, String[] args)
+      throws InterruptedException {
+    boolean ignoreCase = false;
+    boolean invert = false;
+    String regex = null;
+
+    for (int i = 1; i < args.length; i++) {
+      switch (args[i]) {
+        case "-i" -> ignoreCase = true;
+        case "-v" -> invert = true;
+        default -> regex = args[i];
+      }
+    }
+
+    if (regex == null) {
+      throw new IllegalArgumentException("usage: grep [-i] [-v] <pattern>");
+    }
+
+    Matcher matcher = Pattern.compile(regex, ignoreCase ? Pattern.CASE_INSENSITIVE : 0).matcher("");
+    String line;
+    while ((line = in.readLine()) != null) {
+      if (matcher.reset(line).find() != invert) {
+        out.writeLine(line);
+      }
+    }
+  }
+
+  @Override
+  public List<String> complete(CommandContext context, String[] args) {
+    String prefix = args[args.length - 1];
+    return OPTIONS.stream().filter(option -> option.startsWith(prefix)).toList();
+  }
+}
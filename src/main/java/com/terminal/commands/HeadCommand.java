@@ -0,0 +1,61 @@
+package com.terminal.commands;
+
+import com.terminal.pipeline.LineInput;
+import com.terminal.pipeline.LineOutput;
+import org.springframework.stereotype.Component;
+
+@Component
+public class HeadCommand implements PipelineCommand {
+
+  static final int DEFAULT_COUNT = 10;
+
+  @Override
+  public String getName() {
+    return "head";
+  }
+
+  @Override
+  public String getDescription() {
+    return "Keep the first N lines (head [-n] [N], default 10)";
+  }
+
+  @Override
+  public void pipe(CommandContext context, LineInput in, LineOutput out, String[] args)
+      throws InterruptedException {
+    int count = parseCount(args, getName());
+
+    // Returning closes the input, which stops the producers upstream
+    String line;
+    for (int i = 0; i < count && (line = in.readLine()) != null; i++) {
+      out.writeLine(line);
+    }
+  }
+
+  /**
+   * Parse the line count of head and tail, given as {@code N}, {@code -N} or {@code -n N}.
+   */
+  static int parseCount(String[] args, String name) {
+    String value = null;
+    for (int i = 1; i < args.length; i++) {
+      if (args[i].equals("-n") && i + 1 < args.length) {
+        value = args[++i];
+      } else {
+        value = args[i].startsWith("-") ? args[i].substring(1) : args[i];
+      }
+    }
+
+    if (value == null) {
+      return DEFAULT_COUNT;
+    }
+
+    try {
+      int count = Integer.parseInt(value);
+      if (count < 0) {
+        throw new NumberFormatException();
+      }
+      return count;
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("invalid number of lines: " + value + " (" + name + ")");
+    }
+  }
+}
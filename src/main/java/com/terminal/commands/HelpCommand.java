@@ -1,14 +1,26 @@
 package com.terminal.commands;
 
-import com.webforj.component.terminal.Terminal;
-import java.util.Map;
+import com.terminal.render.StaticScreens;
+import com.terminal.render.Style;
+import com.terminal.render.TextBuilder;
+import java.util.List;
+import org.springframework.stereotype.Component;
 
+@Component
 public class HelpCommand implements TerminalCommand {
 
-  private final Map<String, TerminalCommand> commands;
+  private static final String SCREEN = "help";
+  private static final int NAME_WIDTH = 12;
 
-  public HelpCommand(Map<String, TerminalCommand> commands) {
-    this.commands = commands;
+  private final StaticScreens screens;
+
+  /**
+   * Create the command.
+   *
+   * @param screens the cache the listing is rendered into
+   */
+  public HelpCommand(StaticScreens screens) {
+    this.screens = screens;
   }
 
   @Override
@@ -22,12 +34,24 @@ public class HelpCommand implements TerminalCommand {
   }
 
   @Override
-  public void execute(Terminal term, String[] args) {
-    term.writeln("\u001B[1;36mAvailable Commands:\u001B[0m");
-    term.writeln("");
-    for (TerminalCommand command : commands.values()) {
-      term.writeln("  \u001B[1;33m" + String.format("%-12s", command.getName()) + "\u001B[0m - " + command.getDescription());
+  public void execute(CommandContext context, String[] args) {
+    // The listing only changes when a command is registered
+    CommandRegistry registry = context.getRegistry();
+    context.getOutput().write(screens.get(SCREEN, registry.getVersion(), () -> render(registry)));
+  }
+
+  @Override
+  public List<String> complete(CommandContext context, String[] args) {
+    return context.getRegistry().complete(args[args.length - 1]);
+  }
+
+  private static TextBuilder render(CommandRegistry registry) {
+    TextBuilder text = new TextBuilder(2048);
+    text.line(Style.BOLD_CYAN, "Available Commands:").newLine();
+    for (TerminalCommand command : registry.getCommands()) {
+      text.append("  ").padded(Style.BOLD_YELLOW, command.getName(), NAME_WIDTH)
+          .append(" - ").append(command.getDescription()).newLine();
     }
-    term.writeln("");
+    return text.newLine();
   }
 }
@@ -1,15 +1,19 @@
 package com.terminal.commands;
 
-import com.webforj.component.terminal.Terminal;
-import java.util.List;
+import com.terminal.history.CommandHistory;
+import com.terminal.io.OutputBuffer;
+import com.terminal.pipeline.LineInput;
+import com.terminal.pipeline.LineOutput;
+import com.terminal.render.Style;
+import com.terminal.render.TableWriter;
+import org.springframework.stereotype.Component;
 
-public class HistoryCommand implements TerminalCommand {
+@Component
+public class HistoryCommand implements PipelineCommand {
 
-  private final List<String> history;
-
-  public HistoryCommand(List<String> history) {
-    this.history = history;
-  }
+  private static final int NUMBER_WIDTH = 5;
+  private static final String EMPTY = Style.BOLD_YELLOW.line("No command history yet");
+  private static final String TITLE = Style.BOLD_CYAN.line("Command History:");
 
   @Override
   public String getName() {
@@ -18,19 +22,74 @@ public class HistoryCommand implements TerminalCommand {
 
   @Override
   public String getDescription() {
-    return "Show command history";
+    return "Show command history (history [N] for the last N entries)";
   }
 
   @Override
-  public void execute(Terminal term, String[] args) {
+  public void execute(CommandContext context, String[] args) {
+    CommandHistory history = context.getHistory();
+    OutputBuffer out = context.getOutput();
     if (history.isEmpty()) {
-      term.writeln("\u001B[1;33mNo command history yet\u001B[0m");
+      out.write(EMPTY);
       return;
     }
 
-    term.writeln("\u001B[1;36mCommand History:\u001B[0m");
-    for (int i = 0; i < history.size(); i++) {
-      term.writeln(String.format("  \u001B[1;33m%3d\u001B[0m  %s", i + 1, history.get(i)));
+    out.write(TITLE);
+    // The last number is the widest, long commands wrap below themselves instead of the numbers
+    int numberWidth = Math.max(NUMBER_WIDTH,
+        Long.toString(history.numberOf(history.size() - 1)).length());
+    TableWriter table = new TableWriter(out::write, context.getTerminal().getCols())
+        .setIndent("  ")
+        .setOverflow(TableWriter.Overflow.WRAP)
+        .column(null, TableWriter.Align.RIGHT, Style.BOLD_YELLOW, numberWidth)
+        .column(null, TableWriter.Align.LEFT, null);
+    for (int i = firstIndex(history, args); i < history.size(); i++) {
+      table.cell(history.numberOf(i)).cell(history.get(i)).endRow();
+    }
+    table.finish();
+  }
+
+  @Override
+  public boolean isAsync() {
+    // On its own the listing is printed right away on the UI thread
+    return false;
+  }
+
+  @Override
+  public void pipe(CommandContext context, LineInput in, LineOutput out, String[] args)
+      throws InterruptedException {
+    // The shell does not take input while the pipeline runs, so the history does not change
+    CommandHistory history = context.getHistory();
+    StringBuilder line = new StringBuilder();
+    for (int i = firstIndex(history, args); i < history.size(); i++) {
+      line.setLength(0);
+      appendNumber(line, history.numberOf(i));
+      line.append("  ").append(history.get(i));
+      out.writeLine(line.toString());
+    }
+  }
+
+  private static int firstIndex(CommandHistory history, String[] args) {
+    if (args.length < 2) {
+      return 0;
+    }
+
+    try {
+      int count = Integer.parseInt(args[1]);
+      return Math.max(0, history.size() - Math.max(0, count));
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("not a number: " + args[1]);
+    }
+  }
+
+  private static void appendNumber(StringBuilder line, long number) {
+    int digits = 1;
+    for (long rest = number; rest >= 10; rest /= 10) {
+      digits++;
+    }
+    for (int i = digits; i < NUMBER_WIDTH; i++) {
+      line.append(' ');
     }
+    line.append(number);
   }
 }
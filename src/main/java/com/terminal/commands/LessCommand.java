@@ -0,0 +1,158 @@
+package com.terminal.commands;
+
+import com.terminal.pager.MappedText;
+import com.terminal.pager.Pager;
+import com.terminal.pipeline.LineInput;
+import com.terminal.pipeline.LineOutput;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class LessCommand implements PipelineCommand {
+
+  private static final long REFRESH_NANOS = 100_000_000L;
+  private static final int MAX_COMPLETIONS = 100;
+
+  private final Path root;
+  private final long spoolLimit;
+
+  /**
+   * Create the command.
+   *
+   * @param root the directory files are opened from
+   * @param spoolLimitBytes the maximum amount of piped output kept for paging
+   */
+  public LessCommand(@Value("${terminal.pager.root:./files}") String root,
+      @Value("${terminal.pager.spool-limit-bytes:268435456}") long spoolLimitBytes) {
+    this.root = Path.of(root).toAbsolutePath().normalize();
+    this.spoolLimit = spoolLimitBytes;
+  }
+
+  @Override
+  public String getName() {
+    return "less";
+  }
+
+  @Override
+  public String getDescription() {
+    return "Page through a file or piped output (less <file>, ... | less; q to quit, / to search)";
+  }
+
+  @Override
+  public void pipe(CommandContext context, LineInput in, LineOutput out, String[] args)
+      throws InterruptedException {
+    if (args.length > 1) {
+      page(context, resolve(args[1]), args[1]);
+    } else if (in != LineInput.EMPTY) {
+      spool(context, in);
+    } else {
+      throw new IllegalArgumentException("usage: less <file> or <command> | less");
+    }
+  }
+
+  @Override
+  public List<String> complete(CommandContext context, String[] args) {
+    if (args.length != 2 || !Files.isDirectory(root)) {
+      return List.of();
+    }
+
+    String prefix = args[1];
+    try (Stream<Path> files = Files.list(root)) {
+      return files.filter(Files::isRegularFile)
+          .map(file -> file.getFileName().toString())
+          .filter(name -> name.startsWith(prefix))
+          .sorted()
+          .limit(MAX_COMPLETIONS)
+          .toList();
+    } catch (IOException e) {
+      return List.of();
+    }
+  }
+
+  // Only files below the configured root can be opened
+  private Path resolve(String name) {
+    Path file = root.resolve(name).normalize();
+    if (!file.startsWith(root) || !Files.isRegularFile(file)) {
+      throw new IllegalArgumentException(name + ": No such file");
+    }
+    return file;
+  }
+
+  private void page(CommandContext context, Path file, String title) throws InterruptedException {
+    try (MappedText text = MappedText.open(file)) {
+      Pager pager = new Pager(context, text, title, true);
+      context.getUiExecutor().execute(pager::start);
+      await(context, pager);
+    } catch (IOException e) {
+      throw new UncheckedIOException(title + ": " + e.getMessage(), e);
+    }
+  }
+
+  // The input is written to a temporary file the pager maps, so it shows the lines as they come
+  private void spool(CommandContext context, LineInput in) throws InterruptedException {
+    Path file = null;
+    try {
+      file = Files.createTempFile("terminal-less-", ".txt");
+      try (OutputStream stream = new BufferedOutputStream(Files.newOutputStream(file), 64 * 1024);
+          MappedText text = MappedText.open(file)) {
+        Pager pager = new Pager(context, text, "(piped output)", false);
+        context.getUiExecutor().execute(pager::start);
+
+        long written = 0;
+        long refreshed = System.nanoTime();
+        String note = null;
+        String line;
+        while (!pager.isClosed() && (line = in.readLine()) != null) {
+          byte[] bytes = (line + "\n").getBytes(StandardCharsets.UTF_8);
+          if (written + bytes.length > spoolLimit) {
+            note = "Output truncated at " + (written >> 20) + " MB";
+            break;
+          }
+          stream.write(bytes);
+          written += bytes.length;
+
+          if (System.nanoTime() - refreshed > REFRESH_NANOS) {
+            stream.flush();
+            context.getUiExecutor().execute(() -> context.getOutput().batch(pager::refresh));
+            refreshed = System.nanoTime();
+          }
+        }
+
+        stream.flush();
+        String completion = note;
+        context.getUiExecutor().execute(() -> context.getOutput().batch(
+            () -> pager.complete(completion)));
+        await(context, pager);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e.getMessage(), e);
+    } finally {
+      if (file != null) {
+        try {
+          Files.deleteIfExists(file);
+        } catch (IOException e) {
+          // Left to the temporary directory cleanup
+        }
+      }
+    }
+  }
+
+  private void await(CommandContext context, Pager pager) throws InterruptedException {
+    try {
+      pager.awaitClose();
+    } catch (InterruptedException e) {
+      // Cancelled from outside, the pager must not outlive the mapped file
+      context.getUiExecutor().execute(pager::quit);
+      throw e;
+    }
+  }
+}
@@ -1,10 +1,16 @@
 package com.terminal.commands;
 
+import com.terminal.io.OutputBuffer;
+import com.terminal.render.Style;
 import com.webforj.component.optiondialog.OptionDialog;
-import com.webforj.component.terminal.Terminal;
+import org.springframework.stereotype.Component;
 
+@Component
 public class MsgCommand implements TerminalCommand {
 
+  private static final String USAGE = Style.BOLD_RED.line("Usage: msg <message>");
+  private static final String SHOWN = Style.BOLD_GREEN.line("Dialog shown!");
+
   @Override
   public String getName() {
     return "msg";
@@ -16,14 +22,15 @@ public class MsgCommand implements TerminalCommand {
   }
 
   @Override
-  public void execute(Terminal term, String[] args) {
+  public void execute(CommandContext context, String[] args) {
+    OutputBuffer out = context.getOutput();
     if (args.length < 2) {
-      term.writeln("\u001B[1;31mUsage: msg <message>\u001B[0m");
+      out.write(USAGE);
       return;
     }
 
     String message = String.join(" ", args).substring(4);
     OptionDialog.showMessageDialog(message, "Terminal Message");
-    term.writeln("\u001B[1;32mDialog shown!\u001B[0m");
+    out.write(SHOWN);
   }
 }
@@ -0,0 +1,33 @@
+package com.terminal.commands;
+
+import com.terminal.io.StreamOutput;
+import com.terminal.pipeline.LineInput;
+import com.terminal.pipeline.LineOutput;
+
+/**
+ * A command that consumes and produces a stream of lines and can therefore be used as a stage
+ * of a pipeline such as {@code history | grep snake | head 5}.
+ *
+ * <p>Pipeline commands run asynchronously. On their own they read an empty input and write to
+ * the terminal.</p>
+ */
+public interface PipelineCommand extends AsyncCommand {
+
+  /**
+   * Process the input lines and write the resulting lines.
+   *
+   * @param context the session context
+   * @param in the input lines
+   * @param out the output lines
+   * @param args the command arguments
+   * @throws InterruptedException if the pipeline was cancelled while waiting
+   */
+  void pipe(CommandContext context, LineInput in, LineOutput out, String[] args)
+      throws InterruptedException;
+
+  @Override
+  default void executeAsync(CommandContext context, StreamOutput out, String[] args)
+      throws InterruptedException {
+    pipe(context, LineInput.EMPTY, LineOutput.of(out), args);
+  }
+}
@@ -1,11 +1,17 @@
 package com.terminal.commands;
 
+import com.terminal.io.OutputBuffer;
+import com.terminal.render.Style;
 import com.webforj.component.optiondialog.InputDialog;
 import com.webforj.component.optiondialog.OptionDialog;
-import com.webforj.component.terminal.Terminal;
+import org.springframework.stereotype.Component;
 
+@Component
 public class PromptCommand implements TerminalCommand {
 
+  private static final String USAGE = Style.BOLD_RED.line("Usage: prompt <question>");
+  private static final String NO_INPUT = Style.BOLD_YELLOW.line("No input provided");
+
   @Override
   public String getName() {
     return "prompt";
@@ -17,19 +23,21 @@ public class PromptCommand implements TerminalCommand {
   }
 
   @Override
-  public void execute(Terminal term, String[] args) {
+  public void execute(CommandContext context, String[] args) {
+    OutputBuffer out = context.getOutput();
     if (args.length < 2) {
-      term.writeln("\u001B[1;31mUsage: prompt <question>\u001B[0m");
+      out.write(USAGE);
       return;
     }
 
     String question = String.join(" ", args).substring(7);
-    String answer = OptionDialog.showInputDialog(question, "Terminal Prompt", InputDialog.MessageType.QUESTION);
+    String answer = OptionDialog.showInputDialog(question, "Terminal Prompt",
+        InputDialog.MessageType.QUESTION);
 
     if (answer != null && !answer.isEmpty()) {
-      term.writeln("\u001B[1;32mYou answered: " + answer + "\u001B[0m");
+      context.getText().line(Style.BOLD_GREEN, "You answered: " + answer).writeTo(out);
     } else {
-      term.writeln("\u001B[1;33mNo input provided\u001B[0m");
+      out.write(NO_INPUT);
     }
   }
 }
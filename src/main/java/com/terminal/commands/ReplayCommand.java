@@ -0,0 +1,133 @@
+package com.terminal.commands;
+
+import com.terminal.io.StreamOutput;
+import com.terminal.recording.Asciicast;
+import com.terminal.recording.RecordingStore;
+import com.terminal.render.Style;
+import java.io.BufferedReader;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ReplayCommand implements AsyncCommand {
+
+  // Pauses longer than this are shortened, like asciinema's idle time limit
+  private static final double IDLE_LIMIT_SECONDS = 2.0;
+  private static final double MAX_SPEED = 100.0;
+  private static final String NO_RECORDINGS = Style.BOLD_YELLOW.line("No recordings yet");
+  private static final String TITLE = Style.BOLD_CYAN.line("Recordings:");
+  // The recording may end in any state, the shell gets a sane one back
+  private static final String FINISHED = Style.RESET.sequence() + "\u001B[?25h\u001B[?1049l\r\n"
+      + Style.BOLD_CYAN.line("Replay finished");
+
+  private final RecordingStore recordings;
+
+  /**
+   * Create the command.
+   *
+   * @param recordings the store the recordings are read from
+   */
+  public ReplayCommand(RecordingStore recordings) {
+    this.recordings = recordings;
+  }
+
+  @Override
+  public String getName() {
+    return "replay";
+  }
+
+  @Override
+  public String getDescription() {
+    return "Replay a recorded session (replay to list, replay <name> [speed], Ctrl-C to stop)";
+  }
+
+  @Override
+  public void executeAsync(CommandContext context, StreamOutput out, String[] args)
+      throws InterruptedException {
+    if (args.length < 2) {
+      list(context, out);
+      return;
+    }
+
+    double speed = 1.0;
+    if (args.length > 2) {
+      try {
+        speed = Double.parseDouble(args[2]);
+      } catch (NumberFormatException e) {
+        throw new IllegalArgumentException("not a speed: " + args[2]);
+      }
+      if (!(speed >= 1.0 && speed <= MAX_SPEED)) {
+        throw new IllegalArgumentException("speed must be between 1 and " + (int) MAX_SPEED);
+      }
+    }
+
+    try (BufferedReader reader = recordings.open(context.getUserId(), args[1])) {
+      replay(reader, out, speed);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e.getMessage(), e);
+    }
+
+    out.write(FINISHED);
+  }
+
+  @Override
+  public List<String> complete(CommandContext context, String[] args) {
+    if (args.length != 2) {
+      return List.of();
+    }
+    return recordings.list(context.getUserId()).stream()
+        .filter(name -> name.startsWith(args[1]))
+        .toList();
+  }
+
+  private void list(CommandContext context, StreamOutput out) {
+    // Only the user's own recordings, they contain everything the user typed and saw
+    List<String> names = recordings.list(context.getUserId());
+    if (names.isEmpty()) {
+      out.write(NO_RECORDINGS);
+      return;
+    }
+
+    out.write(TITLE);
+    for (String name : names) {
+      out.writeln("  " + name);
+    }
+  }
+
+  // Output events go through the same stream as any command output, so bursts are coalesced
+  private void replay(BufferedReader reader, StreamOutput out, double speed)
+      throws IOException, InterruptedException {
+    long start = System.nanoTime();
+    double previous = 0;
+    double elapsed = 0;
+    String line;
+    while ((line = readLine(reader)) != null) {
+      Asciicast.Event event = Asciicast.parseEvent(line);
+      if (event == null || !event.type().equals("o")) {
+        continue;
+      }
+
+      elapsed += Math.min(IDLE_LIMIT_SECONDS, Math.max(0, event.time() - previous));
+      previous = event.time();
+      long wait = start + (long) (elapsed / speed * 1e9) - System.nanoTime();
+      if (wait >= 1_000_000) {
+        Thread.sleep(wait / 1_000_000);
+      } else if (Thread.interrupted()) {
+        throw new InterruptedException();
+      }
+      out.write(event.data());
+    }
+  }
+
+  // A recording still being written ends without the gzip trailer
+  private static String readLine(BufferedReader reader) throws IOException {
+    try {
+      return reader.readLine();
+    } catch (EOFException e) {
+      return null;
+    }
+  }
+}
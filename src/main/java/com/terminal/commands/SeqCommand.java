@@ -0,0 +1,41 @@
+package com.terminal.commands;
+
+import com.terminal.pipeline.LineInput;
+import com.terminal.pipeline.LineOutput;
+import org.springframework.stereotype.Component;
+
+@Component
+public class SeqCommand implements PipelineCommand {
+
+  @Override
+  public String getName() {
+    return "seq";
+  }
+
+  @Override
+  public String getDescription() {
+    return "Print numbers from 1 to N (runs in the background, Ctrl-C to stop)";
+  }
+
+  @Override
+  public void pipe(CommandContext context, LineInput in, LineOutput out, String[] args)
+      throws InterruptedException {
+    if (args.length < 2) {
+      throw new IllegalArgumentException("usage: seq <count>");
+    }
+
+    long count;
+    try {
+      count = Long.parseLong(args[1]);
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("not a number: " + args[1]);
+    }
+
+    for (long i = 1; i <= count; i++) {
+      if (Thread.interrupted()) {
+        throw new InterruptedException();
+      }
+      out.writeLine(Long.toString(i));
+    }
+  }
+}
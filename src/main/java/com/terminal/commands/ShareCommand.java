@@ -0,0 +1,61 @@
+package com.terminal.commands;
+
+import com.terminal.io.OutputBuffer;
+import com.terminal.render.Style;
+import com.terminal.spectate.Broadcast;
+import com.terminal.spectate.BroadcastRegistry;
+import java.util.List;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ShareCommand implements TerminalCommand {
+
+  private static final List<String> OPTIONS = List.of("stop");
+  private static final String UNSHARED = Style.BOLD_YELLOW.line("This session is no longer shared");
+
+  private final BroadcastRegistry broadcasts;
+
+  /**
+   * Create the command.
+   *
+   * @param broadcasts the registry of shared sessions
+   */
+  public ShareCommand(BroadcastRegistry broadcasts) {
+    this.broadcasts = broadcasts;
+  }
+
+  @Override
+  public String getName() {
+    return "share";
+  }
+
+  @Override
+  public String getDescription() {
+    return "Let others watch this session read-only (share, share stop)";
+  }
+
+  @Override
+  public void execute(CommandContext context, String[] args) {
+    OutputBuffer out = context.getOutput();
+    Broadcast broadcast = context.getBroadcast();
+
+    if (args.length > 1 && args[1].equals("stop")) {
+      broadcasts.unshare(broadcast);
+      out.write(UNSHARED);
+      return;
+    }
+
+    String token = broadcasts.share(broadcast);
+    context.getText()
+        .styled(Style.BOLD_GREEN, "Watch this session at ").line(Style.BOLD_CYAN, "/watch/" + token)
+        .append("Spectators: ").append(broadcast.getSpectatorCount())
+        .append("  (").styled(Style.BOLD_YELLOW, "share stop").append(" to end sharing)").newLine()
+        .writeTo(out);
+  }
+
+  @Override
+  public List<String> complete(CommandContext context, String[] args) {
+    String prefix = args[args.length - 1];
+    return OPTIONS.stream().filter(option -> option.startsWith(prefix)).toList();
+  }
+}
@@ -1,18 +1,59 @@
 package com.terminal.commands;
 
-import com.terminal.views.TerminalView;
-import com.webforj.Interval;
-import com.webforj.component.terminal.Terminal;
+import com.terminal.io.OutputBuffer;
+import com.terminal.metrics.TerminalMetrics;
+import com.terminal.render.CellGrid;
+import com.terminal.render.StaticScreens;
+import com.terminal.render.Style;
+import com.terminal.render.TextBuilder;
+import com.terminal.session.ForegroundApp;
+import com.terminal.session.ForegroundStack;
+import com.terminal.snake.Direction;
+import com.terminal.snake.SnakeEngine;
+import com.terminal.snake.SnakeRenderer;
 import com.webforj.component.terminal.event.TerminalKeyEvent;
+import org.springframework.stereotype.Component;
 
-import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 
+@Component
 public class SnakeCommand implements TerminalCommand {
 
   private static final int WIDTH = 40;
   private static final int HEIGHT = 20;
   private static final int GAME_SPEED = 150; // milliseconds
 
+  // Screen layout: the welcome banner takes rows 1-5, the board border starts on row 6
+  private static final int BOARD_ROW = 6;
+  private static final int SCORE_ROW = BOARD_ROW + HEIGHT + 3;
+
+  private static final String HEAD = "●";
+  private static final String HEAD_STYLE = Style.BOLD_GREEN.sequence();
+  private static final String BODY = "○";
+  private static final String BODY_STYLE = Style.GREEN.sequence();
+  private static final String FOOD = "★";
+  private static final String FOOD_STYLE = Style.BOLD_RED.sequence();
+  private static final String EMPTY = " ";
+  private static final String GAME_OVER =
+      Style.BOLD_RED.line("╔════════════════════════════════════════════════════════════════╗")
+      + Style.BOLD_RED.line("║                          GAME OVER!                            ║")
+      + Style.BOLD_RED.line("╚════════════════════════════════════════════════════════════════╝");
+
+  private final TerminalMetrics metrics;
+  private final StaticScreens screens;
+
+  /**
+   * Create the command.
+   *
+   * @param metrics the meters the games report tick times and frame sizes to
+   * @param screens the cache the game's banner is rendered into
+   */
+  public SnakeCommand(TerminalMetrics metrics, StaticScreens screens) {
+    this.metrics = metrics;
+    this.screens = screens;
+  }
+
   @Override
   public String getName() {
     return "snake";
@@ -20,125 +61,101 @@ public class SnakeCommand implements TerminalCommand {
 
   @Override
   public String getDescription() {
-    return "Play the classic Snake game (Use arrow keys to move, 'q' to quit)";
+    return "Play the classic Snake game (arrow keys to move, 'q' to quit, snake <seed> replays)";
   }
 
   @Override
-  public void execute(Terminal term, String[] args) {
-    new SnakeGame(term).start();
+  public void execute(CommandContext context, String[] args) {
+    long seed = args.length > 1 ? parseSeed(args[1]) : ThreadLocalRandom.current().nextLong();
+    new SnakeGame(context, metrics, seed, screens.get("snake", SnakeCommand::banner)).start();
   }
 
-  private static class SnakeGame {
-    private final Terminal terminal;
-    private final TerminalView terminalView;
-    private final LinkedList<Point> snake = new LinkedList<>();
-    private Point food;
-    private Direction direction = Direction.RIGHT;
-    private Direction nextDirection = Direction.RIGHT;
-    private boolean running = false;
-    private int score = 0;
-    private Interval gameInterval;
-
-    enum Direction {
-      UP(0, -1), DOWN(0, 1), LEFT(-1, 0), RIGHT(1, 0);
-
-      final int dx, dy;
+  private static TextBuilder banner() {
+    TextBuilder text = new TextBuilder(1024);
+    text.line(Style.BOLD_CYAN, "╔════════════════════════════════════════════════════════════════╗")
+        .line(Style.BOLD_CYAN, "║                         SNAKE GAME                             ║")
+        .line(Style.BOLD_CYAN, "╚════════════════════════════════════════════════════════════════╝")
+        .line(Style.BOLD_YELLOW, "Use Arrow Keys to move  |  Press 'Q' to quit");
+    return text.newLine();
+  }
 
-      Direction(int dx, int dy) {
-        this.dx = dx;
-        this.dy = dy;
-      }
-    }
-
-    static class Point {
-      int x, y;
-
-      Point(int x, int y) {
-        this.x = x;
-        this.y = y;
-      }
-
-      @Override
-      public boolean equals(Object o) {
-        if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
-        Point point = (Point) o;
-        return x == point.x && y == point.y;
-      }
-
-      @Override
-      public int hashCode() {
-        return Objects.hash(x, y);
-      }
+  private static long parseSeed(String value) {
+    try {
+      return Long.parseLong(value);
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("not a seed: " + value);
     }
+  }
 
-    public SnakeGame(Terminal terminal) {
-      this.terminal = terminal;
-      this.terminalView = (TerminalView) terminal.getUserData("terminalView");
+  /**
+   * Plays a {@link SnakeEngine} in the terminal: keys turn the snake, the session's ticks move
+   * it, and the cells it changes are drawn through a {@link CellGrid}.
+   */
+  private static class SnakeGame implements ForegroundApp, SnakeRenderer {
+    private final CommandContext context;
+    private final OutputBuffer out;
+    private final TerminalMetrics metrics;
+    private final long seed;
+    private final String banner;
+    private final CellGrid grid = new CellGrid(WIDTH, HEIGHT, BOARD_ROW + 1, 2);
+    private final StringBuilder frame = new StringBuilder(256);
+    private final SnakeEngine engine;
+    private boolean running = false;
+    private boolean turnPending = false;
+    private int drawnScore = -1;
+    private int drawnLength = -1;
+    private ForegroundStack.Handle foreground;
+
+    public SnakeGame(CommandContext context, TerminalMetrics metrics, long seed, String banner) {
+      this.context = context;
+      this.out = context.getOutput();
+      this.metrics = metrics;
+      this.seed = seed;
+      this.banner = banner;
+      this.engine = new SnakeEngine(WIDTH, HEIGHT, seed, this);
     }
 
     public void start() {
-      // Disable history navigation while game is active
-      if (terminalView != null) {
-        terminalView.setHistoryNavigationEnabled(false);
-      }
+      // Take over the terminal input while the game is active
+      foreground = context.getForeground().push(this);
 
-      // Initialize snake
-      snake.clear();
-      snake.add(new Point(WIDTH / 2, HEIGHT / 2));
-      snake.add(new Point(WIDTH / 2 - 1, HEIGHT / 2));
-      snake.add(new Point(WIDTH / 2 - 2, HEIGHT / 2));
+      // Clear and draw, the cleared screen already shows an empty board
+      out.clear();
+      out.write(banner);
+      grid.reset(EMPTY, null);
+      engine.start();
+      drawBoard();
 
-      direction = Direction.RIGHT;
-      nextDirection = Direction.RIGHT;
-      score = 0;
-
-      // Spawn food
-      spawnFood();
-
-      // Clear and draw
-      terminal.clear();
-      drawWelcome();
-      drawGame();
-
-      // Set up key listener
-      terminal.onKey(this::handleKey);
-
-      // Start auto-movement
+      // Start auto-movement on the shared game clock
       running = true;
-      gameInterval = new Interval(GAME_SPEED / 1000.0f, e -> {
+      foreground.own(context.getTickSession().register(() -> {
         if (running) {
-          update();
+          long start = System.nanoTime();
+          turnPending = false;
+          out.batch(this::update);
+          metrics.getSnakeTickTimer().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
         }
-      });
-      gameInterval.start();
-    }
-
-    private void drawWelcome() {
-      terminal.writeln("\u001B[1;36m╔════════════════════════════════════════════════════════════════╗\u001B[0m");
-      terminal.writeln("\u001B[1;36m║                         SNAKE GAME                             ║\u001B[0m");
-      terminal.writeln("\u001B[1;36m╚════════════════════════════════════════════════════════════════╝\u001B[0m");
-      terminal.writeln("\u001B[1;33mUse Arrow Keys to move  |  Press 'Q' to quit\u001B[0m");
-      terminal.writeln("");
+      }, GAME_SPEED)::remove);
     }
 
-    private void handleKey(TerminalKeyEvent event) {
+    @Override
+    public void onKey(TerminalKeyEvent event) {
       if (!running) return;
 
       String key = event.getKey();
 
       switch (key.toLowerCase()) {
         case "arrowup":
-          if (direction != Direction.DOWN) nextDirection = Direction.UP;
+          turn(Direction.UP);
           break;
         case "arrowdown":
-          if (direction != Direction.UP) nextDirection = Direction.DOWN;
+          turn(Direction.DOWN);
           break;
         case "arrowleft":
-          if (direction != Direction.RIGHT) nextDirection = Direction.LEFT;
+          turn(Direction.LEFT);
           break;
         case "arrowright":
-          if (direction != Direction.LEFT) nextDirection = Direction.RIGHT;
+          turn(Direction.RIGHT);
           break;
         case "q":
           stop();
@@ -146,138 +163,131 @@ public class SnakeCommand implements TerminalCommand {
       }
     }
 
-    private void update() {
-      // Update direction
-      direction = nextDirection;
-
-      // Get current head
-      Point head = snake.getFirst();
-
-      // Calculate new head position
-      Point newHead = new Point(head.x + direction.dx, head.y + direction.dy);
-
-      // Check wall collision
-      if (newHead.x < 0 || newHead.x >= WIDTH || newHead.y < 0 || newHead.y >= HEIGHT) {
-        gameOver("You hit the wall!");
+    private void turn(Direction direction) {
+      if (direction == engine.getDirection().opposite()) {
         return;
       }
 
-      // Check self collision
-      if (snake.contains(newHead)) {
-        gameOver("You bit yourself!");
-        return;
+      // Only the last turn before a tick takes effect, a burst of keys collapses into it
+      if (turnPending) {
+        metrics.getCoalescedInputCounter().increment();
       }
+      turnPending = true;
+      engine.turn(direction);
+    }
 
-      // Add new head
-      snake.addFirst(newHead);
-
-      // Check if ate food
-      if (newHead.equals(food)) {
-        score += 10;
-        spawnFood();
-        // Don't remove tail - snake grows
-      } else {
-        // Remove tail - snake stays same length
-        snake.removeLast();
+    @Override
+    public void cellChanged(int cell, Piece piece) {
+      switch (piece) {
+        case HEAD -> grid.set(cell, HEAD, HEAD_STYLE);
+        case BODY -> grid.set(cell, BODY, BODY_STYLE);
+        case FOOD -> grid.set(cell, FOOD, FOOD_STYLE);
+        case EMPTY -> grid.set(cell, EMPTY, null);
       }
-
-      // Redraw
-      drawGame();
     }
 
-    private void drawGame() {
-      StringBuilder frame = new StringBuilder();
+    private void update() {
+      switch (engine.tick()) {
+        case HIT_WALL -> gameOver("You hit the wall!");
+        case HIT_SELF -> gameOver("You bit yourself!");
+        case FILLED -> {
+          drawGame();
+          gameOver("You filled the board!");
+        }
+        default -> {
+          // Redraw, unless the client is behind: the grid then sends the merged changes next time
+          if (!out.shouldSkipFrame()) {
+            drawGame();
+          }
+        }
+      }
+    }
 
-      // Move cursor to game area
-      frame.append("\u001B[6;0H");
+    private void drawBoard() {
+      frame.setLength(0);
 
-      // Draw top border
-      frame.append("\u001B[1;34m┌");
+      // Draw the border once, it never changes during the game
+      frame.append("\u001B[").append(BOARD_ROW).append(";1H")
+          .append(Style.BOLD_BLUE.sequence()).append("┌");
       for (int i = 0; i < WIDTH; i++) {
         frame.append("─");
       }
-      frame.append("┐\u001B[0m\n");
+      frame.append("┐");
 
-      // Draw game area
       for (int y = 0; y < HEIGHT; y++) {
-        frame.append("\u001B[1;34m│\u001B[0m");
-        for (int x = 0; x < WIDTH; x++) {
-          Point p = new Point(x, y);
-          if (snake.getFirst().equals(p)) {
-            frame.append("\u001B[1;32m●\u001B[0m"); // Head
-          } else if (snake.contains(p)) {
-            frame.append("\u001B[32m○\u001B[0m"); // Body
-          } else if (food.equals(p)) {
-            frame.append("\u001B[1;31m★\u001B[0m"); // Food
-          } else {
-            frame.append(" ");
-          }
-        }
-        frame.append("\u001B[1;34m│\u001B[0m\n");
+        int row = BOARD_ROW + 1 + y;
+        frame.append("\u001B[").append(row).append(";1H│");
+        frame.append("\u001B[").append(row).append(';').append(WIDTH + 2).append("H│");
       }
 
-      // Draw bottom border
-      frame.append("\u001B[1;34m└");
+      frame.append("\u001B[").append(BOARD_ROW + HEIGHT + 1).append(";1H└");
       for (int i = 0; i < WIDTH; i++) {
         frame.append("─");
       }
-      frame.append("┘\u001B[0m\n\n");
+      frame.append("┘").append(Style.RESET.sequence());
+      out.write(frame);
 
-      // Draw score
-      frame.append("\u001B[1;33mScore: ").append(score)
-           .append("  |  Length: ").append(snake.size())
-           .append("\u001B[0m\n");
-
-      terminal.write(frame.toString());
+      drawnScore = -1;
+      drawnLength = -1;
+      drawGame();
     }
 
-    private void spawnFood() {
-      Random random = new Random();
-      do {
-        food = new Point(random.nextInt(WIDTH), random.nextInt(HEIGHT));
-      } while (snake.contains(food));
+    private void drawGame() {
+      frame.setLength(0);
+
+      // Only the cells that changed since the last frame are sent
+      grid.render(frame);
+
+      if (engine.getScore() != drawnScore || engine.getLength() != drawnLength) {
+        frame.append("\u001B[").append(SCORE_ROW).append(";1H\u001B[2K")
+             .append(Style.BOLD_YELLOW.sequence())
+             .append("Score: ").append(engine.getScore())
+             .append("  |  Length: ").append(engine.getLength())
+             .append(Style.RESET.sequence());
+        drawnScore = engine.getScore();
+        drawnLength = engine.getLength();
+      }
+
+      // Park the cursor below the score line
+      frame.append("\u001B[").append(SCORE_ROW + 1).append(";1H");
+
+      metrics.getSnakeFrameSummary().record(OutputBuffer.utf8Length(frame));
+      out.write(frame);
     }
 
     private void gameOver(String reason) {
       running = false;
-      if (gameInterval != null) {
-        gameInterval.stop();
-      }
-
-      // Re-enable history navigation
-      if (terminalView != null) {
-        terminalView.setHistoryNavigationEnabled(true);
-      }
 
-      terminal.writeln("");
-      terminal.writeln("\u001B[1;31m╔════════════════════════════════════════════════════════════════╗\u001B[0m");
-      terminal.writeln("\u001B[1;31m║                          GAME OVER!                            ║\u001B[0m");
-      terminal.writeln("\u001B[1;31m╚════════════════════════════════════════════════════════════════╝\u001B[0m");
-      terminal.writeln("");
-      terminal.writeln("\u001B[1;33m" + reason + "\u001B[0m");
-      terminal.writeln("\u001B[1;36mFinal Score: " + score + "\u001B[0m");
-      terminal.writeln("\u001B[1;36mFinal Length: " + snake.size() + "\u001B[0m");
-      terminal.writeln("");
-      terminal.writeln("Type \u001B[1;32msnake\u001B[0m to play again!");
-      terminal.writeln("");
-      terminal.write("$ ");
+      // Hand the input back to the shell and stop ticking
+      foreground.close();
+
+      context.getText().newLine()
+          .append(GAME_OVER)
+          .newLine()
+          .line(Style.BOLD_YELLOW, reason)
+          .line(Style.BOLD_CYAN, "Final Score: " + engine.getScore())
+          .line(Style.BOLD_CYAN, "Final Length: " + engine.getLength())
+          .append("Seed: ").append(seed)
+          .append("  (").styled(Style.BOLD_GREEN, "snake " + seed)
+          .append(" replays this game)").newLine()
+          .newLine()
+          .append("Type ").styled(Style.BOLD_GREEN, "snake").append(" to play again!").newLine()
+          .newLine()
+          .writeTo(out);
+      context.getEditor().show();
     }
 
     private void stop() {
       running = false;
-      if (gameInterval != null) {
-        gameInterval.stop();
-      }
 
-      // Re-enable history navigation
-      if (terminalView != null) {
-        terminalView.setHistoryNavigationEnabled(true);
-      }
+      // Hand the input back to the shell and stop ticking
+      foreground.close();
 
-      terminal.writeln("");
-      terminal.writeln("\u001B[1;33mGame stopped. Final score: " + score + "\u001B[0m");
-      terminal.writeln("");
-      terminal.write("$ ");
+      context.getText().newLine()
+          .line(Style.BOLD_YELLOW, "Game stopped. Final score: " + engine.getScore())
+          .newLine()
+          .writeTo(out);
+      context.getEditor().show();
     }
   }
 }
@@ -0,0 +1,82 @@
+package com.terminal.commands;
+
+import com.terminal.pipeline.LineInput;
+import com.terminal.pipeline.LineOutput;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import org.springframework.stereotype.Component;
+
+@Component
+public class SortCommand implements PipelineCommand {
+
+  /** The largest number of lines sort accepts, as it has to hold all of them. */
+  static final int MAX_LINES = 100_000;
+
+  private static final List<String> OPTIONS = List.of("-n", "-r");
+
+  @Override
+  public String getName() {
+    return "sort";
+  }
+
+  @Override
+  public String getDescription() {
+    return "Sort lines (sort [-r] [-n])";
+  }
+
+  @Override
+  public void pipe(CommandContext context, LineInput in, LineOutput out, String[] args)
+      throws InterruptedException {
+    boolean reverse = false;
+    boolean numeric = false;
+    for (int i = 1; i < args.length; i++) {
+      switch (args[i]) {
+        case "-r" -> reverse = true;
+        case "-n" -> numeric = true;
+        default -> throw new IllegalArgumentException("unknown option " + args[i]);
+      }
+    }
+
+    List<String> lines = new ArrayList<>();
+    String line;
+    while ((line = in.readLine()) != null) {
+      if (lines.size() == MAX_LINES) {
+        throw new IllegalStateException("input exceeds " + MAX_LINES + " lines");
+      }
+      lines.add(line);
+    }
+
+    Comparator<String> order = numeric
+        ? Comparator.comparingDouble(SortCommand::numericValue)
+            .thenComparing(Comparator.naturalOrder())
+        : Comparator.naturalOrder();
+    lines.sort(reverse ? order.reversed() : order);
+
+    for (String sorted : lines) {
+      out.writeLine(sorted);
+    }
+  }
+
+  @Override
+  public List<String> complete(CommandContext context, String[] args) {
+    String prefix = args[args.length - 1];
+    return OPTIONS.stream().filter(option -> option.startsWith(prefix)).toList();
+  }
+
+  private static double numericValue(String line) {
+    String trimmed = line.strip();
+    int end = 0;
+    while (end < trimmed.length()
+        && (Character.isDigit(trimmed.charAt(end)) || (end == 0 && trimmed.charAt(end) == '-')
+            || trimmed.charAt(end) == '.')) {
+      end++;
+    }
+
+    try {
+      return Double.parseDouble(trimmed.substring(0, end));
+    } catch (NumberFormatException e) {
+      return 0;
+    }
+  }
+}
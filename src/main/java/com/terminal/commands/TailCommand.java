@@ -0,0 +1,47 @@
+package com.terminal.commands;
+
+import com.terminal.pipeline.LineInput;
+import com.terminal.pipeline.LineOutput;
+import java.util.ArrayDeque;
+import org.springframework.stereotype.Component;
+
+@Component
+public class TailCommand implements PipelineCommand {
+
+  @Override
+  public String getName() {
+    return "tail";
+  }
+
+  @Override
+  public String getDescription() {
+    return "Keep the last N lines (tail [-n] [N], default 10)";
+  }
+
+  @Override
+  public void pipe(CommandContext context, LineInput in, LineOutput out, String[] args)
+      throws InterruptedException {
+    int count = HeadCommand.parseCount(args, getName());
+    if (count == 0) {
+      while (in.readLine() != null) {
+        // Drain the input
+      }
+      return;
+    }
+
+    // Only the last lines are kept, whatever the size of the input. The ring grows with the
+    // lines read, so a huge count costs nothing on a short input.
+    ArrayDeque<String> ring = new ArrayDeque<>(Math.min(count, 1024));
+    String line;
+    while ((line = in.readLine()) != null) {
+      if (ring.size() == count) {
+        ring.pollFirst();
+      }
+      ring.addLast(line);
+    }
+
+    for (String last : ring) {
+      out.writeLine(last);
+    }
+  }
+}
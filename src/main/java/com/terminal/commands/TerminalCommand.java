@@ -1,6 +1,6 @@
 package com.terminal.commands;
 
-import com.webforj.component.terminal.Terminal;
+import java.util.List;
 
 public interface TerminalCommand {
 
@@ -19,10 +19,22 @@ public interface TerminalCommand {
   String getDescription();
 
   /**
-   * Execute the command.
+   * Execute the command on the UI thread. Commands that block or run for long implement
+   * {@link AsyncCommand} instead.
    *
-   * @param term the terminal
+   * @param context the session context
    * @param args the command arguments
    */
-  void execute(Terminal term, String[] args);
+  void execute(CommandContext context, String[] args);
+
+  /**
+   * Get the completions of the last argument.
+   *
+   * @param context the session context
+   * @param args the arguments typed so far, the last one being the partial argument to complete
+   * @return the candidate values for the last argument
+   */
+  default List<String> complete(CommandContext context, String[] args) {
+    return List.of();
+  }
 }
@@ -1,9 +1,12 @@
 package com.terminal.commands;
 
-import com.webforj.component.terminal.Terminal;
+import com.terminal.io.OutputBuffer;
+import com.terminal.render.Style;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import org.springframework.stereotype.Component;
 
+@Component
 public class TimeCommand implements TerminalCommand {
 
   @Override
@@ -17,9 +20,11 @@ public class TimeCommand implements TerminalCommand {
   }
 
   @Override
-  public void execute(Terminal term, String[] args) {
+  public void execute(CommandContext context, String[] args) {
+    OutputBuffer out = context.getOutput();
     LocalDateTime now = LocalDateTime.now();
     DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
-    term.writeln("\u001B[1;32mCurrent time: " + now.format(formatter) + "\u001B[0m");
+    context.getText().line(Style.BOLD_GREEN, "Current time: " + now.format(formatter))
+        .writeTo(out);
   }
 }
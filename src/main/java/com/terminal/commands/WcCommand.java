@@ -0,0 +1,70 @@
+package com.terminal.commands;
+
+import com.terminal.pipeline.LineInput;
+import com.terminal.pipeline.LineOutput;
+import org.springframework.stereotype.Component;
+
+@Component
+public class WcCommand implements PipelineCommand {
+
+  private static final int COUNT_WIDTH = 7;
+
+  @Override
+  public String getName() {
+    return "wc";
+  }
+
+  @Override
+  public String getDescription() {
+    return "Count lines, words and characters (wc [-l])";
+  }
+
+  @Override
+  public void pipe(CommandContext context, LineInput in, LineOutput out, String[] args)
+      throws InterruptedException {
+    boolean linesOnly = args.length > 1 && args[1].equals("-l");
+    long lines = 0;
+    long words = 0;
+    long chars = 0;
+
+    String line;
+    while ((line = in.readLine()) != null) {
+      lines++;
+      chars += line.length() + 1;
+
+      boolean inWord = false;
+      for (int i = 0; i < line.length(); i++) {
+        boolean space = Character.isWhitespace(line.charAt(i));
+        if (!space && !inWord) {
+          words++;
+        }
+        inWord = !space;
+      }
+    }
+
+    if (linesOnly) {
+      out.writeLine(Long.toString(lines));
+      return;
+    }
+
+    StringBuilder counts = new StringBuilder(3 * (COUNT_WIDTH + 1));
+    appendCount(counts, lines);
+    counts.append(' ');
+    appendCount(counts, words);
+    counts.append(' ');
+    appendCount(counts, chars);
+    out.writeLine(counts.toString());
+  }
+
+  // Right-aligns the count in its column, wider counts push the following ones to the right
+  private static void appendCount(StringBuilder line, long count) {
+    int digits = 1;
+    for (long rest = count; rest >= 10; rest /= 10) {
+      digits++;
+    }
+    for (int i = digits; i < COUNT_WIDTH; i++) {
+      line.append(' ');
+    }
+    line.append(count);
+  }
+}
@@ -0,0 +1,149 @@
+package com.terminal.history;
+
+import java.util.function.Consumer;
+
+/**
+ * The command history of a session, bounded to a fixed capacity.
+ *
+ * <p>Entries are kept in a ring buffer: once full, adding a command evicts the oldest one. A
+ * command equal to the previous one is not recorded again. Entries are numbered from 1 for the
+ * first command ever added, so numbers stay stable as old entries are evicted. Entries are
+ * indexed as they are added for {@link #searchBackward(String, int) reverse search}.</p>
+ */
+public class CommandHistory {
+
+  private final String[] ring;
+  private final Consumer<String> onAdd;
+  private final HistorySearchIndex index;
+  private int start = 0;
+  private int size = 0;
+  private long added = 0;
+
+  /**
+   * Create an empty history.
+   *
+   * @param capacity the maximum number of entries kept
+   */
+  public CommandHistory(int capacity) {
+    this(capacity, command -> { });
+  }
+
+  /**
+   * Create an empty history.
+   *
+   * @param capacity the maximum number of entries kept
+   * @param onAdd called with every command that is recorded
+   */
+  public CommandHistory(int capacity, Consumer<String> onAdd) {
+    this.ring = new String[capacity];
+    this.onAdd = onAdd;
+    this.index = new HistorySearchIndex(capacity);
+  }
+
+  /**
+   * Restore an entry without notifying the listener, for example when loading it from storage.
+   *
+   * @param command the command line
+   */
+  public void restore(String command) {
+    append(command);
+  }
+
+  /**
+   * Record a command unless it repeats the previous one.
+   *
+   * @param command the command line
+   * @return true if the command was recorded
+   */
+  public boolean add(String command) {
+    if (size > 0 && command.equals(get(size - 1))) {
+      return false;
+    }
+
+    append(command);
+    onAdd.accept(command);
+    return true;
+  }
+
+  /**
+   * Get an entry.
+   *
+   * @param index the index, 0 being the oldest entry kept
+   * @return the command line
+   */
+  public String get(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException(index);
+    }
+
+    int slot = start + index;
+    return ring[slot >= ring.length ? slot - ring.length : slot];
+  }
+
+  /**
+   * Get the stable number of an entry.
+   *
+   * @param index the index, 0 being the oldest entry kept
+   * @return the entry number, starting at 1
+   */
+  public long numberOf(int index) {
+    return added - size + index + 1;
+  }
+
+  /**
+   * Find the newest entry containing the query, searching backwards.
+   *
+   * @param query the text to find
+   * @param before only entries with a smaller index are considered
+   * @return the index of the matching entry, or -1 if none matches
+   */
+  public int searchBackward(String query, int before) {
+    long first = numberOf(0);
+    long number = index.findBefore(query, first + before, first, n -> get((int) (n - first)));
+    return number < 0 ? -1 : (int) (number - first);
+  }
+
+  /**
+   * Get the number of entries kept.
+   *
+   * @return the size
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Check whether the history is empty.
+   *
+   * @return true if empty
+   */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Get the maximum number of entries kept.
+   *
+   * @return the capacity
+   */
+  public int capacity() {
+    return ring.length;
+  }
+
+  private void append(String command) {
+    if (ring.length == 0) {
+      return;
+    }
+
+    if (size < ring.length) {
+      int slot = start + size;
+      ring[slot >= ring.length ? slot - ring.length : slot] = command;
+      size++;
+    } else {
+      ring[start] = command;
+      start = start + 1 == ring.length ? 0 : start + 1;
+    }
+    added++;
+    index.add(added, command, numberOf(0));
+  }
+}
@@ -0,0 +1,69 @@
+package com.terminal.history;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.time.Instant;
+
+/**
+ * A command line persisted in a user's history.
+ */
+@Entity
+@Table(name = "command_history", indexes = @Index(columnList = "userId, id"))
+public class HistoryEntry {
+
+  /** The longest user id that is persisted. */
+  public static final int MAX_USER_ID_LENGTH = 64;
+
+  /** The longest command line that is persisted. */
+  public static final int MAX_COMMAND_LENGTH = 4096;
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(nullable = false, length = MAX_USER_ID_LENGTH)
+  private String userId;
+
+  @Column(nullable = false, length = MAX_COMMAND_LENGTH)
+  private String command;
+
+  @Column(nullable = false)
+  private Instant createdAt;
+
+  protected HistoryEntry() {
+  }
+
+  /**
+   * Create an entry.
+   *
+   * @param userId the user the entry belongs to
+   * @param command the command line
+   * @param createdAt when the command was entered
+   */
+  public HistoryEntry(String userId, String command, Instant createdAt) {
+    this.userId = userId;
+    this.command = command;
+    this.createdAt = createdAt;
+  }
+
+  public Long getId() {
+    return id;
+  }
+
+  public String getUserId() {
+    return userId;
+  }
+
+  public String getCommand() {
+    return command;
+  }
+
+  public Instant getCreatedAt() {
+    return createdAt;
+  }
+}
@@ -0,0 +1,36 @@
+package com.terminal.history;
+
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Persistence of the command history.
+ */
+public interface HistoryRepository extends JpaRepository<HistoryEntry, Long> {
+
+  /**
+   * Find a user's entries, newest first.
+   *
+   * @param userId the user
+   * @param pageable the page to load
+   * @return the entries
+   */
+  List<HistoryEntry> findByUserIdOrderByIdDesc(String userId, Pageable pageable);
+
+  /**
+   * Delete a user's entries up to the given id.
+   *
+   * @param userId the user
+   * @param id the newest id to delete
+   * @return the number of deleted entries
+   */
+  @Modifying
+  @Transactional
+  @Query("delete from HistoryEntry e where e.userId = :userId and e.id <= :id")
+  int deleteOlderThan(@Param("userId") String userId, @Param("id") Long id);
+}
@@ -0,0 +1,164 @@
+package com.terminal.history;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.function.LongFunction;
+
+/**
+ * N-gram index over the entries of a {@link CommandHistory}.
+ *
+ * <p>Every entry is indexed under each distinct sequence of one, two and three characters it
+ * contains. Entry numbers are appended to the posting lists in increasing order, so a reverse
+ * search walks the shortest posting list of the query backwards from the newest entry and only
+ * verifies those candidates. A query of up to three characters is looked up as a whole, longer
+ * ones by their rarest trigram, so no query scans entries that cannot match.</p>
+ *
+ * <p>Postings of evicted entries are dropped lazily when a list is searched and by a periodic
+ * sweep, so the index stays proportional to the history capacity.</p>
+ */
+public class HistorySearchIndex {
+
+  private static final int MAX_GRAM_LENGTH = 3;
+
+  private final Map<Long, Postings> postings = new HashMap<>();
+  private final int sweepInterval;
+  private long sinceSweep = 0;
+
+  /**
+   * Create an empty index.
+   *
+   * @param sweepInterval the number of added entries between two sweeps of evicted postings
+   */
+  public HistorySearchIndex(int sweepInterval) {
+    this.sweepInterval = Math.max(1, sweepInterval);
+  }
+
+  /**
+   * Index an entry. Entries must be added in increasing number order.
+   *
+   * @param number the entry number
+   * @param command the command line
+   * @param oldest the number of the oldest entry still kept
+   */
+  public void add(long number, String command, long oldest) {
+    for (int length = 1; length <= MAX_GRAM_LENGTH; length++) {
+      for (int i = 0; i + length <= command.length(); i++) {
+        postings.computeIfAbsent(gram(command, i, length), key -> new Postings()).append(number);
+      }
+    }
+
+    if (++sinceSweep >= sweepInterval) {
+      sinceSweep = 0;
+      sweep(oldest);
+    }
+  }
+
+  /**
+   * Find the newest entry containing the query.
+   *
+   * @param query the text to find
+   * @param before only entries with a smaller number are considered
+   * @param oldest the number of the oldest entry still kept
+   * @param lookup resolves an entry number to its command line
+   * @return the entry number, or -1 if no entry matches
+   */
+  public long findBefore(String query, long before, long oldest, LongFunction<String> lookup) {
+    if (query.isEmpty()) {
+      return before - 1 >= oldest ? before - 1 : -1;
+    }
+
+    // The rarest n-gram of the query gives the fewest candidates to verify
+    int length = Math.min(query.length(), MAX_GRAM_LENGTH);
+    Postings rarest = null;
+    for (int i = 0; i + length <= query.length(); i++) {
+      Postings list = postings.get(gram(query, i, length));
+      if (list == null) {
+        return -1;
+      }
+
+      list.dropBefore(oldest);
+      if (rarest == null || list.size() < rarest.size()) {
+        rarest = list;
+      }
+    }
+
+    for (int i = rarest.lastIndexBefore(before); i >= rarest.start; i--) {
+      long number = rarest.numbers[i];
+      if (lookup.apply(number).contains(query)) {
+        return number;
+      }
+    }
+
+    return -1;
+  }
+
+  /**
+   * Get the number of distinct n-grams indexed.
+   *
+   * @return the number of posting lists
+   */
+  public int size() {
+    return postings.size();
+  }
+
+  private void sweep(long oldest) {
+    Iterator<Postings> it = postings.values().iterator();
+    while (it.hasNext()) {
+      Postings list = it.next();
+      list.dropBefore(oldest);
+      if (list.size() == 0) {
+        it.remove();
+      }
+    }
+  }
+
+  // The length above the characters keeps n-grams of different lengths apart
+  private static long gram(String text, int offset, int length) {
+    long key = length;
+    for (int i = offset; i < offset + length; i++) {
+      key = key << 16 | text.charAt(i);
+    }
+    return key;
+  }
+
+  private static final class Postings {
+    private long[] numbers = new long[4];
+    private int start = 0;
+    private int end = 0;
+
+    int size() {
+      return end - start;
+    }
+
+    void append(long number) {
+      // An n-gram repeated within one entry is indexed once
+      if (end > start && numbers[end - 1] == number) {
+        return;
+      }
+
+      if (end == numbers.length) {
+        if (start > numbers.length / 2) {
+          System.arraycopy(numbers, start, numbers, 0, end - start);
+          end -= start;
+          start = 0;
+        } else {
+          numbers = Arrays.copyOf(numbers, numbers.length * 2);
+        }
+      }
+      numbers[end++] = number;
+    }
+
+    void dropBefore(long oldest) {
+      while (start < end && numbers[start] < oldest) {
+        start++;
+      }
+    }
+
+    int lastIndexBefore(long before) {
+      int index = Arrays.binarySearch(numbers, start, end, before);
+      return (index >= 0 ? index : -index - 1) - 1;
+    }
+  }
+}
@@ -0,0 +1,64 @@
+package com.terminal.history;
+
+import java.time.Instant;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+/**
+ * Opens the persistent command history of a user.
+ *
+ * <p>Values that do not fit the {@link HistoryEntry} columns are never queued: a user id longer
+ * than the column, which can only come from a tampered browser, gets a history that is kept in
+ * memory only, and a command line longer than the column, such as a large flattened paste, is
+ * kept in the session's history but not persisted.</p>
+ */
+@Service
+public class HistoryStore {
+
+  private final HistoryRepository repository;
+  private final HistoryWriter writer;
+  private final int capacity;
+
+  /**
+   * Create the store.
+   *
+   * @param repository the history repository
+   * @param writer the write-behind queue
+   * @param capacity the number of entries kept per user
+   */
+  public HistoryStore(HistoryRepository repository, HistoryWriter writer,
+      @Value("${terminal.history.capacity:1000}") int capacity) {
+    this.repository = repository;
+    this.writer = writer;
+    this.capacity = capacity;
+  }
+
+  /**
+   * Load a user's most recent history. Commands added to the returned history are persisted in
+   * the background.
+   *
+   * @param userId the user
+   * @return the history
+   */
+  public CommandHistory open(String userId) {
+    if (userId.length() > HistoryEntry.MAX_USER_ID_LENGTH) {
+      return new CommandHistory(capacity);
+    }
+
+    CommandHistory history = new CommandHistory(capacity, command -> {
+      if (command.length() <= HistoryEntry.MAX_COMMAND_LENGTH) {
+        writer.enqueue(new HistoryEntry(userId, command, Instant.now()));
+      }
+    });
+
+    List<HistoryEntry> newestFirst = repository.findByUserIdOrderByIdDesc(
+        userId, PageRequest.of(0, capacity));
+    for (int i = newestFirst.size() - 1; i >= 0; i--) {
+      history.restore(newestFirst.get(i).getCommand());
+    }
+
+    return history;
+  }
+}
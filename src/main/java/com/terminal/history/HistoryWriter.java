@@ -0,0 +1,144 @@
+package com.terminal.history;
+
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+/**
+ * Write-behind queue persisting history entries in batches.
+ *
+ * <p>Sessions only enqueue entries, which never blocks. A single writer thread drains the queue
+ * in batches, saves each batch with one {@code saveAll} and trims the affected users' history
+ * to the configured capacity. If a batch cannot be saved, its entries are saved one by one, so
+ * one bad entry does not lose the other users' history. Entries still queued at shutdown are
+ * written before the application stops.</p>
+ */
+@Component
+public class HistoryWriter {
+
+  private static final Logger log = LoggerFactory.getLogger(HistoryWriter.class);
+  private static final int BATCH_SIZE = 256;
+
+  private final HistoryRepository repository;
+  private final int capacity;
+  private final BlockingQueue<HistoryEntry> queue = new LinkedBlockingQueue<>();
+  private final Thread writer;
+  private volatile boolean running = true;
+
+  /**
+   * Create and start the writer.
+   *
+   * @param repository the history repository
+   * @param capacity the number of entries kept per user
+   */
+  public HistoryWriter(HistoryRepository repository,
+      @Value("${terminal.history.capacity:1000}") int capacity) {
+    this.repository = repository;
+    this.capacity = capacity;
+    this.writer = new Thread(this::run, "terminal-history-writer");
+    writer.setDaemon(true);
+    writer.start();
+  }
+
+  /**
+   * Queue an entry for persistence.
+   *
+   * @param entry the entry
+   */
+  public void enqueue(HistoryEntry entry) {
+    queue.add(entry);
+  }
+
+  /**
+   * Get the number of entries waiting to be written.
+   *
+   * @return the queue size
+   */
+  public int getPendingCount() {
+    return queue.size();
+  }
+
+  /**
+   * Stop the writer after writing the queued entries.
+   */
+  @PreDestroy
+  public void shutdown() throws InterruptedException {
+    running = false;
+    writer.join(TimeUnit.SECONDS.toMillis(5));
+    writeBatches();
+  }
+
+  private void run() {
+    while (running) {
+      try {
+        HistoryEntry first = queue.poll(1, TimeUnit.SECONDS);
+        if (first != null) {
+          List<HistoryEntry> batch = new ArrayList<>(BATCH_SIZE);
+          batch.add(first);
+          queue.drainTo(batch, BATCH_SIZE - 1);
+          write(batch);
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+  }
+
+  private void writeBatches() {
+    List<HistoryEntry> batch = new ArrayList<>(BATCH_SIZE);
+    while (queue.drainTo(batch, BATCH_SIZE) > 0) {
+      write(batch);
+      batch.clear();
+    }
+  }
+
+  private void write(List<HistoryEntry> batch) {
+    Set<String> users = new HashSet<>();
+    try {
+      repository.saveAll(batch);
+      for (HistoryEntry entry : batch) {
+        users.add(entry.getUserId());
+      }
+    } catch (RuntimeException e) {
+      // The batch was rolled back, save what can be saved so one entry cannot lose the rest
+      log.warn("Could not persist {} history entries, saving them one by one", batch.size(), e);
+      for (HistoryEntry entry : batch) {
+        try {
+          repository.save(entry);
+          users.add(entry.getUserId());
+        } catch (RuntimeException entryFailure) {
+          log.warn("Could not persist a history entry of user {}", entry.getUserId(),
+              entryFailure);
+        }
+      }
+    }
+
+    for (String userId : users) {
+      try {
+        trim(userId);
+      } catch (RuntimeException e) {
+        // History is best effort, a failing database must not affect the sessions
+        log.warn("Could not trim the history of user {}", userId, e);
+      }
+    }
+  }
+
+  private void trim(String userId) {
+    List<HistoryEntry> oldest = repository.findByUserIdOrderByIdDesc(
+        userId, PageRequest.of(capacity, 1));
+    if (!oldest.isEmpty()) {
+      repository.deleteOlderThan(userId, oldest.get(0).getId());
+    }
+  }
+}
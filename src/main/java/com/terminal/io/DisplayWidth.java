@@ -0,0 +1,78 @@
+package com.terminal.io;
+
+/**
+ * Number of terminal columns taken by text.
+ *
+ * <p>Follows the rules of {@code wcwidth}: combining marks and format characters take no
+ * column, East Asian wide and fullwidth characters as well as most emoji take two, everything
+ * else takes one. Control characters are counted as zero.</p>
+ */
+public final class DisplayWidth {
+
+  private DisplayWidth() {
+  }
+
+  /**
+   * Get the number of columns taken by a string.
+   *
+   * @param text the text
+   * @return the width in columns
+   */
+  public static int of(CharSequence text) {
+    return of(text, 0, text.length());
+  }
+
+  /**
+   * Get the number of columns taken by a range of a string.
+   *
+   * @param text the text
+   * @param start the first char index, inclusive
+   * @param end the last char index, exclusive
+   * @return the width in columns
+   */
+  public static int of(CharSequence text, int start, int end) {
+    int width = 0;
+    for (int i = start; i < end; ) {
+      int codePoint = Character.codePointAt(text, i);
+      width += of(codePoint);
+      i += Character.charCount(codePoint);
+    }
+    return width;
+  }
+
+  /**
+   * Get the number of columns taken by a code point.
+   *
+   * @param codePoint the code point
+   * @return 0, 1 or 2
+   */
+  public static int of(int codePoint) {
+    if (codePoint < 0x7F) {
+      return codePoint < 0x20 ? 0 : 1;
+    }
+    if (codePoint < 0xA0 || codePoint == 0x200B || codePoint == 0x200D) {
+      return 0;
+    }
+
+    int type = Character.getType(codePoint);
+    if (type == Character.NON_SPACING_MARK || type == Character.ENCLOSING_MARK
+        || type == Character.FORMAT) {
+      return 0;
+    }
+
+    return isWide(codePoint) ? 2 : 1;
+  }
+
+  private static boolean isWide(int c) {
+    return (c >= 0x1100 && c <= 0x115F)
+        || (c >= 0x2E80 && c <= 0xA4CF && c != 0x303F)
+        || (c >= 0xAC00 && c <= 0xD7A3)
+        || (c >= 0xF900 && c <= 0xFAFF)
+        || (c >= 0xFE30 && c <= 0xFE4F)
+        || (c >= 0xFF00 && c <= 0xFF60)
+        || (c >= 0xFFE0 && c <= 0xFFE6)
+        || (c >= 0x1F300 && c <= 0x1F64F)
+        || (c >= 0x1F900 && c <= 0x1F9FF)
+        || (c >= 0x20000 && c <= 0x3FFFD);
+  }
+}
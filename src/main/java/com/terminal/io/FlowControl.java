@@ -0,0 +1,205 @@
+package com.terminal.io;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks how much output a session's client has not acknowledged yet.
+ *
+ * <p>Every flush of the {@link OutputBuffer} adds its size to the unacknowledged bytes and the
+ * client's write callback subtracts it again. Above the high watermark the session is
+ * congested: streaming producers {@link #awaitCapacity() wait} and frame-based applications
+ * {@link OutputBuffer#shouldSkipFrame() skip frames} until the client has caught up to the low
+ * watermark. A client that stops acknowledging for longer than the stall timeout is assumed to
+ * have lost the acknowledgements, so a session is never blocked for good.</p>
+ *
+ * <p>The counters are safe to read from any thread.</p>
+ */
+public class FlowControl {
+
+  /** The default number of unacknowledged bytes at which the session becomes congested. */
+  public static final int DEFAULT_HIGH_WATERMARK = 256 * 1024;
+
+  /** The default number of unacknowledged bytes at which a congestion ends. */
+  public static final int DEFAULT_LOW_WATERMARK = 64 * 1024;
+
+  private static final long STALL_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+  private final long highWatermark;
+  private final long lowWatermark;
+  private long unacknowledged = 0;
+  private long maxUnacknowledged = 0;
+  private boolean congested = false;
+  private long congestedSince;
+  private long lastAcknowledged = System.nanoTime();
+  private long stalls = 0;
+  private long stallNanos = 0;
+  private long skippedFrames = 0;
+  private volatile Runnable catchUpListener;
+
+  /**
+   * Create flow control with the default watermarks.
+   */
+  public FlowControl() {
+    this(DEFAULT_HIGH_WATERMARK, DEFAULT_LOW_WATERMARK);
+  }
+
+  /**
+   * Create flow control.
+   *
+   * @param highWatermark the unacknowledged bytes at which the session becomes congested
+   * @param lowWatermark the unacknowledged bytes at which a congestion ends
+   */
+  public FlowControl(long highWatermark, long lowWatermark) {
+    if (lowWatermark > highWatermark) {
+      throw new IllegalArgumentException("The low watermark exceeds the high watermark");
+    }
+    this.highWatermark = highWatermark;
+    this.lowWatermark = lowWatermark;
+  }
+
+  /**
+   * Record output sent to the client.
+   *
+   * @param bytes the number of bytes
+   */
+  public synchronized void sent(int bytes) {
+    unacknowledged += bytes;
+    maxUnacknowledged = Math.max(maxUnacknowledged, unacknowledged);
+    if (!congested && unacknowledged >= highWatermark) {
+      congested = true;
+      congestedSince = System.nanoTime();
+      stalls++;
+    }
+  }
+
+  /**
+   * Run an action whenever the client catches up to the low watermark after a congestion. The
+   * action runs on the thread delivering the acknowledgement and must not block.
+   *
+   * @param listener the action, or null for none
+   */
+  public void setCatchUpListener(Runnable listener) {
+    this.catchUpListener = listener;
+  }
+
+  /**
+   * Record output the client acknowledged.
+   *
+   * @param bytes the number of bytes
+   */
+  public void acknowledged(int bytes) {
+    boolean caughtUp = false;
+    synchronized (this) {
+      unacknowledged = Math.max(0, unacknowledged - bytes);
+      lastAcknowledged = System.nanoTime();
+      if (congested && unacknowledged <= lowWatermark) {
+        endCongestion(lastAcknowledged);
+        caughtUp = true;
+      }
+    }
+
+    Runnable listener = catchUpListener;
+    if (caughtUp && listener != null) {
+      listener.run();
+    }
+  }
+
+  /**
+   * Check whether the client is behind by more than the high watermark.
+   *
+   * @return true while congested
+   */
+  public synchronized boolean isCongested() {
+    if (congested && sinceProgress() > STALL_TIMEOUT_NANOS) {
+      giveUpOnAcknowledgements();
+    }
+    return congested;
+  }
+
+  /**
+   * Block while the session is congested. Must not be called on the UI thread, which delivers
+   * the acknowledgements.
+   *
+   * @throws InterruptedException if interrupted while waiting
+   */
+  public synchronized void awaitCapacity() throws InterruptedException {
+    while (congested) {
+      long waited = sinceProgress();
+      if (waited > STALL_TIMEOUT_NANOS) {
+        giveUpOnAcknowledgements();
+        return;
+      }
+      TimeUnit.NANOSECONDS.timedWait(this, STALL_TIMEOUT_NANOS - waited);
+    }
+  }
+
+  /**
+   * Count a frame a frame-based application did not draw because of congestion.
+   */
+  public synchronized void frameSkipped() {
+    skippedFrames++;
+  }
+
+  /**
+   * Get the number of bytes sent but not acknowledged yet.
+   *
+   * @return the unacknowledged bytes
+   */
+  public synchronized long getUnacknowledgedBytes() {
+    return unacknowledged;
+  }
+
+  /**
+   * Get the largest number of unacknowledged bytes seen.
+   *
+   * @return the maximum unacknowledged bytes
+   */
+  public synchronized long getMaxUnacknowledgedBytes() {
+    return maxUnacknowledged;
+  }
+
+  /**
+   * Get the number of times the session became congested.
+   *
+   * @return the number of stalls
+   */
+  public synchronized long getStallCount() {
+    return stalls;
+  }
+
+  /**
+   * Get the total time the session was congested, including a congestion still going on.
+   *
+   * @return the stall time in nanoseconds
+   */
+  public synchronized long getStallNanos() {
+    return congested ? stallNanos + System.nanoTime() - congestedSince : stallNanos;
+  }
+
+  /**
+   * Get the number of frames skipped because of congestion.
+   *
+   * @return the number of skipped frames
+   */
+  public synchronized long getSkippedFrames() {
+    return skippedFrames;
+  }
+
+  // The time without acknowledgements since the congestion started
+  private long sinceProgress() {
+    long since = lastAcknowledged - congestedSince > 0 ? lastAcknowledged : congestedSince;
+    return System.nanoTime() - since;
+  }
+
+  private void endCongestion(long now) {
+    congested = false;
+    stallNanos += now - congestedSince;
+    notifyAll();
+  }
+
+  // Acknowledgements that never came are written off, late ones only lower the count to zero
+  private void giveUpOnAcknowledgements() {
+    unacknowledged = 0;
+    endCongestion(System.nanoTime());
+  }
+}
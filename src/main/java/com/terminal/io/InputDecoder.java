@@ -0,0 +1,330 @@
+package com.terminal.io;
+
+import com.terminal.io.InputEvent.Control;
+import com.terminal.io.InputEvent.Key;
+import com.terminal.io.InputEvent.KeyCode;
+import com.terminal.io.InputEvent.Paste;
+import com.terminal.io.InputEvent.Text;
+import java.util.function.Consumer;
+
+/**
+ * Incremental decoder turning the terminal's data stream into {@link InputEvent input events}.
+ *
+ * <p>The decoder is a state machine fed with chunks of any size; a chunk may hold many
+ * keystrokes, a large paste or only part of an escape sequence, which is completed by the next
+ * chunk. Runs of printable characters are emitted as a single {@link Text} event, and text
+ * between the bracketed paste markers as a single {@link Paste} event, so the input is decoded
+ * in one linear pass. A paste reaching {@link #MAX_PASTE_LENGTH} characters is delivered at that
+ * point and the rest of it dropped, so a paste that never ends cannot grow without bound.</p>
+ *
+ * <p>A carriage return followed by a line feed, even in the next chunk, is a single Enter key.
+ * A chunk consisting of nothing but an escape character is the Escape key. The browser
+ * terminal delivers each escape sequence in one piece, so this needs no timeout.</p>
+ */
+public class InputDecoder {
+
+  /** Enables bracketed paste mode when written to the terminal. */
+  public static final String ENABLE_BRACKETED_PASTE = "\u001B[?2004h";
+
+  /** The default maximum length of a paste in characters. */
+  public static final int MAX_PASTE_LENGTH = 4 * 1024 * 1024;
+
+  private static final char ESC = '\u001B';
+  private static final String PASTE_END = "\u001B[201~";
+  private static final int MAX_SEQUENCE_LENGTH = 32;
+
+  private enum State {
+    GROUND, ESCAPE, CSI, SS3, PASTE
+  }
+
+  private final Consumer<InputEvent> listener;
+  private final int maxPasteLength;
+  private final StringBuilder text = new StringBuilder();
+  private final StringBuilder sequence = new StringBuilder();
+  private State state = State.GROUND;
+  private int pasteEndMatched = 0;
+  private boolean pasteTruncated = false;
+  private boolean afterCarriageReturn = false;
+
+  /**
+   * Create a decoder.
+   *
+   * @param listener receives the decoded events
+   */
+  public InputDecoder(Consumer<InputEvent> listener) {
+    this(listener, MAX_PASTE_LENGTH);
+  }
+
+  /**
+   * Create a decoder with a paste limit.
+   *
+   * @param listener receives the decoded events
+   * @param maxPasteLength the maximum length of a paste in characters
+   */
+  public InputDecoder(Consumer<InputEvent> listener, int maxPasteLength) {
+    if (maxPasteLength < 1) {
+      throw new IllegalArgumentException("The paste limit must be positive");
+    }
+    this.listener = listener;
+    this.maxPasteLength = maxPasteLength;
+  }
+
+  /**
+   * Decode a chunk of terminal data.
+   *
+   * @param data the data
+   */
+  public void decode(CharSequence data) {
+    if (state == State.GROUND && data.length() == 1 && data.charAt(0) == ESC) {
+      afterCarriageReturn = false;
+      listener.accept(new Key(KeyCode.ESCAPE));
+      return;
+    }
+
+    int i = 0;
+    int length = data.length();
+    while (i < length) {
+      switch (state) {
+        case GROUND -> i = ground(data, i);
+        case PASTE -> i = paste(data, i);
+        case ESCAPE -> escape(data.charAt(i++));
+        case CSI -> csi(data.charAt(i++));
+        case SS3 -> ss3(data.charAt(i++));
+      }
+    }
+
+    if (state == State.GROUND) {
+      flushText();
+    }
+  }
+
+  /**
+   * Check whether the decoder is in the middle of an escape sequence or a paste.
+   *
+   * @return true if more data is needed to complete the current event
+   */
+  public boolean isPending() {
+    return state != State.GROUND;
+  }
+
+  /**
+   * Discard an unfinished escape sequence or paste, the next chunk is decoded from scratch.
+   */
+  public void reset() {
+    text.setLength(0);
+    sequence.setLength(0);
+    pasteEndMatched = 0;
+    pasteTruncated = false;
+    afterCarriageReturn = false;
+    state = State.GROUND;
+  }
+
+  private int ground(CharSequence data, int start) {
+    if (afterCarriageReturn) {
+      afterCarriageReturn = false;
+      if (data.charAt(start) == '\n') {
+        // The line feed of a CR LF belongs to the Enter already sent
+        return start + 1;
+      }
+    }
+
+    int end = start;
+    while (end < data.length() && isPrintable(data.charAt(end))) {
+      end++;
+    }
+    text.append(data, start, end);
+    if (end == data.length()) {
+      return end;
+    }
+
+    flushText();
+    char c = data.charAt(end);
+    switch (c) {
+      case ESC -> state = State.ESCAPE;
+      case '\r' -> {
+        listener.accept(new Key(KeyCode.ENTER));
+        afterCarriageReturn = true;
+      }
+      case '\n' -> listener.accept(new Key(KeyCode.ENTER));
+      case '\t' -> listener.accept(new Key(KeyCode.TAB));
+      case '\b', '\u007F' -> listener.accept(new Key(KeyCode.BACKSPACE));
+      default -> {
+        if (c < 0x20) {
+          listener.accept(new Control((char) (c + '@')));
+        }
+      }
+    }
+    return end + 1;
+  }
+
+  private void escape(char c) {
+    switch (c) {
+      case '[' -> {
+        sequence.setLength(0);
+        state = State.CSI;
+      }
+      case 'O' -> state = State.SS3;
+      case ESC -> listener.accept(new Key(KeyCode.ESCAPE));
+      default -> {
+        // Not a sequence: an Escape key followed by a regular character
+        listener.accept(new Key(KeyCode.ESCAPE));
+        state = State.GROUND;
+        text.append(c);
+      }
+    }
+  }
+
+  private void csi(char c) {
+    if (c < 0x40 || c > 0x7E) {
+      if (sequence.length() < MAX_SEQUENCE_LENGTH) {
+        sequence.append(c);
+      } else {
+        // Garbage, give up on this sequence
+        state = State.GROUND;
+      }
+      return;
+    }
+
+    state = State.GROUND;
+    int first = parameter(0, 1);
+    int modifiers = Math.max(0, parameter(1, 1) - 1);
+    switch (c) {
+      case 'A' -> listener.accept(new Key(KeyCode.UP, modifiers));
+      case 'B' -> listener.accept(new Key(KeyCode.DOWN, modifiers));
+      case 'C' -> listener.accept(new Key(KeyCode.RIGHT, modifiers));
+      case 'D' -> listener.accept(new Key(KeyCode.LEFT, modifiers));
+      case 'H' -> listener.accept(new Key(KeyCode.HOME, modifiers));
+      case 'F' -> listener.accept(new Key(KeyCode.END, modifiers));
+      case 'Z' -> listener.accept(new Key(KeyCode.TAB, Key.SHIFT));
+      case '~' -> tilde(first, modifiers);
+      default -> {
+        // Unsupported sequence
+      }
+    }
+  }
+
+  private void tilde(int code, int modifiers) {
+    switch (code) {
+      case 1, 7 -> listener.accept(new Key(KeyCode.HOME, modifiers));
+      case 2 -> listener.accept(new Key(KeyCode.INSERT, modifiers));
+      case 3 -> listener.accept(new Key(KeyCode.DELETE, modifiers));
+      case 4, 8 -> listener.accept(new Key(KeyCode.END, modifiers));
+      case 5 -> listener.accept(new Key(KeyCode.PAGE_UP, modifiers));
+      case 6 -> listener.accept(new Key(KeyCode.PAGE_DOWN, modifiers));
+      case 200 -> {
+        text.setLength(0);
+        pasteEndMatched = 0;
+        pasteTruncated = false;
+        state = State.PASTE;
+      }
+      default -> {
+        // Function keys and a stray paste end are ignored
+      }
+    }
+  }
+
+  private void ss3(char c) {
+    state = State.GROUND;
+    switch (c) {
+      case 'A' -> listener.accept(new Key(KeyCode.UP));
+      case 'B' -> listener.accept(new Key(KeyCode.DOWN));
+      case 'C' -> listener.accept(new Key(KeyCode.RIGHT));
+      case 'D' -> listener.accept(new Key(KeyCode.LEFT));
+      case 'H' -> listener.accept(new Key(KeyCode.HOME));
+      case 'F' -> listener.accept(new Key(KeyCode.END));
+      default -> {
+        // Function keys are ignored
+      }
+    }
+  }
+
+  private int paste(CharSequence data, int start) {
+    int i = start;
+    while (i < data.length()) {
+      char c = data.charAt(i);
+      if (c == PASTE_END.charAt(pasteEndMatched)) {
+        pasteEndMatched++;
+        i++;
+        if (pasteEndMatched == PASTE_END.length()) {
+          if (!pasteTruncated) {
+            deliverPaste();
+          }
+          pasteEndMatched = 0;
+          pasteTruncated = false;
+          state = State.GROUND;
+          return i;
+        }
+        continue;
+      }
+
+      if (pasteEndMatched > 0) {
+        // Only the first character of the end marker is an escape, so matching restarts there
+        appendPaste(PASTE_END, 0, pasteEndMatched);
+        pasteEndMatched = 0;
+        continue;
+      }
+
+      // Copy everything up to the next escape at once
+      int end = i;
+      while (end < data.length() && data.charAt(end) != ESC) {
+        end++;
+      }
+      appendPaste(data, i, end);
+      i = end;
+    }
+    return i;
+  }
+
+  // Collects pasted text, a paste reaching the limit is delivered and the rest of it dropped
+  private void appendPaste(CharSequence data, int start, int end) {
+    if (pasteTruncated) {
+      return;
+    }
+
+    int room = maxPasteLength - text.length();
+    if (end - start < room) {
+      text.append(data, start, end);
+      return;
+    }
+    text.append(data, start, start + room);
+    deliverPaste();
+    pasteTruncated = true;
+  }
+
+  private void deliverPaste() {
+    listener.accept(new Paste(text.toString()));
+    // A large paste does not keep its buffer
+    text.setLength(0);
+    text.trimToSize();
+  }
+
+  private int parameter(int index, int defaultValue) {
+    int value = 0;
+    int current = 0;
+    boolean found = false;
+    for (int i = 0; i < sequence.length(); i++) {
+      char c = sequence.charAt(i);
+      if (c == ';') {
+        if (current == index) {
+          break;
+        }
+        current++;
+      } else if (current == index && c >= '0' && c <= '9') {
+        value = value * 10 + (c - '0');
+        found = true;
+      }
+    }
+    return found ? value : defaultValue;
+  }
+
+  private void flushText() {
+    if (text.length() > 0) {
+      listener.accept(new Text(text.toString()));
+      text.setLength(0);
+    }
+  }
+
+  private static boolean isPrintable(char c) {
+    return c >= 0x20 && c != 0x7F && (c < 0x80 || c >= 0xA0);
+  }
+}
@@ -0,0 +1,67 @@
+package com.terminal.io;
+
+/**
+ * A unit of terminal input produced by the {@link InputDecoder}.
+ */
+public sealed interface InputEvent {
+
+  /**
+   * Printable text typed by the user, possibly several characters at once.
+   *
+   * @param text the text, without control characters
+   */
+  record Text(String text) implements InputEvent {
+  }
+
+  /**
+   * Text pasted while bracketed paste mode is on. It may contain line breaks and other control
+   * characters, which must not be interpreted as keys.
+   *
+   * @param text the pasted text
+   */
+  record Paste(String text) implements InputEvent {
+  }
+
+  /**
+   * A special key.
+   *
+   * @param key the key
+   * @param modifiers the {@link #SHIFT}, {@link #ALT} and {@link #CTRL} flags
+   */
+  record Key(KeyCode key, int modifiers) implements InputEvent {
+
+    /** Shift was held. */
+    public static final int SHIFT = 1;
+
+    /** Alt was held. */
+    public static final int ALT = 2;
+
+    /** Ctrl was held. */
+    public static final int CTRL = 4;
+
+    /**
+     * Create an event for a key pressed without modifiers.
+     *
+     * @param key the key
+     */
+    public Key(KeyCode key) {
+      this(key, 0);
+    }
+  }
+
+  /**
+   * A control character, such as Ctrl-C, that is not mapped to a {@link KeyCode}.
+   *
+   * @param letter the upper case letter or symbol pressed with Ctrl, for example {@code 'C'}
+   */
+  record Control(char letter) implements InputEvent {
+  }
+
+  /**
+   * The special keys recognized by the decoder.
+   */
+  enum KeyCode {
+    ENTER, TAB, BACKSPACE, ESCAPE, UP, DOWN, RIGHT, LEFT, HOME, END, INSERT, DELETE, PAGE_UP,
+    PAGE_DOWN
+  }
+}
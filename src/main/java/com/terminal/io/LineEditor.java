@@ -0,0 +1,365 @@
+package com.terminal.io;
+
+import java.util.function.IntSupplier;
+
+/**
+ * Editable input line shown after a prompt.
+ *
+ * <p>The editor keeps the line and a cursor, and tracks where the terminal cursor is relative
+ * to the start of the prompt, taking wide characters and wrapping into account. Every edit is
+ * sent as one composed write: typing at the end of the line appends the text, deleting at the
+ * end erases the cells, cursor movement emits relative cursor motions and any other edit
+ * redraws the line from its start.</p>
+ *
+ * <p>While the editor is hidden, edits only change the line; {@link #show()} draws it again.</p>
+ */
+public class LineEditor {
+
+  private final OutputBuffer out;
+  private final String prompt;
+  private final int promptWidth;
+  private final IntSupplier columns;
+  private final StringBuilder line = new StringBuilder();
+  private final StringBuilder frame = new StringBuilder(128);
+  private int cursor = 0;
+  private boolean shown = false;
+  // Terminal cursor as last drawn, in cells from the prompt start (row * columns + column)
+  private int drawnCursor = 0;
+
+  /**
+   * Create an editor.
+   *
+   * @param out the session's output buffer
+   * @param prompt the prompt shown before the line
+   * @param columns supplies the terminal width, 0 if unknown
+   */
+  public LineEditor(OutputBuffer out, String prompt, IntSupplier columns) {
+    this.out = out;
+    this.prompt = prompt;
+    this.promptWidth = DisplayWidth.of(prompt);
+    this.columns = columns;
+  }
+
+  /**
+   * Draw the prompt and the line. The terminal cursor must be at the start of an empty row.
+   */
+  public void show() {
+    shown = true;
+    drawnCursor = 0;
+    frame.setLength(0);
+    draw(false);
+    flush();
+  }
+
+  /**
+   * Erase the prompt and the line from the screen, leaving the terminal cursor where the prompt
+   * started.
+   */
+  public void hide() {
+    if (!shown) {
+      return;
+    }
+
+    frame.setLength(0);
+    moveTo(0);
+    frame.append("\r\u001B[J");
+    shown = false;
+    flush();
+  }
+
+  /**
+   * Check whether the line is currently drawn.
+   *
+   * @return true if shown
+   */
+  public boolean isShown() {
+    return shown;
+  }
+
+  /**
+   * Get the line.
+   *
+   * @return the line
+   */
+  public String getLine() {
+    return line.toString();
+  }
+
+  /**
+   * Get the cursor position.
+   *
+   * @return the char index of the cursor within the line
+   */
+  public int getCursor() {
+    return cursor;
+  }
+
+  /**
+   * Replace the line and put the cursor at its end.
+   *
+   * @param text the new line
+   */
+  public void setLine(String text) {
+    line.setLength(0);
+    line.append(text);
+    cursor = line.length();
+    redraw();
+  }
+
+  /**
+   * Insert text at the cursor.
+   *
+   * @param text the text
+   */
+  public void insert(CharSequence text) {
+    boolean atEnd = cursor == line.length();
+    line.insert(cursor, text);
+    cursor += text.length();
+
+    int width = DisplayWidth.of(text);
+    if (shown && atEnd && drawnCursor % columns() + width < columns()) {
+      // Typing at the end of the line only needs the new text
+      drawnCursor += width;
+      out.write(text);
+    } else {
+      redraw();
+    }
+  }
+
+  /**
+   * Move the terminal cursor past the line and start a new row, then clear the editor.
+   *
+   * @return the line
+   */
+  public String accept() {
+    newLine();
+    String accepted = line.toString();
+    line.setLength(0);
+    cursor = 0;
+    return accepted;
+  }
+
+  /**
+   * Move the terminal cursor past the line and start a new row, keeping the line. The editor
+   * is hidden afterwards.
+   */
+  public void newLine() {
+    if (shown) {
+      frame.setLength(0);
+      int end = offset(line.length());
+      moveTo(end);
+      if (end == 0 || end % columns() != 0) {
+        frame.append("\r\n");
+      }
+      shown = false;
+      flush();
+    }
+  }
+
+  /**
+   * Delete the character before the cursor.
+   */
+  public void backspace() {
+    if (cursor == 0) {
+      return;
+    }
+
+    int start = previous(cursor);
+    boolean atEnd = cursor == line.length();
+    line.delete(start, cursor);
+    cursor = start;
+
+    int target = shown && atEnd ? offset(cursor) : -1;
+    if (target >= 0 && target / columns() == drawnCursor / columns()) {
+      // Deleting at the end of the line only erases the freed cells
+      frame.setLength(0);
+      moveTo(target);
+      frame.append("\u001B[K");
+      flush();
+    } else {
+      redraw();
+    }
+  }
+
+  /**
+   * Delete the character under the cursor.
+   */
+  public void delete() {
+    if (cursor < line.length()) {
+      line.delete(cursor, next(cursor));
+      redraw();
+    }
+  }
+
+  /**
+   * Move the cursor one character to the left.
+   */
+  public void left() {
+    if (cursor > 0) {
+      moveCursor(previous(cursor));
+    }
+  }
+
+  /**
+   * Move the cursor one character to the right.
+   */
+  public void right() {
+    if (cursor < line.length()) {
+      moveCursor(next(cursor));
+    }
+  }
+
+  /**
+   * Move the cursor to the start of the line.
+   */
+  public void home() {
+    moveCursor(0);
+  }
+
+  /**
+   * Move the cursor to the end of the line.
+   */
+  public void end() {
+    moveCursor(line.length());
+  }
+
+  /**
+   * Delete the word before the cursor, like Ctrl-W.
+   */
+  public void deleteWordBefore() {
+    int start = cursor;
+    while (start > 0 && Character.isWhitespace(line.charAt(start - 1))) {
+      start--;
+    }
+    while (start > 0 && !Character.isWhitespace(line.charAt(start - 1))) {
+      start--;
+    }
+    deleteRange(start, cursor);
+  }
+
+  /**
+   * Delete from the start of the line to the cursor, like Ctrl-U.
+   */
+  public void deleteToStart() {
+    deleteRange(0, cursor);
+  }
+
+  /**
+   * Delete from the cursor to the end of the line, like Ctrl-K.
+   */
+  public void deleteToEnd() {
+    deleteRange(cursor, line.length());
+  }
+
+  private void deleteRange(int start, int end) {
+    if (start < end) {
+      line.delete(start, end);
+      cursor = start;
+      redraw();
+    }
+  }
+
+  private void moveCursor(int index) {
+    cursor = index;
+    if (shown) {
+      frame.setLength(0);
+      moveTo(offset(cursor));
+      flush();
+    }
+  }
+
+  private void redraw() {
+    if (shown) {
+      frame.setLength(0);
+      draw(true);
+      flush();
+    }
+  }
+
+  private void draw(boolean erase) {
+    int width = columns();
+
+    // Back to the first row of the prompt, clear everything below and write the whole line
+    int row = drawnCursor / width;
+    if (row > 0) {
+      frame.append("\u001B[").append(row).append('A');
+    }
+    frame.append('\r');
+    if (erase) {
+      frame.append("\u001B[J");
+    }
+    frame.append(prompt).append(line);
+
+    // At the last column the terminal defers the wrap, force it so positions stay predictable
+    int end = offset(line.length());
+    if (end > 0 && end % width == 0) {
+      frame.append("\r\n");
+    }
+    drawnCursor = end;
+
+    moveTo(offset(cursor));
+  }
+
+  private void moveTo(int target) {
+    int width = columns();
+    int rows = target / width - drawnCursor / width;
+    if (rows < 0) {
+      frame.append("\u001B[").append(-rows).append('A');
+    } else if (rows > 0) {
+      frame.append("\u001B[").append(rows).append('B');
+    }
+
+    int cols = target % width - drawnCursor % width;
+    if (cols < 0) {
+      frame.append("\u001B[").append(-cols).append('D');
+    } else if (cols > 0) {
+      frame.append("\u001B[").append(cols).append('C');
+    }
+    drawnCursor = target;
+  }
+
+  private void flush() {
+    if (frame.length() > 0) {
+      out.write(frame);
+    }
+  }
+
+  private int offset(int index) {
+    int width = columns();
+    int position = promptWidth;
+    for (int i = 0; i < index; ) {
+      int codePoint = Character.codePointAt(line, i);
+      int cells = DisplayWidth.of(codePoint);
+      if (cells == 2 && position % width == width - 1) {
+        // A wide character does not fit in the last column and wraps early
+        position++;
+      }
+      position += cells;
+      i += Character.charCount(codePoint);
+    }
+    return position;
+  }
+
+  private int columns() {
+    int width = columns.getAsInt();
+    return width > 0 ? width : Integer.MAX_VALUE;
+  }
+
+  // Combining marks stay with the character they follow
+
+  private int previous(int index) {
+    int i = index - Character.charCount(Character.codePointBefore(line, index));
+    while (i > 0 && DisplayWidth.of(Character.codePointAt(line, i)) == 0) {
+      i -= Character.charCount(Character.codePointBefore(line, i));
+    }
+    return i;
+  }
+
+  private int next(int index) {
+    int i = index + Character.charCount(Character.codePointAt(line, index));
+    while (i < line.length() && DisplayWidth.of(Character.codePointAt(line, i)) == 0) {
+      i += Character.charCount(Character.codePointAt(line, i));
+    }
+    return i;
+  }
+}
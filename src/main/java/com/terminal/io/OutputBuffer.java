@@ -0,0 +1,348 @@
+package com.terminal.io;
+
+import com.webforj.component.terminal.Terminal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per-session buffer that coalesces terminal writes.
+ *
+ * <p>Writes made between {@link #beginEvent()} and {@link #endEvent()} are collected and sent
+ * to the client as a single {@link Terminal#write(Object)} when the outermost event ends, or
+ * earlier when the pending output reaches the flush threshold. Writes made outside of an event
+ * are sent immediately.</p>
+ */
+public class OutputBuffer {
+
+  /** The user data key under which the buffer is attached to its terminal. */
+  public static final String USER_DATA_KEY = "outputBuffer";
+
+  /** The default number of pending bytes that triggers an early flush. */
+  public static final int DEFAULT_FLUSH_THRESHOLD = 16 * 1024;
+
+  private final Terminal terminal;
+  private final StringBuilder pending = new StringBuilder();
+  private final List<OutputListener> listeners = new ArrayList<>();
+  private final int flushThreshold;
+  private volatile FlowControl flowControl;
+  private int pendingBytes = 0;
+  private int eventDepth = 0;
+  private int eventWrites = 0;
+
+  private long events = 0;
+  private long writes = 0;
+  private long flushes = 0;
+  private long flushedBytes = 0;
+  private int maxWritesPerEvent = 0;
+  private int maxBytesPerFlush = 0;
+
+  /**
+   * Create a buffer in front of the given terminal.
+   *
+   * @param terminal the terminal to write to
+   */
+  public OutputBuffer(Terminal terminal) {
+    this(terminal, DEFAULT_FLUSH_THRESHOLD);
+  }
+
+  /**
+   * Create a buffer in front of the given terminal.
+   *
+   * @param terminal the terminal to write to
+   * @param flushThreshold the number of pending bytes that triggers an early flush
+   */
+  public OutputBuffer(Terminal terminal, int flushThreshold) {
+    this.terminal = terminal;
+    this.flushThreshold = flushThreshold;
+  }
+
+  /**
+   * Get the buffer attached to the given terminal, attaching a new one if needed.
+   *
+   * @param terminal the terminal
+   * @return the terminal's output buffer
+   */
+  public static OutputBuffer of(Terminal terminal) {
+    Object buffer = terminal.getUserData(USER_DATA_KEY);
+    if (buffer instanceof OutputBuffer outputBuffer) {
+      return outputBuffer;
+    }
+
+    OutputBuffer created = new OutputBuffer(terminal);
+    terminal.setUserData(USER_DATA_KEY, created);
+    return created;
+  }
+
+  /**
+   * Get the terminal this buffer writes to.
+   *
+   * @return the terminal
+   */
+  public Terminal getTerminal() {
+    return terminal;
+  }
+
+  /**
+   * Track the client's acknowledgements of the output from now on.
+   *
+   * @param flowControl the flow control, or null to stop tracking
+   */
+  public void setFlowControl(FlowControl flowControl) {
+    this.flowControl = flowControl;
+  }
+
+  /**
+   * Get the flow control tracking the client's acknowledgements.
+   *
+   * @return the flow control, or null if acknowledgements are not tracked
+   */
+  public FlowControl getFlowControl() {
+    return flowControl;
+  }
+
+  /**
+   * Check whether a frame-based application should skip drawing the current frame because the
+   * client is behind. Skipped frames are counted.
+   *
+   * @return true if the frame should not be drawn
+   */
+  public boolean shouldSkipFrame() {
+    if (flowControl == null || !flowControl.isCongested()) {
+      return false;
+    }
+    flowControl.frameSkipped();
+    return true;
+  }
+
+  /**
+   * Add a listener observing everything written to the terminal.
+   *
+   * @param listener the listener
+   */
+  public void addListener(OutputListener listener) {
+    listeners.add(listener);
+  }
+
+  /**
+   * Remove a listener.
+   *
+   * @param listener the listener
+   */
+  public void removeListener(OutputListener listener) {
+    listeners.remove(listener);
+  }
+
+  /**
+   * Mark the start of an event. Events may be nested; output is flushed when the outermost
+   * event ends.
+   */
+  public void beginEvent() {
+    if (eventDepth++ == 0) {
+      eventWrites = 0;
+    }
+  }
+
+  /**
+   * Mark the end of an event and flush the pending output if this was the outermost event.
+   */
+  public void endEvent() {
+    if (eventDepth == 0) {
+      return;
+    }
+
+    if (--eventDepth == 0) {
+      events++;
+      maxWritesPerEvent = Math.max(maxWritesPerEvent, eventWrites);
+      flush();
+    }
+  }
+
+  /**
+   * Run the given action as a single event.
+   *
+   * @param action the action to run
+   */
+  public void batch(Runnable action) {
+    beginEvent();
+    try {
+      action.run();
+    } finally {
+      endEvent();
+    }
+  }
+
+  /**
+   * Write data to the terminal.
+   *
+   * @param data the data to write
+   * @return this buffer
+   */
+  public OutputBuffer write(CharSequence data) {
+    writes++;
+    eventWrites++;
+    pending.append(data);
+    pendingBytes += utf8Length(data);
+
+    if (eventDepth == 0 || pendingBytes >= flushThreshold) {
+      flush();
+    }
+
+    return this;
+  }
+
+  /**
+   * Write data followed by a line break to the terminal.
+   *
+   * @param data the data to write
+   * @return this buffer
+   */
+  public OutputBuffer writeln(CharSequence data) {
+    writes++;
+    eventWrites++;
+    pending.append(data).append("\r\n");
+    pendingBytes += utf8Length(data) + 2;
+
+    if (eventDepth == 0 || pendingBytes >= flushThreshold) {
+      flush();
+    }
+
+    return this;
+  }
+
+  /**
+   * Clear the terminal. Pending output is flushed first so that the cursor line kept by the
+   * terminal is the same as without buffering.
+   */
+  public void clear() {
+    flush();
+    terminal.clear();
+    for (OutputListener listener : listeners) {
+      listener.onClear();
+    }
+  }
+
+  /**
+   * Send the pending output to the terminal in a single write.
+   */
+  public void flush() {
+    if (pending.isEmpty()) {
+      return;
+    }
+
+    flushes++;
+    flushedBytes += pendingBytes;
+    maxBytesPerFlush = Math.max(maxBytesPerFlush, pendingBytes);
+
+    String data = pending.toString();
+    int bytes = pendingBytes;
+    pending.setLength(0);
+    pendingBytes = 0;
+    if (flowControl != null) {
+      FlowControl flow = flowControl;
+      flow.sent(bytes);
+      terminal.write(data, ack -> flow.acknowledged(bytes));
+    } else {
+      terminal.write(data);
+    }
+    for (OutputListener listener : listeners) {
+      listener.onWrite(data);
+    }
+  }
+
+  /**
+   * Get the number of completed events.
+   *
+   * @return the number of events
+   */
+  public long getEventCount() {
+    return events;
+  }
+
+  /**
+   * Get the number of write calls received.
+   *
+   * @return the number of writes
+   */
+  public long getWriteCount() {
+    return writes;
+  }
+
+  /**
+   * Get the number of writes actually sent to the terminal.
+   *
+   * @return the number of flushes
+   */
+  public long getFlushCount() {
+    return flushes;
+  }
+
+  /**
+   * Get the total number of bytes sent to the terminal.
+   *
+   * @return the number of flushed bytes
+   */
+  public long getFlushedBytes() {
+    return flushedBytes;
+  }
+
+  /**
+   * Get the average number of write calls per event.
+   *
+   * @return the average writes per event
+   */
+  public double getAverageWritesPerEvent() {
+    return events == 0 ? 0 : (double) writes / events;
+  }
+
+  /**
+   * Get the largest number of write calls made during a single event.
+   *
+   * @return the maximum writes per event
+   */
+  public int getMaxWritesPerEvent() {
+    return maxWritesPerEvent;
+  }
+
+  /**
+   * Get the average number of bytes sent per flush.
+   *
+   * @return the average bytes per flush
+   */
+  public double getAverageBytesPerFlush() {
+    return flushes == 0 ? 0 : (double) flushedBytes / flushes;
+  }
+
+  /**
+   * Get the largest number of bytes sent in a single flush.
+   *
+   * @return the maximum bytes per flush
+   */
+  public int getMaxBytesPerFlush() {
+    return maxBytesPerFlush;
+  }
+
+  /**
+   * Count the UTF-8 encoded length of the given characters without encoding them.
+   *
+   * @param data the characters
+   * @return the number of bytes
+   */
+  public static int utf8Length(CharSequence data) {
+    int bytes = 0;
+    for (int i = 0, len = data.length(); i < len; i++) {
+      char c = data.charAt(i);
+      if (c < 0x80) {
+        bytes++;
+      } else if (c < 0x800) {
+        bytes += 2;
+      } else if (Character.isHighSurrogate(c) && i + 1 < len
+          && Character.isLowSurrogate(data.charAt(i + 1))) {
+        bytes += 4;
+        i++;
+      } else {
+        bytes += 3;
+      }
+    }
+    return bytes;
+  }
+}
@@ -0,0 +1,20 @@
+package com.terminal.io;
+
+/**
+ * Observer of the output an {@link OutputBuffer} sends to its terminal.
+ */
+public interface OutputListener {
+
+  /**
+   * Called with every chunk of data after it was written to the terminal.
+   *
+   * @param data the data
+   */
+  void onWrite(String data);
+
+  /**
+   * Called after the terminal was cleared.
+   */
+  default void onClear() {
+  }
+}
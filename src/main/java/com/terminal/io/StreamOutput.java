@@ -0,0 +1,136 @@
+package com.terminal.io;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Thread-safe output for commands running off the UI thread.
+ *
+ * <p>Writes are appended to a shared buffer. The first write after a drain schedules one task
+ * on the UI executor which hands everything collected so far to the session's
+ * {@link OutputBuffer} in a single write, so a producer emitting many small lines causes as
+ * many UI round trips as the UI thread can absorb and no more.</p>
+ *
+ * <p>Writes block while the session's {@link FlowControl} reports the client as congested, or
+ * while more than {@value #MAX_PENDING_CHARS} characters wait for the UI thread, so a producer
+ * runs only as fast as the client consumes its output.</p>
+ */
+public class StreamOutput {
+
+  /** The number of pending characters at which writers wait for the UI thread. */
+  public static final int MAX_PENDING_CHARS = 256 * 1024;
+
+  private final OutputBuffer out;
+  private final Executor uiExecutor;
+  private final StringBuilder pending = new StringBuilder();
+  private boolean drainScheduled = false;
+  private boolean closed = false;
+
+  /**
+   * Create a stream in front of the given buffer.
+   *
+   * @param out the session's output buffer
+   * @param uiExecutor the executor running tasks on the session's UI thread
+   */
+  public StreamOutput(OutputBuffer out, Executor uiExecutor) {
+    this.out = out;
+    this.uiExecutor = uiExecutor;
+  }
+
+  /**
+   * Write data to the terminal. May be called from any thread but the UI thread, blocks while
+   * the client is behind.
+   *
+   * @param data the data to write
+   * @return this stream
+   */
+  public StreamOutput write(CharSequence data) {
+    awaitCapacity();
+    synchronized (this) {
+      if (closed) {
+        return this;
+      }
+
+      pending.append(data);
+      scheduleDrain();
+    }
+    return this;
+  }
+
+  /**
+   * Write data followed by a line break to the terminal. May be called from any thread but the
+   * UI thread, blocks while the client is behind.
+   *
+   * @param data the data to write
+   * @return this stream
+   */
+  public StreamOutput writeln(CharSequence data) {
+    awaitCapacity();
+    synchronized (this) {
+      if (closed) {
+        return this;
+      }
+
+      pending.append(data).append("\r\n");
+      scheduleDrain();
+    }
+    return this;
+  }
+
+  /**
+   * Stop accepting output and discard what has not been handed to the UI thread yet.
+   */
+  public synchronized void close() {
+    closed = true;
+    pending.setLength(0);
+    notifyAll();
+  }
+
+  /**
+   * Check whether the stream has been closed.
+   *
+   * @return true if closed
+   */
+  public synchronized boolean isClosed() {
+    return closed;
+  }
+
+  // An interrupted writer stops waiting, the command notices the interrupt on its own
+  private void awaitCapacity() {
+    try {
+      FlowControl flow = out.getFlowControl();
+      if (flow != null) {
+        flow.awaitCapacity();
+      }
+      synchronized (this) {
+        while (!closed && pending.length() >= MAX_PENDING_CHARS) {
+          wait();
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void scheduleDrain() {
+    if (!drainScheduled) {
+      drainScheduled = true;
+      uiExecutor.execute(this::drain);
+    }
+  }
+
+  private void drain() {
+    String data;
+    synchronized (this) {
+      drainScheduled = false;
+      if (pending.isEmpty()) {
+        return;
+      }
+
+      data = pending.toString();
+      pending.setLength(0);
+      notifyAll();
+    }
+
+    out.batch(() -> out.write(data));
+  }
+}
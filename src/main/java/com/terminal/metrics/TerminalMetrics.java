@@ -0,0 +1,315 @@
+package com.terminal.metrics;
+
+import com.terminal.io.FlowControl;
+import com.terminal.io.OutputBuffer;
+import com.terminal.scheduler.TickScheduler;
+import com.terminal.session.ForegroundStack;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import org.springframework.stereotype.Component;
+
+/**
+ * The meters of the terminal, exported through the actuator.
+ *
+ * <p>The latency timers publish percentile histograms, so percentiles such as the p99 input to
+ * echo latency can be aggregated across instances by the monitoring system. Per-session output
+ * is not tagged by session: the counters add up the live sessions' {@link OutputBuffer}
+ * statistics and those of the sessions that ended, and the bytes of every ended session are
+ * recorded in a distribution. The foreground gauges add up the sessions' {@link ForegroundStack}
+ * listeners and retained applications, which grow when finished applications leak. The shared
+ * {@link TickScheduler}'s jitter, overruns and deferred dispatches show when the node is
+ * saturated.</p>
+ */
+@Component
+public class TerminalMetrics {
+
+  private final MeterRegistry registry;
+  private final Timer input;
+  private final Timer key;
+  private final Timer commandLine;
+  private final Timer snakeTick;
+  private final DistributionSummary snakeFrame;
+  private final DistributionSummary sessionBytes;
+  private final Counter rejectedInput;
+  private final Counter rejectedCommands;
+  private final Counter coalescedInput;
+  private final Map<OutputBuffer, ForegroundStack> sessions = new HashMap<>();
+  private long endedBytes = 0;
+  private long endedWrites = 0;
+  private long endedFlushes = 0;
+  private long endedStalls = 0;
+  private long endedStallNanos = 0;
+  private long endedSkippedFrames = 0;
+
+  /**
+   * Create the meters.
+   *
+   * @param registry the registry to register them with
+   * @param scheduler the game clock
+   */
+  public TerminalMetrics(MeterRegistry registry, TickScheduler scheduler) {
+    this.registry = registry;
+
+    input = Timer.builder("terminal.input")
+        .description("Time to handle a data event from the browser, including sending the echo")
+        .publishPercentileHistogram()
+        .register(registry);
+    key = Timer.builder("terminal.shell.key")
+        .description("Time the shell takes to handle a key")
+        .publishPercentileHistogram()
+        .register(registry);
+    commandLine = Timer.builder("terminal.shell.command-line")
+        .description("Time the shell takes to parse a command line and run or start its command")
+        .publishPercentileHistogram()
+        .register(registry);
+    snakeTick = Timer.builder("terminal.snake.tick")
+        .description("Time to advance and draw one Snake frame")
+        .publishPercentileHistogram()
+        .register(registry);
+    snakeFrame = DistributionSummary.builder("terminal.snake.frame")
+        .description("Size of a drawn Snake frame")
+        .baseUnit(BaseUnits.BYTES)
+        .register(registry);
+    sessionBytes = DistributionSummary.builder("terminal.session.output")
+        .description("Output sent to the browser over the lifetime of a session")
+        .baseUnit(BaseUnits.BYTES)
+        .register(registry);
+
+    rejectedInput = Counter.builder("terminal.input.rejected")
+        .description("Input events dropped because a session exceeded its input rate")
+        .register(registry);
+    rejectedCommands = Counter.builder("terminal.commands.rejected")
+        .description("Commands refused because a session exceeded its command rate")
+        .register(registry);
+    coalescedInput = Counter.builder("terminal.input.coalesced")
+        .description("Input events superseded by a later event before they took effect")
+        .register(registry);
+
+    Gauge.builder("terminal.sessions.active", this, TerminalMetrics::getActiveSessions)
+        .description("Open terminal sessions")
+        .register(registry);
+    Gauge.builder("terminal.foreground.listeners", this,
+            metrics -> metrics.foreground(ForegroundStack::getLiveListenerCount))
+        .description("Input routes and resources held for foreground applications")
+        .register(registry);
+    Gauge.builder("terminal.foreground.retained", this,
+            metrics -> metrics.foreground(ForegroundStack::getRetainedAppCount))
+        .description("Applications still reachable, including finished ones not collected yet")
+        .register(registry);
+    FunctionCounter.builder("terminal.output", this,
+            metrics -> metrics.total(OutputBuffer::getFlushedBytes, () -> endedBytes))
+        .description("Output sent to the browser")
+        .baseUnit(BaseUnits.BYTES)
+        .register(registry);
+    FunctionCounter.builder("terminal.output.writes", this,
+            metrics -> metrics.total(OutputBuffer::getWriteCount, () -> endedWrites))
+        .description("Writes made by commands and the shell")
+        .register(registry);
+    FunctionCounter.builder("terminal.output.flushes", this,
+            metrics -> metrics.total(OutputBuffer::getFlushCount, () -> endedFlushes))
+        .description("Writes sent to the browser after coalescing")
+        .register(registry);
+    Gauge.builder("terminal.flow.unacknowledged", this,
+            metrics -> metrics.total(flow(FlowControl::getUnacknowledgedBytes), () -> 0))
+        .description("Output sent to the browser but not acknowledged yet")
+        .baseUnit(BaseUnits.BYTES)
+        .register(registry);
+    FunctionCounter.builder("terminal.flow.stalls", this,
+            metrics -> metrics.total(flow(FlowControl::getStallCount), () -> endedStalls))
+        .description("Times a session became congested")
+        .register(registry);
+    FunctionCounter.builder("terminal.flow.stall.time", this,
+            metrics -> metrics.total(flow(FlowControl::getStallNanos), () -> endedStallNanos)
+                / 1e9)
+        .description("Time sessions spent congested")
+        .baseUnit("seconds")
+        .register(registry);
+    FunctionCounter.builder("terminal.flow.skipped-frames", this,
+            metrics -> metrics.total(flow(FlowControl::getSkippedFrames),
+                () -> endedSkippedFrames))
+        .description("Frames not drawn because the session was congested")
+        .register(registry);
+
+    Gauge.builder("terminal.tick.jitter", scheduler,
+            clock -> clock.getAverageJitterNanos() / 1e9)
+        .description("Average delay between the planned and the actual start of a tick")
+        .baseUnit("seconds")
+        .register(registry);
+    Gauge.builder("terminal.tick.jitter.max", scheduler,
+            clock -> clock.getMaxJitterNanos() / 1e9)
+        .description("Largest delay between the planned and the actual start of a tick")
+        .baseUnit("seconds")
+        .register(registry);
+    FunctionCounter.builder("terminal.tick.overruns", scheduler,
+            TickScheduler::getOverrunCount)
+        .description("Ticks whose dispatch took longer than the tick period")
+        .register(registry);
+    FunctionCounter.builder("terminal.tick.deferred", scheduler,
+            TickScheduler::getDeferredCount)
+        .description("Session dispatches put off to the next tick because a tick ran out of time")
+        .register(registry);
+  }
+
+  /**
+   * Start counting a session's output and foreground applications.
+   *
+   * @param out the session's output buffer
+   * @param foreground the session's foreground stack
+   */
+  public synchronized void sessionOpened(OutputBuffer out, ForegroundStack foreground) {
+    sessions.put(out, foreground);
+  }
+
+  /**
+   * Stop counting a session's output, its totals remain part of the counters.
+   *
+   * @param out the session's output buffer
+   */
+  public synchronized void sessionClosed(OutputBuffer out) {
+    if (sessions.remove(out) == null) {
+      return;
+    }
+
+    endedBytes += out.getFlushedBytes();
+    endedWrites += out.getWriteCount();
+    endedFlushes += out.getFlushCount();
+    FlowControl flow = out.getFlowControl();
+    if (flow != null) {
+      endedStalls += flow.getStallCount();
+      endedStallNanos += flow.getStallNanos();
+      endedSkippedFrames += flow.getSkippedFrames();
+    }
+    sessionBytes.record(out.getFlushedBytes());
+  }
+
+  /**
+   * Get the number of open sessions.
+   *
+   * @return the number of sessions
+   */
+  public synchronized int getActiveSessions() {
+    return sessions.size();
+  }
+
+  /**
+   * Get the timer of data events from the browser.
+   *
+   * @return the input timer
+   */
+  public Timer getInputTimer() {
+    return input;
+  }
+
+  /**
+   * Get the timer of keys handled by the shell.
+   *
+   * @return the key timer
+   */
+  public Timer getKeyTimer() {
+    return key;
+  }
+
+  /**
+   * Get the timer of command lines submitted to the shell.
+   *
+   * @return the command line timer
+   */
+  public Timer getCommandLineTimer() {
+    return commandLine;
+  }
+
+  /**
+   * Get the timer of a command's execution, from its start until its prompt is shown again.
+   *
+   * @param name the command name, from the registry so the number of timers stays bounded
+   * @return the command's timer
+   */
+  public Timer getCommandTimer(String name) {
+    // The registry returns the existing timer for the same name and tags
+    return Timer.builder("terminal.command")
+        .description("Time from starting a command until it finished")
+        .tag("command", name)
+        .publishPercentileHistogram()
+        .register(registry);
+  }
+
+  /**
+   * Get the timer of Snake ticks.
+   *
+   * @return the tick timer
+   */
+  public Timer getSnakeTickTimer() {
+    return snakeTick;
+  }
+
+  /**
+   * Get the distribution of Snake frame sizes.
+   *
+   * @return the frame size distribution
+   */
+  public DistributionSummary getSnakeFrameSummary() {
+    return snakeFrame;
+  }
+
+  /**
+   * Get the counter of input events dropped by a session's rate limit.
+   *
+   * @return the rejected input counter
+   */
+  public Counter getRejectedInputCounter() {
+    return rejectedInput;
+  }
+
+  /**
+   * Get the counter of commands refused by a session's rate limit.
+   *
+   * @return the rejected command counter
+   */
+  public Counter getRejectedCommandCounter() {
+    return rejectedCommands;
+  }
+
+  /**
+   * Get the counter of input events that were replaced by a later one, such as Snake turns
+   * overridden before the next tick.
+   *
+   * @return the coalesced input counter
+   */
+  public Counter getCoalescedInputCounter() {
+    return coalescedInput;
+  }
+
+  // Sums a statistic over the open sessions, read while the UI threads keep updating them
+  private synchronized double total(ToLongFunction<OutputBuffer> statistic, LongSupplier ended) {
+    long total = ended.getAsLong();
+    for (OutputBuffer out : sessions.keySet()) {
+      total += statistic.applyAsLong(out);
+    }
+    return total;
+  }
+
+  private synchronized int foreground(ToIntFunction<ForegroundStack> statistic) {
+    int total = 0;
+    for (ForegroundStack foreground : sessions.values()) {
+      total += statistic.applyAsInt(foreground);
+    }
+    return total;
+  }
+
+  private static ToLongFunction<OutputBuffer> flow(ToLongFunction<FlowControl> statistic) {
+    return out -> {
+      FlowControl flow = out.getFlowControl();
+      return flow != null ? statistic.applyAsLong(flow) : 0;
+    };
+  }
+}
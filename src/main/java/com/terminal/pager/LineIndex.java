@@ -0,0 +1,73 @@
+package com.terminal.pager;
+
+import java.util.Arrays;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Sparse index from line numbers to the offsets where the lines start.
+ *
+ * <p>Only the start of every {@value #INTERVAL}th line is recorded, and only as far into the text
+ * as a lookup needed, so the index of a file with a billion lines takes about 8 MB and a file
+ * that is only looked at near its start is barely scanned. A lookup scans at most
+ * {@value #INTERVAL} lines beyond the closest recorded one.</p>
+ */
+public class LineIndex {
+
+  /** The number of lines between two recorded line starts. */
+  public static final int INTERVAL = 1024;
+
+  private final MappedText text;
+  private long[] checkpoints = new long[16];
+  private int count = 1;
+
+  /**
+   * Create an index. Nothing is scanned until the first lookup.
+   *
+   * @param text the text to index
+   */
+  public LineIndex(MappedText text) {
+    this.text = text;
+  }
+
+  /**
+   * Find where a line starts, extending the index as needed.
+   *
+   * @param line the line number, 0 being the first line
+   * @param cancelled checked regularly, the lookup stops when it returns true
+   * @return the offset of the line, or -1 if the text has fewer lines or the lookup was cancelled
+   */
+  public synchronized long lineStart(long line, BooleanSupplier cancelled) {
+    long checkpoint = line / INTERVAL;
+    while (count <= checkpoint) {
+      long next = skip(checkpoints[count - 1], INTERVAL, cancelled);
+      if (next < 0) {
+        return -1;
+      }
+      if (count == checkpoints.length) {
+        checkpoints = Arrays.copyOf(checkpoints, count * 2);
+      }
+      checkpoints[count++] = next;
+    }
+    return skip(checkpoints[(int) checkpoint], line % INTERVAL, cancelled);
+  }
+
+  /**
+   * Get the number of line starts recorded so far.
+   *
+   * @return the number of recorded line starts
+   */
+  public synchronized int getCheckpointCount() {
+    return count;
+  }
+
+  // Only offsets before the end are line starts, the text may still grow behind an unfinished line
+  private long skip(long position, long lines, BooleanSupplier cancelled) {
+    for (long i = 0; i < lines && position < text.size(); i++) {
+      if (cancelled.getAsBoolean()) {
+        return -1;
+      }
+      position = text.nextLineStart(position);
+    }
+    return position < text.size() ? position : -1;
+  }
+}
@@ -0,0 +1,245 @@
+package com.terminal.pager;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Read-only view of a text file through memory-mapped segments.
+ *
+ * <p>The file is mapped lazily in segments of {@value #SEGMENT_SIZE} bytes, so files larger
+ * than 2 GB can be read and only the pages actually touched are loaded, by the operating
+ * system rather than on the heap. The file may grow while it is open, for example while
+ * output is spooled into it; {@link #refresh()} picks up the new size.</p>
+ *
+ * <p>Lines are separated by {@code \n}. Lines longer than {@value #MAX_LINE_LENGTH} bytes are
+ * split, so no line operation scans more than that.</p>
+ */
+public class MappedText implements AutoCloseable {
+
+  /** The size of a mapped segment. */
+  public static final int SEGMENT_SIZE = 64 << 20;
+
+  /** The length after which a line is split. */
+  public static final int MAX_LINE_LENGTH = 64 * 1024;
+
+  private static final int CANCEL_CHECK_INTERVAL = 1 << 20;
+
+  private final FileChannel channel;
+  private final List<MappedByteBuffer> segments = new ArrayList<>();
+  private MappedByteBuffer tail;
+  private int tailIndex = -1;
+  private volatile long size;
+
+  private MappedText(FileChannel channel) throws IOException {
+    this.channel = channel;
+    this.size = channel.size();
+  }
+
+  /**
+   * Open a file.
+   *
+   * @param path the file
+   * @return the mapped text
+   * @throws IOException if the file cannot be opened
+   */
+  public static MappedText open(Path path) throws IOException {
+    return new MappedText(FileChannel.open(path, StandardOpenOption.READ));
+  }
+
+  /**
+   * Pick up the current size of the file.
+   *
+   * @return the size in bytes
+   * @throws IOException if the size cannot be read
+   */
+  public long refresh() throws IOException {
+    size = channel.size();
+    return size;
+  }
+
+  /**
+   * Get the size of the file as of the last refresh.
+   *
+   * @return the size in bytes
+   */
+  public long size() {
+    return size;
+  }
+
+  /**
+   * Get a byte.
+   *
+   * @param position the position, less than {@link #size()}
+   * @return the byte
+   */
+  public byte byteAt(long position) {
+    return segment(position).get((int) (position % SEGMENT_SIZE));
+  }
+
+  /**
+   * Find where the line after the given one starts.
+   *
+   * @param lineStart the start of a line
+   * @return the start of the next line, or the size if the line runs to the end of the file
+   */
+  public long nextLineStart(long lineStart) {
+    long end = Math.min(size, lineStart + MAX_LINE_LENGTH);
+    long position = lineStart;
+    while (position < end) {
+      ByteBuffer buffer = segment(position);
+      int offset = (int) (position % SEGMENT_SIZE);
+      long segmentStart = position - offset;
+      int limit = (int) Math.min(buffer.limit(), end - segmentStart);
+      for (int i = offset; i < limit; i++) {
+        if (buffer.get(i) == '\n') {
+          return segmentStart + i + 1;
+        }
+      }
+      position = segmentStart + limit;
+    }
+    return end;
+  }
+
+  /**
+   * Find where the line before the given one starts.
+   *
+   * @param lineStart the start of a line
+   * @return the start of the previous line, or 0 at the start of the file
+   */
+  public long previousLineStart(long lineStart) {
+    return lineStart <= 0 ? 0 : lineStart(lineStart - 1);
+  }
+
+  /**
+   * Find the start of the line containing a position.
+   *
+   * @param position the position
+   * @return the start of the line
+   */
+  public long lineStart(long position) {
+    long limit = Math.max(0, position - MAX_LINE_LENGTH);
+    long p = position;
+    while (p > limit) {
+      ByteBuffer buffer = segment(p - 1);
+      int offset = (int) ((p - 1) % SEGMENT_SIZE);
+      long segmentStart = p - 1 - offset;
+      int first = (int) Math.max(0, limit - segmentStart);
+      for (int i = offset; i >= first; i--) {
+        if (buffer.get(i) == '\n') {
+          return segmentStart + i + 1;
+        }
+      }
+      p = segmentStart + first;
+    }
+    return limit;
+  }
+
+  /**
+   * Decode the beginning of a line.
+   *
+   * @param lineStart the start of the line
+   * @param maxBytes the maximum number of bytes decoded
+   * @return the line without its line break, possibly cut
+   */
+  public String line(long lineStart, int maxBytes) {
+    long end = Math.min(nextLineStart(lineStart), lineStart + maxBytes);
+    byte[] bytes = new byte[(int) (end - lineStart)];
+    for (int i = 0; i < bytes.length; i++) {
+      bytes[i] = byteAt(lineStart + i);
+    }
+
+    int length = bytes.length;
+    if (length > 0 && bytes[length - 1] == '\n') {
+      length--;
+    }
+    if (length > 0 && bytes[length - 1] == '\r') {
+      length--;
+    }
+    return new String(bytes, 0, length, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Find the next occurrence of a byte sequence.
+   *
+   * @param pattern the bytes to find, not empty
+   * @param from the position to start at
+   * @param cancelled checked regularly, the search stops when it returns true
+   * @return the position of the match, or -1 if there is none or the search was cancelled
+   */
+  public long indexOf(byte[] pattern, long from, BooleanSupplier cancelled) {
+    long last = size - pattern.length;
+    byte first = pattern[0];
+    long position = from;
+    while (position <= last) {
+      if (cancelled.getAsBoolean()) {
+        return -1;
+      }
+
+      // Scan within one segment with plain buffer reads, checking for cancellation now and then
+      ByteBuffer buffer = segment(position);
+      int offset = (int) (position % SEGMENT_SIZE);
+      long segmentStart = position - offset;
+      int limit = (int) Math.min(buffer.limit() - 1L, Math.min(last - segmentStart,
+          offset + (long) CANCEL_CHECK_INTERVAL));
+      for (int i = offset; i <= limit; i++) {
+        if (buffer.get(i) == first && matches(pattern, segmentStart + i)) {
+          return segmentStart + i;
+        }
+      }
+      position = segmentStart + limit + 1;
+    }
+    return -1;
+  }
+
+  @Override
+  public void close() throws IOException {
+    channel.close();
+  }
+
+  private boolean matches(byte[] pattern, long position) {
+    for (int i = 1; i < pattern.length; i++) {
+      if (byteAt(position + i) != pattern[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private synchronized ByteBuffer segment(long position) {
+    int index = (int) (position / SEGMENT_SIZE);
+    if (index < segments.size() && segments.get(index) != null) {
+      return segments.get(index);
+    }
+
+    try {
+      long start = (long) index * SEGMENT_SIZE;
+      long current = size;
+      if (current >= start + SEGMENT_SIZE) {
+        // Complete segments never change and are mapped once
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, SEGMENT_SIZE);
+        while (segments.size() <= index) {
+          segments.add(null);
+        }
+        segments.set(index, buffer);
+        return buffer;
+      }
+
+      // The last segment is mapped again when the file has grown
+      if (tail == null || tailIndex != index || tail.limit() < current - start) {
+        tail = channel.map(FileChannel.MapMode.READ_ONLY, start, current - start);
+        tailIndex = index;
+      }
+      return tail;
+    } catch (IOException e) {
+      throw new IllegalStateException("Could not map " + position, e);
+    }
+  }
+}
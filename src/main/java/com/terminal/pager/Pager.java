@@ -0,0 +1,522 @@
+package com.terminal.pager;
+
+import com.terminal.commands.CommandContext;
+import com.terminal.io.DisplayWidth;
+import com.terminal.io.InputEvent;
+import com.terminal.io.InputEvent.Control;
+import com.terminal.io.InputEvent.Key;
+import com.terminal.io.InputEvent.Paste;
+import com.terminal.io.InputEvent.Text;
+import com.terminal.io.OutputBuffer;
+import com.terminal.session.ForegroundApp;
+import com.terminal.session.ForegroundStack;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.function.BooleanSupplier;
+import java.util.function.LongConsumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Full-screen, {@code less}-style viewer of a {@link MappedText}.
+ *
+ * <p>The pager keeps nothing but the offset of the top line: every frame decodes just the
+ * visible lines straight from the mapped file, so its memory use does not depend on the size of
+ * the text. Searching, jumping to a line number and moving by more than {@link LineIndex#INTERVAL}
+ * lines, such as {@code 99999999j}, can scan the whole text and therefore run on a virtual
+ * thread; their result is applied on the UI thread unless a newer request or a quit
+ * superseded them in the meantime.</p>
+ *
+ * <p>All methods but {@link #isClosed()} and {@link #awaitClose()} must be called on the UI
+ * thread.</p>
+ */
+public class Pager implements ForegroundApp {
+
+  private static final int TAB_WIDTH = 8;
+  private static final int MAX_COUNT = 100_000_000;
+
+  private final CommandContext context;
+  private final OutputBuffer out;
+  private final MappedText text;
+  private final LineIndex index;
+  private final String title;
+  private final CompletableFuture<Void> closed = new CompletableFuture<>();
+  private final StringBuilder frame = new StringBuilder(4096);
+  private ForegroundStack.Handle foreground;
+
+  private long top = 0;
+  private long topLine = 0;
+  private long count = 0;
+  private boolean complete;
+  private String message;
+  private StringBuilder prompt;
+  private String query;
+
+  // Bumped to supersede the running search or jump
+  private volatile int generation = 0;
+
+  /**
+   * Create a pager.
+   *
+   * @param context the session to show the pager in
+   * @param text the text to page through
+   * @param title the name shown in the status line
+   * @param complete false if the text is still being written, see {@link #complete(String)}
+   */
+  public Pager(CommandContext context, MappedText text, String title, boolean complete) {
+    this.context = context;
+    this.out = context.getOutput();
+    this.text = text;
+    this.index = new LineIndex(text);
+    this.title = title;
+    this.complete = complete;
+  }
+
+  /**
+   * Switch to the alternate screen, take over the input and show the first page.
+   */
+  public void start() {
+    foreground = context.getForeground().push(this);
+    out.write("\u001B[?1049h");
+    render();
+  }
+
+  /**
+   * Pick up text written since the last frame and redraw.
+   */
+  public void refresh() {
+    if (isClosed()) {
+      return;
+    }
+
+    try {
+      text.refresh();
+    } catch (IOException e) {
+      message = e.getMessage();
+    }
+    render();
+  }
+
+  /**
+   * Mark the text as complete and redraw.
+   *
+   * @param note shown in the status line, or null
+   */
+  public void complete(String note) {
+    complete = true;
+    if (note != null) {
+      message = note;
+    }
+    refresh();
+  }
+
+  /**
+   * Leave the pager and return to the normal screen.
+   */
+  public void quit() {
+    if (foreground != null) {
+      foreground.close();
+    }
+  }
+
+  /**
+   * Check whether the pager was closed. May be called from any thread.
+   *
+   * @return true once the pager left the foreground
+   */
+  public boolean isClosed() {
+    return closed.isDone();
+  }
+
+  /**
+   * Wait until the pager is closed. May be called from any thread but the UI thread.
+   *
+   * @throws InterruptedException if interrupted while waiting
+   */
+  public void awaitClose() throws InterruptedException {
+    try {
+      closed.get();
+    } catch (ExecutionException e) {
+      // Never completed exceptionally
+    }
+  }
+
+  @Override
+  public void onInput(InputEvent event) {
+    if (prompt != null) {
+      editPrompt(event);
+    } else {
+      switch (event) {
+        case Text input -> type(input.text());
+        case Key key -> key(key);
+        case Control control when control.letter() == 'C' -> quit();
+        default -> {
+        }
+      }
+    }
+
+    if (!isClosed()) {
+      render();
+    }
+  }
+
+  @Override
+  public void onExit() {
+    generation++;
+    out.write("\u001B[?25h\u001B[?1049l");
+    closed.complete(null);
+  }
+
+  // Text typed after '/' in the same chunk belongs to the search prompt
+  private void type(String input) {
+    for (int i = 0; i < input.length() && !isClosed(); i++) {
+      if (prompt != null) {
+        prompt.append(input, i, input.length());
+        return;
+      }
+      command(input.charAt(i));
+    }
+  }
+
+  private void command(char c) {
+    if (c >= '0' && c <= '9') {
+      count = Math.min(MAX_COUNT, count * 10 + c - '0');
+      return;
+    }
+
+    long n = Math.max(1, count);
+    switch (c) {
+      case 'q', 'Q' -> quit();
+      case 'j', 'e' -> down(n);
+      case 'k', 'y' -> up(n);
+      case ' ', 'f' -> down(n * pageHeight());
+      case 'b' -> up(n * pageHeight());
+      case 'd' -> down(n * Math.max(1, pageHeight() / 2));
+      case 'u' -> up(n * Math.max(1, pageHeight() / 2));
+      case 'g', '<' -> jumpToLine(count);
+      case 'G', '>' -> {
+        if (count > 0) {
+          jumpToLine(count);
+        } else {
+          end();
+        }
+      }
+      case '/' -> prompt = new StringBuilder();
+      case 'n' -> search();
+      default -> {
+      }
+    }
+    count = 0;
+  }
+
+  private void key(Key key) {
+    count = 0;
+    switch (key.key()) {
+      case DOWN, ENTER -> down(1);
+      case UP -> up(1);
+      case PAGE_DOWN -> down(pageHeight());
+      case PAGE_UP -> up(pageHeight());
+      case HOME -> jumpToLine(0);
+      case END -> end();
+      case ESCAPE -> message = null;
+      default -> {
+      }
+    }
+  }
+
+  private void editPrompt(InputEvent event) {
+    switch (event) {
+      case Text input -> prompt.append(input.text());
+      case Paste paste -> prompt.append(paste.text().replaceAll("[\\p{Cntrl}]", " "));
+      case Key key when key.key() == InputEvent.KeyCode.BACKSPACE -> {
+        if (prompt.isEmpty()) {
+          prompt = null;
+        } else {
+          prompt.setLength(prompt.offsetByCodePoints(prompt.length(), -1));
+        }
+      }
+      case Key key when key.key() == InputEvent.KeyCode.ENTER -> {
+        // An empty pattern repeats the last search, like in less
+        if (!prompt.isEmpty()) {
+          query = prompt.toString();
+        }
+        prompt = null;
+        search();
+      }
+      case Key key when key.key() == InputEvent.KeyCode.ESCAPE -> prompt = null;
+      case Control control when control.letter() == 'C' -> prompt = null;
+      default -> {
+      }
+    }
+  }
+
+  private int pageHeight() {
+    return Math.max(1, rows() - 1);
+  }
+
+  private void down(long lines) {
+    if (lines > LineIndex.INTERVAL) {
+      far(lines);
+      return;
+    }
+
+    for (long i = 0; i < lines; i++) {
+      long next = text.nextLineStart(top);
+      if (next >= text.size()) {
+        break;
+      }
+      top = next;
+      if (topLine >= 0) {
+        topLine++;
+      }
+    }
+  }
+
+  private void up(long lines) {
+    if (lines > LineIndex.INTERVAL) {
+      far(-lines);
+      return;
+    }
+
+    for (long i = 0; i < lines && top > 0; i++) {
+      top = text.previousLineStart(top);
+      if (topLine > 0) {
+        topLine--;
+      }
+    }
+    if (top == 0) {
+      topLine = 0;
+    }
+  }
+
+  // The last page is found by scanning back from the end, without counting the lines before it
+  private void end() {
+    generation++;
+    top = text.size() == 0 ? 0 : text.lineStart(text.size() - 1);
+    topLine = -1;
+    up(pageHeight() - 1);
+  }
+
+  private void jumpToLine(long lineNumber) {
+    long line = Math.max(0, lineNumber - 1);
+    if (line < LineIndex.INTERVAL) {
+      // Close to the start, cheap enough to do right away
+      generation++;
+      top = 0;
+      topLine = 0;
+      down(line);
+      return;
+    }
+
+    int task = ++generation;
+    message = "Going to line " + lineNumber + "...";
+    inBackground("terminal-less-goto", task, () -> index.lineStart(line, () -> generation != task),
+        start -> {
+          if (start < 0) {
+            message = "Line " + lineNumber + " is past the end";
+          } else {
+            top = start;
+            topLine = line;
+            message = null;
+          }
+        });
+  }
+
+  // Known line numbers go through the index, otherwise the lines are stepped over one by one
+  private void far(long lines) {
+    if (topLine >= 0 && lines < 0) {
+      jumpToLine(Math.max(0, topLine + lines) + 1);
+      return;
+    }
+
+    int task = ++generation;
+    long from = top;
+    long target = topLine >= 0 ? topLine + lines : -1;
+    BooleanSupplier cancelled = () -> generation != task;
+    message = "Moving " + Math.abs(lines) + " lines...";
+    LongSupplier work = target >= 0
+        ? () -> index.lineStart(target, cancelled)
+        : () -> step(from, lines, cancelled);
+    inBackground("terminal-less-move", task, work, start -> {
+      message = null;
+      if (start < 0) {
+        // Past the last line, like less, show the last page
+        end();
+      } else if (target >= 0) {
+        top = start;
+        topLine = target;
+      } else {
+        top = start;
+        topLine = start == 0 ? 0 : -1;
+      }
+    });
+  }
+
+  // Runs on a virtual thread, stops at either end of the text
+  private long step(long from, long lines, BooleanSupplier cancelled) {
+    long position = from;
+    for (long i = 0; i < Math.abs(lines); i++) {
+      if (cancelled.getAsBoolean()) {
+        return position;
+      }
+      long next = lines > 0 ? text.nextLineStart(position) : text.previousLineStart(position);
+      if (next >= text.size() || next == position) {
+        break;
+      }
+      position = next;
+    }
+    return position;
+  }
+
+  private void search() {
+    if (query == null) {
+      message = "No previous search";
+      return;
+    }
+
+    // Like less, the search starts on the line after the top line
+    int task = ++generation;
+    byte[] pattern = query.getBytes(StandardCharsets.UTF_8);
+    long from = Math.min(text.size(), text.nextLineStart(top));
+    message = "Searching...";
+    inBackground("terminal-less-search", task, () -> {
+      long match = text.indexOf(pattern, from, () -> generation != task);
+      return match < 0 ? -1 : text.lineStart(match);
+    }, start -> {
+      if (start < 0) {
+        message = "Pattern not found";
+      } else {
+        top = start;
+        topLine = -1;
+        message = null;
+      }
+    });
+  }
+
+  private void inBackground(String name, int task, LongSupplier work, LongConsumer apply) {
+    Thread.ofVirtual().name(name).start(() -> {
+      try {
+        long result = work.getAsLong();
+        post(task, () -> apply.accept(result));
+      } catch (RuntimeException e) {
+        // The text can no longer be read, for example because the pager was closed meanwhile
+        post(task, () -> message = e.getMessage());
+      }
+    });
+  }
+
+  // Apply a background result on the UI thread unless it was superseded meanwhile
+  private void post(int task, Runnable apply) {
+    context.getUiExecutor().execute(() -> out.batch(() -> {
+      if (generation != task || isClosed()) {
+        return;
+      }
+      apply.run();
+      render();
+    }));
+  }
+
+  private void render() {
+    int rows = rows();
+    int columns = columns();
+    frame.setLength(0);
+    frame.append("\u001B[?25l");
+
+    long position = top;
+    for (int r = 1; r < rows; r++) {
+      frame.append("\u001B[").append(r).append(";1H");
+      if (position < text.size()) {
+        appendLine(text.line(position, columns * 4 + 4), columns);
+        position = text.nextLineStart(position);
+      } else {
+        frame.append("\u001B[2m~\u001B[22m");
+      }
+      frame.append("\u001B[K");
+    }
+
+    frame.append("\u001B[").append(rows).append(";1H\u001B[K");
+    if (prompt != null) {
+      frame.append('/').append(prompt).append("\u001B[?25h");
+    } else {
+      appendStatus(position, columns);
+    }
+    out.write(frame);
+  }
+
+  // Tabs are expanded and control characters shown as ^X, matches of the last search inverted
+  private void appendLine(String line, int columns) {
+    int width = 0;
+    int matchEnd = -1;
+    int nextMatch = query == null ? -1 : line.indexOf(query);
+    for (int i = 0; i < line.length(); ) {
+      int cp = line.codePointAt(i);
+      if (i == matchEnd) {
+        frame.append("\u001B[27m");
+      }
+      if (i == nextMatch) {
+        frame.append("\u001B[7m");
+        matchEnd = i + query.length();
+        nextMatch = line.indexOf(query, matchEnd);
+      }
+
+      int cpWidth;
+      if (cp == '\t') {
+        cpWidth = TAB_WIDTH - width % TAB_WIDTH;
+      } else if (cp < 0x20 || cp == 0x7F) {
+        cpWidth = 2;
+      } else {
+        cpWidth = DisplayWidth.of(cp);
+      }
+      if (width + cpWidth > columns) {
+        break;
+      }
+
+      if (cp == '\t') {
+        frame.append(" ".repeat(cpWidth));
+      } else if (cp < 0x20 || cp == 0x7F) {
+        frame.append('^').append((char) (cp ^ 0x40));
+      } else {
+        frame.appendCodePoint(cp);
+      }
+      width += cpWidth;
+      i += Character.charCount(cp);
+    }
+    if (matchEnd > 0) {
+      frame.append("\u001B[27m");
+    }
+  }
+
+  private void appendStatus(long bottom, int columns) {
+    long size = text.size();
+    StringBuilder status = new StringBuilder(" ").append(title);
+    if (topLine >= 0) {
+      status.append("  line ").append(topLine + 1);
+    }
+    status.append("  ").append(size == 0 ? 100 : bottom * 100 / size).append('%');
+    if (!complete) {
+      status.append("  (reading)");
+    } else if (bottom >= size) {
+      status.append("  (END)");
+    }
+    status.append("  ").append(message != null ? message : "q quit, / search, n next").append(' ');
+
+    int width = DisplayWidth.of(status);
+    if (width > columns) {
+      status.setLength(Math.max(0, columns));
+    }
+    frame.append("\u001B[7m").append(status)
+        .append(" ".repeat(Math.max(0, columns - DisplayWidth.of(status))))
+        .append("\u001B[27m");
+  }
+
+  private int rows() {
+    int rows = context.getTerminal().getRows();
+    return rows > 1 ? rows : 24;
+  }
+
+  private int columns() {
+    int columns = context.getTerminal().getCols();
+    return columns > 0 ? columns : 80;
+  }
+}
@@ -0,0 +1,19 @@
+package com.terminal.pipeline;
+
+/**
+ * The input side of a pipeline stage.
+ */
+@FunctionalInterface
+public interface LineInput {
+
+  /** An input without any lines. */
+  LineInput EMPTY = () -> null;
+
+  /**
+   * Read the next line, blocking until one is available.
+   *
+   * @return the line, or null once the input is exhausted
+   * @throws InterruptedException if interrupted while waiting
+   */
+  String readLine() throws InterruptedException;
+}
@@ -0,0 +1,29 @@
+package com.terminal.pipeline;
+
+import com.terminal.io.StreamOutput;
+
+/**
+ * The output side of a pipeline stage.
+ */
+@FunctionalInterface
+public interface LineOutput {
+
+  /**
+   * Write a line, blocking while the consumer is behind.
+   *
+   * @param line the line without line terminator
+   * @throws InterruptedException if interrupted while waiting
+   * @throws PipeClosedException if the consumer stopped reading
+   */
+  void writeLine(String line) throws InterruptedException;
+
+  /**
+   * Create an output writing each line to the terminal.
+   *
+   * @param out the output stream
+   * @return the line output
+   */
+  static LineOutput of(StreamOutput out) {
+    return out::writeln;
+  }
+}
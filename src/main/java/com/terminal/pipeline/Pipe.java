@@ -0,0 +1,87 @@
+package com.terminal.pipeline;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A bounded queue of lines connecting two pipeline stages.
+ *
+ * <p>The producer blocks while the pipe is full, so a fast producer can never hold more than
+ * the pipe's capacity in memory. When the consumer stops reading early, for example
+ * {@code head}, the producer's next write fails with a {@link PipeClosedException}.</p>
+ */
+public class Pipe implements LineInput, LineOutput {
+
+  /** The default number of lines a pipe can hold. */
+  public static final int DEFAULT_CAPACITY = 256;
+
+  // Compared by identity, never equal to a line read from a stage
+  private static final String EOF = new String("EOF");
+
+  private final BlockingQueue<String> queue;
+  private volatile boolean readerClosed = false;
+  private boolean eof = false;
+
+  /**
+   * Create a pipe with the default capacity.
+   */
+  public Pipe() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Create a pipe.
+   *
+   * @param capacity the number of lines the pipe can hold
+   */
+  public Pipe(int capacity) {
+    this.queue = new ArrayBlockingQueue<>(capacity);
+  }
+
+  @Override
+  public void writeLine(String line) throws InterruptedException {
+    while (!queue.offer(line, 50, TimeUnit.MILLISECONDS)) {
+      if (readerClosed) {
+        throw new PipeClosedException();
+      }
+    }
+
+    if (readerClosed) {
+      throw new PipeClosedException();
+    }
+  }
+
+  @Override
+  public String readLine() throws InterruptedException {
+    if (eof) {
+      return null;
+    }
+
+    String line = queue.take();
+    if (line == EOF) {
+      eof = true;
+      return null;
+    }
+    return line;
+  }
+
+  /**
+   * Signal the consumer that no more lines will be written.
+   *
+   * @throws InterruptedException if interrupted while waiting for room
+   */
+  public void closeWrite() throws InterruptedException {
+    while (!readerClosed && !queue.offer(EOF, 50, TimeUnit.MILLISECONDS)) {
+      // Wait for room or for the consumer to go away
+    }
+  }
+
+  /**
+   * Stop reading and release the buffered lines. Pending and future writes fail.
+   */
+  public void closeRead() {
+    readerClosed = true;
+    queue.clear();
+  }
+}
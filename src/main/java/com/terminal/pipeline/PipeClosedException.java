@@ -0,0 +1,11 @@
+package com.terminal.pipeline;
+
+/**
+ * Thrown to a producer writing to a pipe whose consumer has stopped reading.
+ */
+public class PipeClosedException extends RuntimeException {
+
+  public PipeClosedException() {
+    super("Broken pipe", null, false, false);
+  }
+}
@@ -0,0 +1,97 @@
+package com.terminal.pipeline;
+
+import com.terminal.commands.AsyncCommand;
+import com.terminal.commands.CommandContext;
+import com.terminal.commands.PipelineCommand;
+import com.terminal.io.StreamOutput;
+import com.terminal.render.Style;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A chain of {@link PipelineCommand stages} connected by bounded {@link Pipe pipes}.
+ *
+ * <p>Every stage but the last runs on its own virtual thread; the last one runs on the calling
+ * thread and writes to the terminal. Stages pull lines lazily, so a stage that stops reading
+ * stops its producers as well.</p>
+ */
+public class Pipeline implements AsyncCommand {
+
+  private final List<Stage> stages;
+
+  /**
+   * Create a pipeline.
+   *
+   * @param stages the stages, from first producer to last consumer
+   */
+  public Pipeline(List<Stage> stages) {
+    this.stages = List.copyOf(stages);
+  }
+
+  @Override
+  public String getName() {
+    return stages.get(0).command().getName();
+  }
+
+  @Override
+  public String getDescription() {
+    return "Pipeline of " + stages.size() + " commands";
+  }
+
+  @Override
+  public void executeAsync(CommandContext context, StreamOutput out, String[] args)
+      throws InterruptedException {
+    int last = stages.size() - 1;
+    List<Thread> producers = new ArrayList<>(last);
+    LineInput in = LineInput.EMPTY;
+
+    try {
+      for (int i = 0; i < last; i++) {
+        Stage stage = stages.get(i);
+        Pipe pipe = new Pipe();
+        LineInput stageIn = in;
+        producers.add(Thread.ofVirtual()
+            .name("terminal-pipe-" + stage.command().getName())
+            .start(() -> runStage(context, stage, stageIn, pipe, out)));
+        in = pipe;
+      }
+
+      runStage(context, stages.get(last), in, LineOutput.of(out), out);
+    } finally {
+      for (Thread producer : producers) {
+        producer.interrupt();
+      }
+    }
+  }
+
+  private void runStage(CommandContext context, Stage stage, LineInput in, LineOutput lines,
+      StreamOutput out) {
+    try {
+      stage.command().pipe(context, in, lines, stage.args());
+    } catch (PipeClosedException | InterruptedException e) {
+      // The consumer stopped reading or the pipeline was cancelled
+    } catch (Exception e) {
+      out.write(Style.BOLD_RED.line(stage.command().getName() + ": " + e.getMessage()));
+    } finally {
+      if (in instanceof Pipe pipe) {
+        pipe.closeRead();
+      }
+      if (lines instanceof Pipe pipe) {
+        try {
+          pipe.closeWrite();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+    }
+  }
+
+  /**
+   * A command and its arguments within a pipeline.
+   *
+   * @param command the command
+   * @param args the command arguments, the command name first
+   */
+  public record Stage(PipelineCommand command, String[] args) {
+  }
+}
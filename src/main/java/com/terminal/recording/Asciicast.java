@@ -0,0 +1,138 @@
+package com.terminal.recording;
+
+/**
+ * Encoding and decoding of the asciicast v2 format.
+ *
+ * <p>A recording is a header object on the first line followed by one event per line, each an
+ * array of the time in seconds since the start, the event type ({@code "o"} for output,
+ * {@code "i"} for input, {@code "r"} for a resize to the {@code COLSxROWS} in the data) and the
+ * data.</p>
+ */
+public final class Asciicast {
+
+  /** The file name suffix of gzip'd recordings. */
+  public static final String SUFFIX = ".cast.gz";
+
+  private Asciicast() {
+  }
+
+  /**
+   * Append a header line.
+   *
+   * @param out the builder to append to
+   * @param columns the terminal width
+   * @param rows the terminal height
+   * @param epochSeconds the start of the recording
+   */
+  public static void appendHeader(StringBuilder out, int columns, int rows, long epochSeconds) {
+    out.append("{\"version\": 2, \"width\": ").append(columns)
+        .append(", \"height\": ").append(rows)
+        .append(", \"timestamp\": ").append(epochSeconds)
+        .append(", \"env\": {\"TERM\": \"xterm-256color\"}}\n");
+  }
+
+  /**
+   * Append an event line.
+   *
+   * @param out the builder to append to
+   * @param micros the time since the start in microseconds
+   * @param type the event type
+   * @param data the event data
+   */
+  public static void appendEvent(StringBuilder out, long micros, char type, String data) {
+    out.append('[').append(micros / 1_000_000).append('.');
+    String fraction = Long.toString(micros % 1_000_000);
+    out.append("000000", fraction.length(), 6).append(fraction);
+    out.append(", \"").append(type).append("\", \"");
+    for (int i = 0; i < data.length(); i++) {
+      char c = data.charAt(i);
+      switch (c) {
+        case '"' -> out.append("\\\"");
+        case '\\' -> out.append("\\\\");
+        case '\n' -> out.append("\\n");
+        case '\r' -> out.append("\\r");
+        case '\t' -> out.append("\\t");
+        default -> {
+          if (c < 0x20 || c == 0x7F) {
+            out.append("\\u00").append(Character.forDigit(c >> 4, 16))
+                .append(Character.forDigit(c & 0xF, 16));
+          } else {
+            out.append(c);
+          }
+        }
+      }
+    }
+    out.append("\"]\n");
+  }
+
+  /**
+   * Parse an event line.
+   *
+   * @param line the line
+   * @return the event, or null if the line is not an event
+   */
+  public static Event parseEvent(String line) {
+    if (!line.startsWith("[")) {
+      return null;
+    }
+
+    int comma = line.indexOf(',');
+    int typeStart = line.indexOf('"', comma) + 1;
+    int typeEnd = line.indexOf('"', typeStart);
+    int dataStart = line.indexOf('"', typeEnd + 1) + 1;
+    if (comma < 0 || typeStart <= 0 || typeEnd < 0 || dataStart <= 0) {
+      return null;
+    }
+
+    double time;
+    try {
+      time = Double.parseDouble(line.substring(1, comma).trim());
+    } catch (NumberFormatException e) {
+      return null;
+    }
+
+    StringBuilder data = new StringBuilder(line.length() - dataStart);
+    for (int i = dataStart; i < line.length(); i++) {
+      char c = line.charAt(i);
+      if (c == '"') {
+        return new Event(time, line.substring(typeStart, typeEnd), data.toString());
+      }
+      if (c != '\\' || i + 1 >= line.length()) {
+        data.append(c);
+        continue;
+      }
+
+      char escaped = line.charAt(++i);
+      switch (escaped) {
+        case 'n' -> data.append('\n');
+        case 'r' -> data.append('\r');
+        case 't' -> data.append('\t');
+        case 'b' -> data.append('\b');
+        case 'f' -> data.append('\f');
+        case 'u' -> {
+          if (i + 4 >= line.length()) {
+            return null;
+          }
+          try {
+            data.append((char) Integer.parseInt(line, i + 1, i + 5, 16));
+          } catch (NumberFormatException e) {
+            return null;
+          }
+          i += 4;
+        }
+        default -> data.append(escaped);
+      }
+    }
+    return null;
+  }
+
+  /**
+   * An event of a recording.
+   *
+   * @param time the time since the start in seconds
+   * @param type the event type
+   * @param data the event data
+   */
+  public record Event(double time, String type, String data) {
+  }
+}
@@ -0,0 +1,144 @@
+package com.terminal.recording;
+
+import com.terminal.io.OutputListener;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The recording of one session.
+ *
+ * <p>The session taps its output as an {@link OutputListener} and reports its input through
+ * {@link #onInput(String)}. Both only timestamp the data and hand it to the
+ * {@link RecordingStore}'s writer thread, which appends the events to gzip'd asciicast files and
+ * starts a new part once a file reaches the configured size.</p>
+ */
+public class Recording implements OutputListener {
+
+  // Cleared like the browser terminal, which drops the scrollback
+  private static final String CLEAR = "\u001B[2J\u001B[3J\u001B[H";
+
+  private final RecordingStore store;
+  private final String name;
+  private final boolean recordInput;
+
+  // Only used by the writer thread once recording started
+  private int columns;
+  private int rows;
+  private Writer writer;
+  private int part = 0;
+  private long partStart;
+  private long partBytes;
+  private final StringBuilder line = new StringBuilder(256);
+
+  Recording(RecordingStore store, String name, int columns, int rows, boolean recordInput) {
+    this.store = store;
+    this.name = name;
+    this.columns = columns;
+    this.rows = rows;
+    this.recordInput = recordInput;
+    this.partStart = System.nanoTime();
+  }
+
+  /**
+   * Get the file name of the recording's first part.
+   *
+   * @return the file name
+   */
+  public String getName() {
+    return name + Asciicast.SUFFIX;
+  }
+
+  @Override
+  public void onWrite(String data) {
+    store.enqueue(this, 'o', data);
+  }
+
+  @Override
+  public void onClear() {
+    store.enqueue(this, 'o', CLEAR);
+  }
+
+  /**
+   * Record data the user typed or pasted, if input recording is enabled.
+   *
+   * @param data the terminal data
+   */
+  public void onInput(String data) {
+    if (recordInput) {
+      store.enqueue(this, 'i', data);
+    }
+  }
+
+  /**
+   * Record a resize of the terminal. Parts started afterwards have the new size in their header.
+   *
+   * @param columns the number of columns
+   * @param rows the number of rows
+   */
+  public void onResize(int columns, int rows) {
+    store.enqueue(this, 'r', columns + "x" + rows);
+  }
+
+  /**
+   * Stop recording. Events recorded so far are still written.
+   */
+  public void close() {
+    store.enqueue(this, RecordingStore.CLOSE, "");
+  }
+
+  void write(long nanos, char type, String data, Path directory, long maxFileBytes)
+      throws IOException {
+    if (type == 'r') {
+      int separator = data.indexOf('x');
+      columns = Integer.parseInt(data, 0, separator, 10);
+      rows = Integer.parseInt(data, separator + 1, data.length(), 10);
+    }
+    if (writer == null) {
+      open(directory);
+    }
+
+    line.setLength(0);
+    Asciicast.appendEvent(line, Math.max(0, nanos - partStart) / 1000, type, data);
+    writer.append(line);
+    partBytes += line.length();
+
+    if (partBytes >= maxFileBytes) {
+      // The next event starts a new part with its own header and clock
+      finish();
+      partStart = nanos;
+    }
+  }
+
+  void flush() throws IOException {
+    if (writer != null) {
+      writer.flush();
+    }
+  }
+
+  void finish() throws IOException {
+    if (writer != null) {
+      writer.close();
+      writer = null;
+    }
+  }
+
+  private void open(Path directory) throws IOException {
+    part++;
+    Path file = directory.resolve(part == 1 ? getName() : name + "." + part + Asciicast.SUFFIX);
+    OutputStream stream = new GZIPOutputStream(
+        new BufferedOutputStream(Files.newOutputStream(file), 64 * 1024), 64 * 1024, true);
+    writer = new OutputStreamWriter(stream, StandardCharsets.UTF_8);
+
+    line.setLength(0);
+    Asciicast.appendHeader(line, columns, rows, System.currentTimeMillis() / 1000);
+    writer.append(line);
+    partBytes = line.length();
+  }
+}
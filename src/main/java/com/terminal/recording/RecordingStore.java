@@ -0,0 +1,265 @@
+package com.terminal.recording;
+
+import jakarta.annotation.PreDestroy;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Records sessions to gzip'd asciicast v2 files and opens them for replay.
+ *
+ * <p>Sessions never touch the file system: a {@link Recording} only adds timestamped events to
+ * a lock-free queue, which a single writer thread drains, compresses and writes. The writer
+ * flushes whenever the queue runs empty, so a recording is readable while the session is still
+ * going. If the writer cannot keep up, events beyond a fixed bound are dropped rather than
+ * letting the queue grow without limit.</p>
+ *
+ * <p>A recording holds everything its user typed and saw, so it can only be listed and opened by
+ * the user who recorded it. File names start with the owner's sanitized user id.</p>
+ */
+@Component
+public class RecordingStore {
+
+  private static final Logger log = LoggerFactory.getLogger(RecordingStore.class);
+  private static final int MAX_QUEUED_EVENTS = 100_000;
+  private static final long IDLE_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+  private static final DateTimeFormatter STAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+  private static final int MAX_OWNER_LENGTH = 64;
+
+  // What follows the owner in a file name: stamp, random suffix and the optional part number
+  private static final Pattern OWNED_NAME = Pattern.compile(
+      "\\d{8}-\\d{6}-[0-9a-z]+(\\.\\d+)?" + Pattern.quote(Asciicast.SUFFIX));
+
+  static final char CLOSE = 'c';
+
+  private final boolean enabled;
+  private final Path directory;
+  private final long maxFileBytes;
+  private final boolean recordInput;
+  private final Queue<Event> queue = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger queued = new AtomicInteger();
+  private final AtomicLong dropped = new AtomicLong();
+  private final Thread writer;
+  private volatile boolean running = true;
+
+  /**
+   * Create the store and start its writer when recording is enabled.
+   *
+   * @param enabled whether sessions are recorded
+   * @param directory the directory recordings are written to
+   * @param maxFileBytes the uncompressed size after which a recording continues in a new file
+   * @param recordInput whether the user's input is recorded along with the output
+   */
+  public RecordingStore(@Value("${terminal.recording.enabled:false}") boolean enabled,
+      @Value("${terminal.recording.directory:./data/recordings}") String directory,
+      @Value("${terminal.recording.max-file-bytes:16777216}") long maxFileBytes,
+      @Value("${terminal.recording.input:false}") boolean recordInput) {
+    this.enabled = enabled;
+    this.directory = Path.of(directory).toAbsolutePath().normalize();
+    this.maxFileBytes = maxFileBytes;
+    this.recordInput = recordInput;
+    this.writer = new Thread(this::run, "terminal-recording-writer");
+    writer.setDaemon(true);
+    if (enabled) {
+      writer.start();
+    }
+  }
+
+  /**
+   * Start recording a session.
+   *
+   * @param userId the id of the session's user
+   * @param columns the terminal width
+   * @param rows the terminal height
+   * @return the recording, or null if recording is disabled
+   */
+  public Recording start(String userId, int columns, int rows) {
+    if (!enabled) {
+      return null;
+    }
+
+    String name = owner(userId) + "-" + LocalDateTime.now().format(STAMP) + "-"
+        + Long.toString(Math.floorMod(System.nanoTime(), 46_656L), 36);
+    return new Recording(this, name, columns, rows, recordInput);
+  }
+
+  /**
+   * List a user's recordings, oldest first.
+   *
+   * @param userId the id of the user
+   * @return the file names
+   */
+  public List<String> list(String userId) {
+    if (!Files.isDirectory(directory)) {
+      return List.of();
+    }
+
+    try (Stream<Path> files = Files.list(directory)) {
+      return files.filter(Files::isRegularFile)
+          .sorted(Comparator.comparingLong((Path file) -> file.toFile().lastModified())
+              .thenComparing(Path::getFileName))
+          .map(file -> file.getFileName().toString())
+          .filter(name -> isOwnedBy(name, userId))
+          .toList();
+    } catch (IOException e) {
+      return List.of();
+    }
+  }
+
+  /**
+   * Open one of a user's recordings for reading.
+   *
+   * @param userId the id of the user
+   * @param name the file name, as returned by {@link #list(String)}
+   * @return the reader of the decompressed lines
+   * @throws IOException if the user has no such recording or it cannot be read
+   */
+  public BufferedReader open(String userId, String name) throws IOException {
+    Path file = directory.resolve(name).normalize();
+    // Recordings of other users are reported the same as missing ones
+    if (!isOwnedBy(name, userId) || !file.startsWith(directory) || !Files.isRegularFile(file)) {
+      throw new IOException(name + ": No such recording");
+    }
+    return new BufferedReader(new InputStreamReader(
+        new GZIPInputStream(Files.newInputStream(file), 64 * 1024), StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Get the number of events waiting to be written.
+   *
+   * @return the queue size
+   */
+  public int getPendingCount() {
+    return queued.get();
+  }
+
+  /**
+   * Get the number of events dropped because the writer fell behind.
+   *
+   * @return the number of dropped events
+   */
+  public long getDroppedCount() {
+    return dropped.get();
+  }
+
+  /**
+   * Stop the writer after writing the queued events.
+   */
+  @PreDestroy
+  public void shutdown() throws InterruptedException {
+    running = false;
+    if (enabled) {
+      LockSupport.unpark(writer);
+      writer.join(TimeUnit.SECONDS.toMillis(5));
+    }
+  }
+
+  /**
+   * Check whether a recording belongs to a user.
+   *
+   * @param name the file name
+   * @param userId the id of the user
+   * @return true if the user recorded it
+   */
+  public static boolean isOwnedBy(String name, String userId) {
+    String prefix = owner(userId) + "-";
+    return name.startsWith(prefix)
+        && OWNED_NAME.matcher(name).region(prefix.length(), name.length()).matches();
+  }
+
+  // The user id comes from the browser and must not be able to leave the directory
+  private static String owner(String userId) {
+    String owner = userId.replaceAll("[^A-Za-z0-9-]", "_");
+    return owner.substring(0, Math.min(owner.length(), MAX_OWNER_LENGTH));
+  }
+
+  void enqueue(Recording recording, char type, String data) {
+    if (type != CLOSE && queued.incrementAndGet() > MAX_QUEUED_EVENTS) {
+      queued.decrementAndGet();
+      dropped.incrementAndGet();
+      return;
+    }
+    queue.add(new Event(recording, System.nanoTime(), type, data));
+  }
+
+  private void run() {
+    Set<Recording> active = new HashSet<>();
+    Set<Recording> unflushed = new HashSet<>();
+    try {
+      Files.createDirectories(directory);
+    } catch (IOException e) {
+      log.warn("Could not create the recording directory {}", directory, e);
+    }
+
+    while (running || !queue.isEmpty()) {
+      Event event = queue.poll();
+      if (event == null) {
+        // Idle: make everything written so far readable, then wait for more
+        for (Recording recording : unflushed) {
+          try {
+            recording.flush();
+          } catch (IOException e) {
+            log.warn("Could not flush recording {}", recording.getName(), e);
+          }
+        }
+        unflushed.clear();
+        LockSupport.parkNanos(IDLE_NANOS);
+        continue;
+      }
+
+      try {
+        if (event.type() == CLOSE) {
+          active.remove(event.recording());
+          unflushed.remove(event.recording());
+          event.recording().finish();
+        } else {
+          queued.decrementAndGet();
+          event.recording().write(event.nanos(), event.type(), event.data(), directory,
+              maxFileBytes);
+          active.add(event.recording());
+          unflushed.add(event.recording());
+        }
+      } catch (IOException e) {
+        // Recording is best effort, a full disk must not affect the sessions
+        log.warn("Could not write recording {}", event.recording().getName(), e);
+      }
+    }
+
+    // Sessions still open at shutdown get complete files as well
+    for (Recording recording : active) {
+      try {
+        recording.finish();
+      } catch (IOException e) {
+        log.warn("Could not close recording {}", recording.getName(), e);
+      }
+    }
+    if (dropped.get() > 0) {
+      log.warn("Dropped {} recording events because the writer fell behind", dropped.get());
+    }
+  }
+
+  private record Event(Recording recording, long nanos, char type, String data) {
+  }
+}
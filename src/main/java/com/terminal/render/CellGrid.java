@@ -0,0 +1,208 @@
+package com.terminal.render;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A fixed-size grid of terminal cells that renders differentially.
+ *
+ * <p>The grid keeps the frame currently shown on screen next to the frame being built. On
+ * {@link #render(StringBuilder)} only the cells that differ between the two are emitted, each
+ * addressed with {@code CSI row;col H} unless the cursor is already in place, and SGR
+ * sequences are only emitted when the style changes between consecutive cells.</p>
+ *
+ * <p>Glyphs are expected to occupy a single column.</p>
+ */
+public class CellGrid {
+
+  private static final String RESET = "\u001B[0m";
+
+  private final int width;
+  private final int height;
+  private final int originRow;
+  private final int originCol;
+
+  private final String[] glyphs;
+  private final String[] styles;
+  private final String[] shownGlyphs;
+  private final String[] shownStyles;
+
+  private final int[] dirty;
+  private final boolean[] flagged;
+  private int dirtyCount = 0;
+  private boolean invalid = false;
+
+  /**
+   * Create a grid.
+   *
+   * @param width the number of columns
+   * @param height the number of rows
+   * @param originRow the 1-based screen row of the grid's top-left cell
+   * @param originCol the 1-based screen column of the grid's top-left cell
+   */
+  public CellGrid(int width, int height, int originRow, int originCol) {
+    this.width = width;
+    this.height = height;
+    this.originRow = originRow;
+    this.originCol = originCol;
+
+    int size = width * height;
+    this.glyphs = new String[size];
+    this.styles = new String[size];
+    this.shownGlyphs = new String[size];
+    this.shownStyles = new String[size];
+    this.dirty = new int[size];
+    this.flagged = new boolean[size];
+  }
+
+  /**
+   * Get the number of columns.
+   *
+   * @return the width
+   */
+  public int getWidth() {
+    return width;
+  }
+
+  /**
+   * Get the number of rows.
+   *
+   * @return the height
+   */
+  public int getHeight() {
+    return height;
+  }
+
+  /**
+   * Get the 1-based screen row of the grid's top-left cell.
+   *
+   * @return the origin row
+   */
+  public int getOriginRow() {
+    return originRow;
+  }
+
+  /**
+   * Get the 1-based screen column of the grid's top-left cell.
+   *
+   * @return the origin column
+   */
+  public int getOriginCol() {
+    return originCol;
+  }
+
+  /**
+   * Set the content of a cell in the next frame.
+   *
+   * @param x the column
+   * @param y the row
+   * @param glyph the single-column glyph to show
+   * @param style the SGR sequence to apply, or null for the default style
+   */
+  public void set(int x, int y, String glyph, String style) {
+    set(y * width + x, glyph, style);
+  }
+
+  /**
+   * Set the content of a cell in the next frame.
+   *
+   * @param cell the cell index, {@code y * width + x}
+   * @param glyph the single-column glyph to show
+   * @param style the SGR sequence to apply, or null for the default style
+   */
+  public void set(int cell, String glyph, String style) {
+    glyphs[cell] = glyph;
+    styles[cell] = style;
+    if (!flagged[cell]) {
+      flagged[cell] = true;
+      dirty[dirtyCount++] = cell;
+    }
+  }
+
+  /**
+   * Assume the screen already shows every cell with the given content, for example right after
+   * the terminal was cleared. Nothing is emitted for this.
+   *
+   * @param glyph the glyph shown in every cell
+   * @param style the style shown in every cell, or null for the default style
+   */
+  public void reset(String glyph, String style) {
+    Arrays.fill(glyphs, glyph);
+    Arrays.fill(styles, style);
+    Arrays.fill(shownGlyphs, glyph);
+    Arrays.fill(shownStyles, style);
+    Arrays.fill(flagged, false);
+    dirtyCount = 0;
+    invalid = false;
+  }
+
+  /**
+   * Forget what is shown on screen so that the next render emits every cell.
+   */
+  public void invalidate() {
+    invalid = true;
+    dirtyCount = 0;
+    for (int cell = 0; cell < glyphs.length; cell++) {
+      flagged[cell] = true;
+      dirty[dirtyCount++] = cell;
+    }
+  }
+
+  /**
+   * Append the escape sequences that turn the shown frame into the next frame.
+   *
+   * @param out the builder to append to
+   * @return the number of cells emitted
+   */
+  public int render(StringBuilder out) {
+    int emitted = 0;
+    int cursor = -1;
+    String currentStyle = null;
+
+    for (int i = 0; i < dirtyCount; i++) {
+      int cell = dirty[i];
+      flagged[cell] = false;
+
+      String glyph = glyphs[cell];
+      String style = styles[cell];
+      if (!invalid && Objects.equals(glyph, shownGlyphs[cell])
+          && Objects.equals(style, shownStyles[cell])) {
+        continue;
+      }
+
+      if (cell != cursor) {
+        appendCursorPosition(out, cell);
+      }
+
+      if (!Objects.equals(style, currentStyle)) {
+        out.append(RESET);
+        if (style != null) {
+          out.append(style);
+        }
+        currentStyle = style;
+      }
+
+      out.append(glyph == null ? " " : glyph);
+      shownGlyphs[cell] = glyph;
+      shownStyles[cell] = style;
+      cursor = (cell + 1) % width == 0 ? -1 : cell + 1;
+      emitted++;
+    }
+
+    dirtyCount = 0;
+    invalid = false;
+    if (currentStyle != null) {
+      out.append(RESET);
+    }
+
+    return emitted;
+  }
+
+  private void appendCursorPosition(StringBuilder out, int cell) {
+    out.append("\u001B[")
+        .append(originRow + cell / width)
+        .append(';')
+        .append(originCol + cell % width)
+        .append('H');
+  }
+}
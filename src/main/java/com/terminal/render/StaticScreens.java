@@ -0,0 +1,62 @@
+package com.terminal.render;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import org.springframework.stereotype.Component;
+
+/**
+ * Application-wide cache of pre-rendered screens that do not depend on the session, such as
+ * the welcome banner and the command listing.
+ *
+ * <p>Each screen is rendered once per version of what it shows and then shared by every
+ * session as the same immutable string, so showing it costs a single write. A screen built
+ * from changing data is looked up with the data's version and rendered again when the version
+ * moves on.</p>
+ */
+@Component
+public class StaticScreens {
+
+  private record Entry(long version, String text) {
+  }
+
+  private final Map<String, Entry> screens = new ConcurrentHashMap<>();
+
+  /**
+   * Get a screen that never changes.
+   *
+   * @param key the screen's name
+   * @param renderer renders the screen if it is not cached yet
+   * @return the rendered screen
+   */
+  public String get(String key, Supplier<? extends CharSequence> renderer) {
+    return get(key, 0, renderer);
+  }
+
+  /**
+   * Get a screen, rendering it again if it was rendered for another version.
+   *
+   * @param key the screen's name
+   * @param version the version of the data the screen shows
+   * @param renderer renders the screen
+   * @return the rendered screen
+   */
+  public String get(String key, long version, Supplier<? extends CharSequence> renderer) {
+    Entry entry = screens.get(key);
+    if (entry == null || entry.version() != version) {
+      // Racing sessions may render the same version twice, they produce the same text
+      entry = new Entry(version, renderer.get().toString());
+      screens.put(key, entry);
+    }
+    return entry.text();
+  }
+
+  /**
+   * Drop a screen, it is rendered again on its next use.
+   *
+   * @param key the screen's name
+   */
+  public void invalidate(String key) {
+    screens.remove(key);
+  }
+}
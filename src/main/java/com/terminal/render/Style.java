@@ -0,0 +1,64 @@
+package com.terminal.render;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A precompiled SGR escape sequence.
+ *
+ * <p>Styles are interned: {@link #of(String)} returns the same instance, and the same sequence
+ * string, for the same parameters, so styling text never builds an escape sequence.</p>
+ */
+public final class Style {
+
+  private static final Map<String, Style> INTERNED = new ConcurrentHashMap<>();
+
+  public static final Style RESET = of("0");
+  public static final Style GREEN = of("32");
+  public static final Style BOLD_RED = of("1;31");
+  public static final Style BOLD_GREEN = of("1;32");
+  public static final Style BOLD_YELLOW = of("1;33");
+  public static final Style BOLD_BLUE = of("1;34");
+  public static final Style BOLD_CYAN = of("1;36");
+
+  private final String sequence;
+
+  private Style(String parameters) {
+    this.sequence = "\u001B[" + parameters + "m";
+  }
+
+  /**
+   * Get the style with the given SGR parameters.
+   *
+   * @param parameters the parameters, for example {@code "1;33"} for bold yellow
+   * @return the interned style
+   */
+  public static Style of(String parameters) {
+    return INTERNED.computeIfAbsent(parameters, Style::new);
+  }
+
+  /**
+   * Compose a line of text in the style followed by a reset, for fixed messages kept as
+   * constants and for one-off messages written off the UI thread.
+   *
+   * @param text the text
+   * @return the styled line
+   */
+  public String line(CharSequence text) {
+    return sequence + text + RESET.sequence + "\r\n";
+  }
+
+  /**
+   * Get the escape sequence selecting the style.
+   *
+   * @return the sequence
+   */
+  public String sequence() {
+    return sequence;
+  }
+
+  @Override
+  public String toString() {
+    return sequence;
+  }
+}
@@ -0,0 +1,445 @@
+package com.terminal.render;
+
+import com.terminal.io.DisplayWidth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Writes rows of a table with aligned columns as they are produced.
+ *
+ * <p>Column widths are estimated from a leading sample window: the first rows are kept until the
+ * window is full, then the widths are fixed to the widest cell of each column, shrunk to fit the
+ * terminal, and every later row is written straight away. Cells wider than their column are
+ * truncated with an ellipsis or wrapped onto continuation lines, measured in display columns so
+ * wide characters line up. A column can be given a minimum width for values known to grow, such
+ * as row numbers.</p>
+ *
+ * <p>Cells are appended to reusable buffers and rows to a chunk that is handed to the output
+ * whenever it reaches the chunk size, so a table of millions of rows is written with bounded
+ * memory and without allocating per cell. Cells are plain text without control characters.</p>
+ *
+ * <pre>{@code
+ * TableWriter table = new TableWriter(out::write, terminal.getCols())
+ *     .column("#", TableWriter.Align.RIGHT, Style.BOLD_YELLOW)
+ *     .column("Command", TableWriter.Align.LEFT, null);
+ * for (...) {
+ *   table.cell(number).cell(command).endRow();
+ * }
+ * table.finish();
+ * }</pre>
+ */
+public class TableWriter {
+
+  /**
+   * The alignment of a column's cells.
+   */
+  public enum Align {
+    LEFT, RIGHT
+  }
+
+  /**
+   * What happens to a cell wider than its column.
+   */
+  public enum Overflow {
+    TRUNCATE, WRAP
+  }
+
+  /** The default number of rows the column widths are estimated from. */
+  public static final int DEFAULT_SAMPLE_ROWS = 100;
+
+  /** The default number of characters collected before they are written. */
+  public static final int DEFAULT_CHUNK_CHARS = 16 * 1024;
+
+  private static final String GAP = "  ";
+  private static final char ELLIPSIS = '…';
+  private static final int MIN_FIT_WIDTH = 3;
+
+  private final Consumer<CharSequence> output;
+  private final int maxWidth;
+  private final List<Column> columns = new ArrayList<>();
+  private Overflow overflow = Overflow.TRUNCATE;
+  private int sampleRows = DEFAULT_SAMPLE_ROWS;
+  private int chunkChars = DEFAULT_CHUNK_CHARS;
+  private String indent = "";
+  private boolean styled = true;
+
+  private StringBuilder[] cells;
+  private int cell = 0;
+  private List<String[]> sample = new ArrayList<>();
+  private int[] widths;
+  private int[] offsets;
+  private int fittedWidth;
+  private TextBuilder chunk;
+  private long rows = 0;
+  private boolean finished = false;
+
+  /**
+   * Create a table writer.
+   *
+   * @param output receives the rendered chunks, such as {@code out::write} of an output buffer
+   *     or stream
+   * @param maxWidth the number of terminal columns a line may take, 0 or less for no limit
+   */
+  public TableWriter(Consumer<CharSequence> output, int maxWidth) {
+    this.output = output;
+    this.maxWidth = maxWidth;
+  }
+
+  /**
+   * Add a column.
+   *
+   * @param header the header, or null. The header line is written when a column has one
+   * @param align the alignment of the cells
+   * @param style the style of the cells, or null for plain text
+   * @return this writer
+   */
+  public TableWriter column(String header, Align align, Style style) {
+    return column(header, align, style, 0);
+  }
+
+  /**
+   * Add a column with a minimum width.
+   *
+   * @param header the header, or null. The header line is written when a column has one
+   * @param align the alignment of the cells
+   * @param style the style of the cells, or null for plain text
+   * @param minWidth the number of columns the column takes at least
+   * @return this writer
+   */
+  public TableWriter column(String header, Align align, Style style, int minWidth) {
+    if (cells != null) {
+      throw new IllegalStateException("Columns must be added before the first cell");
+    }
+    columns.add(new Column(header, align, style, minWidth));
+    return this;
+  }
+
+  /**
+   * Set what happens to cells wider than their column, truncated by default.
+   *
+   * @param overflow the overflow mode
+   * @return this writer
+   */
+  public TableWriter setOverflow(Overflow overflow) {
+    this.overflow = overflow;
+    return this;
+  }
+
+  /**
+   * Set the number of leading rows the column widths are estimated from.
+   *
+   * @param sampleRows the number of rows, at least 1
+   * @return this writer
+   */
+  public TableWriter setSampleRows(int sampleRows) {
+    this.sampleRows = Math.max(1, sampleRows);
+    return this;
+  }
+
+  /**
+   * Set the number of characters collected before they are written to the output.
+   *
+   * @param chunkChars the chunk size
+   * @return this writer
+   */
+  public TableWriter setChunkChars(int chunkChars) {
+    this.chunkChars = chunkChars;
+    return this;
+  }
+
+  /**
+   * Set the text every line starts with.
+   *
+   * @param indent the indentation
+   * @return this writer
+   */
+  public TableWriter setIndent(String indent) {
+    this.indent = indent;
+    return this;
+  }
+
+  /**
+   * Set whether the column styles are written, turn off for output read by other programs.
+   *
+   * @param styled false to write plain text
+   * @return this writer
+   */
+  public TableWriter setStyled(boolean styled) {
+    this.styled = styled;
+    return this;
+  }
+
+  /**
+   * Add the next cell of the current row.
+   *
+   * @param value the text
+   * @return this writer
+   */
+  public TableWriter cell(CharSequence value) {
+    nextCell().append(value);
+    return this;
+  }
+
+  /**
+   * Add the next cell of the current row.
+   *
+   * @param value the number
+   * @return this writer
+   */
+  public TableWriter cell(long value) {
+    nextCell().append(value);
+    return this;
+  }
+
+  /**
+   * End the current row, missing cells are left empty.
+   */
+  public void endRow() {
+    if (cells == null) {
+      nextCell();
+      cell = 0;
+    }
+
+    rows++;
+    if (widths == null) {
+      String[] row = new String[cells.length];
+      for (int i = 0; i < row.length; i++) {
+        row[i] = cells[i].toString();
+      }
+      sample.add(row);
+      if (sample.size() >= sampleRows) {
+        layout();
+      }
+    } else {
+      appendRow(cells, null);
+    }
+
+    for (int i = 0; i < cell; i++) {
+      cells[i].setLength(0);
+    }
+    cell = 0;
+  }
+
+  /**
+   * Write the rows not written yet. The writer cannot be used afterwards.
+   */
+  public void finish() {
+    if (finished) {
+      return;
+    }
+    if (cell > 0) {
+      endRow();
+    }
+    if (widths == null) {
+      layout();
+    }
+    if (chunk.length() > 0) {
+      output.accept(chunk);
+      chunk.clear();
+    }
+    finished = true;
+  }
+
+  /**
+   * Get the number of rows added.
+   *
+   * @return the number of rows
+   */
+  public long getRowCount() {
+    return rows;
+  }
+
+  /**
+   * Get the width of a column, known once the sample window is full or the table finished.
+   *
+   * @param column the column index
+   * @return the width in display columns, or -1 while it is being estimated
+   */
+  public int getColumnWidth(int column) {
+    return widths != null ? widths[column] : -1;
+  }
+
+  private StringBuilder nextCell() {
+    if (finished) {
+      throw new IllegalStateException("The table is finished");
+    }
+    if (columns.isEmpty()) {
+      throw new IllegalStateException("The table has no columns");
+    }
+    if (cells == null) {
+      cells = new StringBuilder[columns.size()];
+      for (int i = 0; i < cells.length; i++) {
+        cells[i] = new StringBuilder();
+      }
+      offsets = new int[cells.length];
+      chunk = new TextBuilder(chunkChars + 1024);
+    }
+    if (cell >= cells.length) {
+      throw new IllegalStateException("The row has more cells than the table has columns");
+    }
+    return cells[cell++];
+  }
+
+  // Fixes the widths from the sample, then writes the header and the sampled rows
+  private void layout() {
+    if (cells == null) {
+      nextCell();
+      cell = 0;
+    }
+
+    int count = columns.size();
+    widths = new int[count];
+    boolean headers = false;
+    for (int i = 0; i < count; i++) {
+      Column column = columns.get(i);
+      widths[i] = Math.max(1, column.minWidth);
+      if (column.header != null) {
+        headers = true;
+        widths[i] = Math.max(widths[i], DisplayWidth.of(column.header));
+      }
+    }
+    for (String[] row : sample) {
+      for (int i = 0; i < count; i++) {
+        widths[i] = Math.max(widths[i], DisplayWidth.of(row[i]));
+      }
+    }
+    fit();
+
+    if (headers) {
+      String[] header = new String[count];
+      for (int i = 0; i < count; i++) {
+        String text = columns.get(i).header;
+        header[i] = text != null ? text : "";
+      }
+      appendRow(header, Style.BOLD_CYAN);
+    }
+    for (String[] row : sample) {
+      appendRow(row, null);
+    }
+    sample = null;
+  }
+
+  // Narrows the widest columns until a line fits the terminal
+  private void fit() {
+    if (maxWidth <= 0) {
+      return;
+    }
+
+    int available = maxWidth - DisplayWidth.of(indent) - GAP.length() * (widths.length - 1);
+    int total = 0;
+    for (int width : widths) {
+      total += width;
+    }
+
+    while (total > available) {
+      int widest = -1;
+      for (int i = 0; i < widths.length; i++) {
+        int floor = Math.max(MIN_FIT_WIDTH, columns.get(i).minWidth);
+        if (widths[i] > floor && (widest < 0 || widths[i] > widths[widest])) {
+          widest = i;
+        }
+      }
+      if (widest < 0) {
+        return;
+      }
+      widths[widest]--;
+      total--;
+    }
+  }
+
+  private void appendRow(CharSequence[] row, Style rowStyle) {
+    Arrays.fill(offsets, 0);
+    boolean more;
+    do {
+      more = false;
+      chunk.append(indent);
+      for (int i = 0; i < row.length; i++) {
+        if (appendCell(i, row[i], rowStyle)) {
+          more = true;
+        }
+      }
+      chunk.newLine();
+    } while (more);
+
+    if (chunk.length() >= chunkChars) {
+      output.accept(chunk);
+      chunk.clear();
+    }
+  }
+
+  // Appends the part of a cell that fits its column, true if a wrapped cell continues
+  private boolean appendCell(int index, CharSequence value, Style rowStyle) {
+    Column column = columns.get(index);
+    int width = widths[index];
+    int start = offsets[index];
+    boolean last = index == widths.length - 1;
+
+    int end = fitEnd(value, start, width);
+    boolean ellipsis = false;
+    if (end < value.length()) {
+      if (overflow == Overflow.TRUNCATE) {
+        end = fitEnd(value, start, width - 1);
+        ellipsis = true;
+      } else if (end == start) {
+        // A wide character in a column too narrow for it is written anyway
+        end = start + Character.charCount(Character.codePointAt(value, start));
+        fittedWidth = DisplayWidth.of(value, start, end);
+      }
+    }
+    int padding = Math.max(0, width - fittedWidth - (ellipsis ? 1 : 0));
+    if (column.align == Align.RIGHT) {
+      appendSpaces(padding);
+    }
+
+    Style style = rowStyle != null ? rowStyle : column.style;
+    boolean text = end > start || ellipsis;
+    if (styled && style != null && text) {
+      chunk.append(style.sequence());
+    }
+    chunk.append(value, start, end);
+    if (ellipsis) {
+      chunk.append(ELLIPSIS);
+    }
+    if (styled && style != null && text) {
+      chunk.append(Style.RESET.sequence());
+    }
+
+    if (!last) {
+      if (column.align == Align.LEFT) {
+        appendSpaces(padding);
+      }
+      chunk.append(GAP);
+    }
+
+    offsets[index] = ellipsis ? value.length() : end;
+    return offsets[index] < value.length();
+  }
+
+  // Finds where the text starting at an index fills the width, leaving the width in fittedWidth
+  private int fitEnd(CharSequence value, int start, int width) {
+    int used = 0;
+    int i = start;
+    while (i < value.length()) {
+      int codePoint = Character.codePointAt(value, i);
+      int columnsTaken = DisplayWidth.of(codePoint);
+      if (used + columnsTaken > width) {
+        break;
+      }
+      used += columnsTaken;
+      i += Character.charCount(codePoint);
+    }
+    fittedWidth = used;
+    return i;
+  }
+
+  private void appendSpaces(int count) {
+    for (int i = 0; i < count; i++) {
+      chunk.append(' ');
+    }
+  }
+
+  private record Column(String header, Align align, Style style, int minWidth) {
+  }
+}
@@ -0,0 +1,173 @@
+package com.terminal.render;
+
+import com.terminal.io.DisplayWidth;
+import com.terminal.io.OutputBuffer;
+
+/**
+ * Builds terminal text with styles into a reusable buffer.
+ *
+ * <p>A builder is meant to be kept and {@link #clear() cleared} between uses, so composing
+ * output does not allocate once the buffer has grown to size; a session's commands share the
+ * one of their {@code CommandContext}. Fixed messages need no builder, they are composed once
+ * with {@link Style#line(CharSequence)}. Styled text is always followed by a reset. Lines end
+ * with {@code \r\n} as the terminal expects.</p>
+ */
+public class TextBuilder implements CharSequence {
+
+  private final StringBuilder text;
+
+  /**
+   * Create a builder.
+   */
+  public TextBuilder() {
+    this(256);
+  }
+
+  /**
+   * Create a builder.
+   *
+   * @param capacity the initial capacity in characters
+   */
+  public TextBuilder(int capacity) {
+    this.text = new StringBuilder(capacity);
+  }
+
+  /**
+   * Append plain text.
+   *
+   * @param value the text
+   * @return this builder
+   */
+  public TextBuilder append(CharSequence value) {
+    text.append(value);
+    return this;
+  }
+
+  /**
+   * Append a range of plain text.
+   *
+   * @param value the text
+   * @param start the first char index, inclusive
+   * @param end the last char index, exclusive
+   * @return this builder
+   */
+  public TextBuilder append(CharSequence value, int start, int end) {
+    text.append(value, start, end);
+    return this;
+  }
+
+  /**
+   * Append a character.
+   *
+   * @param value the character
+   * @return this builder
+   */
+  public TextBuilder append(char value) {
+    text.append(value);
+    return this;
+  }
+
+  /**
+   * Append a number.
+   *
+   * @param value the number
+   * @return this builder
+   */
+  public TextBuilder append(long value) {
+    text.append(value);
+    return this;
+  }
+
+  /**
+   * Append text in a style, followed by a reset.
+   *
+   * @param style the style
+   * @param value the text
+   * @return this builder
+   */
+  public TextBuilder styled(Style style, CharSequence value) {
+    text.append(style.sequence()).append(value).append(Style.RESET.sequence());
+    return this;
+  }
+
+  /**
+   * Append text in a style padded with spaces to a display width, the padding unstyled.
+   *
+   * @param style the style, or null for plain text
+   * @param value the text
+   * @param width the number of columns to fill
+   * @return this builder
+   */
+  public TextBuilder padded(Style style, CharSequence value, int width) {
+    if (style != null) {
+      styled(style, value);
+    } else {
+      text.append(value);
+    }
+    for (int i = DisplayWidth.of(value); i < width; i++) {
+      text.append(' ');
+    }
+    return this;
+  }
+
+  /**
+   * End the line.
+   *
+   * @return this builder
+   */
+  public TextBuilder newLine() {
+    text.append("\r\n");
+    return this;
+  }
+
+  /**
+   * Append a line of text in a style.
+   *
+   * @param style the style
+   * @param value the text
+   * @return this builder
+   */
+  public TextBuilder line(Style style, CharSequence value) {
+    return styled(style, value).newLine();
+  }
+
+  /**
+   * Write the text to the output and clear the builder.
+   *
+   * @param out the output buffer
+   */
+  public void writeTo(OutputBuffer out) {
+    out.write(text);
+    clear();
+  }
+
+  /**
+   * Remove all text, keeping the buffer.
+   *
+   * @return this builder
+   */
+  public TextBuilder clear() {
+    text.setLength(0);
+    return this;
+  }
+
+  @Override
+  public int length() {
+    return text.length();
+  }
+
+  @Override
+  public char charAt(int index) {
+    return text.charAt(index);
+  }
+
+  @Override
+  public CharSequence subSequence(int start, int end) {
+    return text.subSequence(start, end);
+  }
+
+  @Override
+  public String toString() {
+    return text.toString();
+  }
+}
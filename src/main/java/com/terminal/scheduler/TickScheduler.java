@@ -0,0 +1,195 @@
+package com.terminal.scheduler;
+
+import jakarta.annotation.PreDestroy;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Server-wide clock for real-time terminal applications.
+ *
+ * <p>A single scheduler thread ticks at a fixed base period and dispatches, per session, one
+ * batch with every registration that is due. Registrations run at a multiple of the base
+ * period. The scheduler records how late each tick starts (jitter) and how many ticks took
+ * longer than the period to dispatch (overruns).</p>
+ *
+ * <p>Sessions are served round-robin: every tick starts one session further along, and when the
+ * node is saturated and a tick runs out of its period, the sessions not reached yet are deferred
+ * and go first on the next tick. No session is systematically served last.</p>
+ */
+@Component
+public class TickScheduler {
+
+  private final int periodMillis;
+  private final long periodNanos;
+  private static final TickSession[] NO_SESSIONS = new TickSession[0];
+
+  private final List<TickSession> sessions = new CopyOnWriteArrayList<>();
+  private final ScheduledExecutorService executor;
+  private final long startNanos;
+
+  private volatile long tickCount = 0;
+  private volatile long overruns = 0;
+  private volatile long batches = 0;
+  private volatile long totalJitterNanos = 0;
+  private volatile long maxJitterNanos = 0;
+  private volatile long deferred = 0;
+  private int nextSession = 0;
+
+  /**
+   * Create and start the scheduler.
+   *
+   * @param periodMillis the base tick period in milliseconds
+   */
+  public TickScheduler(@Value("${terminal.tick.period-millis:50}") int periodMillis) {
+    this.periodMillis = periodMillis;
+    this.periodNanos = TimeUnit.MILLISECONDS.toNanos(periodMillis);
+    this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "terminal-tick");
+      thread.setDaemon(true);
+      return thread;
+    });
+    this.startNanos = System.nanoTime() + periodNanos;
+    executor.scheduleAtFixedRate(this::tick, periodNanos, periodNanos, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Open a session whose registrations are run on the given UI executor.
+   *
+   * @param uiExecutor the executor running tasks on the session's UI thread
+   * @return the session
+   */
+  public TickSession openSession(Executor uiExecutor) {
+    TickSession session = new TickSession(this, uiExecutor);
+    sessions.add(session);
+    return session;
+  }
+
+  void remove(TickSession session) {
+    sessions.remove(session);
+  }
+
+  /**
+   * Get the base tick period.
+   *
+   * @return the period in milliseconds
+   */
+  public int getPeriodMillis() {
+    return periodMillis;
+  }
+
+  /**
+   * Get the number of ticks since the scheduler started.
+   *
+   * @return the tick count
+   */
+  public long getTickCount() {
+    return tickCount;
+  }
+
+  /**
+   * Get the number of open sessions.
+   *
+   * @return the number of sessions
+   */
+  public int getSessionCount() {
+    return sessions.size();
+  }
+
+  /**
+   * Get the number of batches dispatched to sessions.
+   *
+   * @return the number of batches
+   */
+  public long getBatchCount() {
+    return batches;
+  }
+
+  /**
+   * Get the number of ticks whose dispatch took longer than the period.
+   *
+   * @return the number of overruns
+   */
+  public long getOverrunCount() {
+    return overruns;
+  }
+
+  /**
+   * Get the number of session dispatches put off to the next tick because a tick ran out of time.
+   *
+   * @return the number of deferred dispatches
+   */
+  public long getDeferredCount() {
+    return deferred;
+  }
+
+  /**
+   * Get the average delay between the planned and the actual start of a tick.
+   *
+   * @return the average jitter in nanoseconds
+   */
+  public long getAverageJitterNanos() {
+    long ticks = tickCount;
+    return ticks == 0 ? 0 : totalJitterNanos / ticks;
+  }
+
+  /**
+   * Get the largest delay between the planned and the actual start of a tick.
+   *
+   * @return the maximum jitter in nanoseconds
+   */
+  public long getMaxJitterNanos() {
+    return maxJitterNanos;
+  }
+
+  /**
+   * Stop the scheduler thread.
+   */
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+
+  private void tick() {
+    long start = System.nanoTime();
+    long tick = tickCount;
+    long jitter = Math.max(0, start - (startNanos + tick * periodNanos));
+    totalJitterNanos += jitter;
+    maxJitterNanos = Math.max(maxJitterNanos, jitter);
+
+    long deadline = start + periodNanos;
+    long dispatched = 0;
+    TickSession[] round = sessions.toArray(NO_SESSIONS);
+    int first = round.length == 0 ? 0 : nextSession % round.length;
+    nextSession = first + 1;
+    for (int i = 0; i < round.length; i++) {
+      TickSession session = round[(first + i) % round.length];
+      if (i > 0 && System.nanoTime() > deadline) {
+        // Saturated, the rest go first next tick and their registrations stay due until then
+        nextSession = first + i;
+        deferred += round.length - i;
+        break;
+      }
+
+      try {
+        if (session.dispatch(tick)) {
+          dispatched++;
+        }
+      } catch (RuntimeException e) {
+        // A broken session must not stop the clock for everyone else
+        session.close();
+      }
+    }
+
+    batches += dispatched;
+    tickCount = tick + 1;
+    if (System.nanoTime() - start > periodNanos) {
+      overruns++;
+    }
+  }
+}
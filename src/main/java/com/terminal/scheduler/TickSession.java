@@ -0,0 +1,188 @@
+package com.terminal.scheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The tick registrations of one terminal session.
+ *
+ * <p>On every scheduler tick the due registrations of the session are dispatched together as a
+ * single task on the session's UI executor. If the previous batch has not run yet when the next
+ * one is due, the session is considered behind: the frame is skipped and the session's frame
+ * rate is halved, down to {@link #MAX_RATE_DIVISOR}. After {@link #RECOVERY_BATCHES} batches in
+ * a row that ran in time, the rate is doubled again.</p>
+ */
+public class TickSession implements AutoCloseable {
+
+  /** The largest factor by which a session's frame rate is reduced. */
+  public static final int MAX_RATE_DIVISOR = 4;
+
+  /** The number of in-time batches after which a reduced frame rate is raised again. */
+  public static final int RECOVERY_BATCHES = 20;
+
+  private final TickScheduler scheduler;
+  private final Executor uiExecutor;
+  private final List<Registration> registrations = new CopyOnWriteArrayList<>();
+  private final AtomicBoolean inFlight = new AtomicBoolean(false);
+  private volatile boolean visible = true;
+  private volatile boolean closed = false;
+  private volatile int rateDivisor = 1;
+  private int inTimeStreak = 0;
+  private volatile long skippedFrames = 0;
+
+  TickSession(TickScheduler scheduler, Executor uiExecutor) {
+    this.scheduler = scheduler;
+    this.uiExecutor = uiExecutor;
+  }
+
+  /**
+   * Register an application to be ticked at the given period.
+   *
+   * @param tickable the application
+   * @param periodMillis the frame period in milliseconds
+   * @return the registration, used to stop ticking
+   */
+  public Registration register(Tickable tickable, int periodMillis) {
+    int periodTicks = Math.max(1, Math.round((float) periodMillis / scheduler.getPeriodMillis()));
+    Registration registration = new Registration(tickable, periodTicks, scheduler.getTickCount());
+    registrations.add(registration);
+    return registration;
+  }
+
+  /**
+   * Pause or resume ticking, for example when the browser tab is hidden.
+   *
+   * @param visible false to pause, true to resume
+   */
+  public void setVisible(boolean visible) {
+    this.visible = visible;
+  }
+
+  /**
+   * Check whether the session is being ticked.
+   *
+   * @return true if visible
+   */
+  public boolean isVisible() {
+    return visible;
+  }
+
+  /**
+   * Get the factor by which the session's frame rate is currently reduced.
+   *
+   * @return 1 when running at full rate
+   */
+  public int getRateDivisor() {
+    return rateDivisor;
+  }
+
+  /**
+   * Get the number of frames skipped because the session was behind.
+   *
+   * @return the number of skipped frames
+   */
+  public long getSkippedFrames() {
+    return skippedFrames;
+  }
+
+  /**
+   * Get the number of active registrations.
+   *
+   * @return the number of registrations
+   */
+  public int getRegistrationCount() {
+    return registrations.size();
+  }
+
+  /**
+   * Remove all registrations and detach the session from the scheduler.
+   */
+  @Override
+  public void close() {
+    closed = true;
+    registrations.clear();
+    scheduler.remove(this);
+  }
+
+  /**
+   * Dispatch the registrations due at the given tick. Called on the scheduler thread.
+   *
+   * @param tick the scheduler tick
+   * @return true if a batch was dispatched
+   */
+  boolean dispatch(long tick) {
+    if (closed || !visible || registrations.isEmpty()) {
+      return false;
+    }
+
+    List<Registration> due = null;
+    for (Registration registration : registrations) {
+      if (registration.nextTick <= tick) {
+        registration.nextTick = tick + (long) registration.periodTicks * rateDivisor;
+        if (due == null) {
+          due = new ArrayList<>(registrations.size());
+        }
+        due.add(registration);
+      }
+    }
+
+    if (due == null) {
+      return false;
+    }
+
+    if (!inFlight.compareAndSet(false, true)) {
+      // The previous frame has not been handled yet, the client is behind
+      skippedFrames++;
+      inTimeStreak = 0;
+      rateDivisor = Math.min(rateDivisor * 2, MAX_RATE_DIVISOR);
+      return false;
+    }
+
+    if (rateDivisor > 1 && ++inTimeStreak >= RECOVERY_BATCHES) {
+      inTimeStreak = 0;
+      rateDivisor = rateDivisor / 2;
+    }
+
+    List<Registration> batch = due;
+    uiExecutor.execute(() -> {
+      try {
+        for (Registration registration : batch) {
+          if (!registration.cancelled) {
+            registration.tickable.tick();
+          }
+        }
+      } finally {
+        inFlight.set(false);
+      }
+    });
+
+    return true;
+  }
+
+  /**
+   * A tick registration.
+   */
+  public class Registration {
+    private final Tickable tickable;
+    private final int periodTicks;
+    private volatile long nextTick;
+    private volatile boolean cancelled = false;
+
+    private Registration(Tickable tickable, int periodTicks, long currentTick) {
+      this.tickable = tickable;
+      this.periodTicks = periodTicks;
+      this.nextTick = currentTick + periodTicks;
+    }
+
+    /**
+     * Stop ticking the application.
+     */
+    public void remove() {
+      cancelled = true;
+      registrations.remove(this);
+    }
+  }
+}
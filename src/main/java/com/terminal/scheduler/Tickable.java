@@ -0,0 +1,13 @@
+package com.terminal.scheduler;
+
+/**
+ * A real-time application driven by the {@link TickScheduler}.
+ */
+@FunctionalInterface
+public interface Tickable {
+
+  /**
+   * Advance the application by one frame. Always called on the session's UI thread.
+   */
+  void tick();
+}
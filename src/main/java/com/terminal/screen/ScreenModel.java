@@ -0,0 +1,830 @@
+package com.terminal.screen;
+
+import com.terminal.io.DisplayWidth;
+import com.terminal.io.OutputListener;
+import java.util.Arrays;
+
+/**
+ * Headless model of a terminal screen, kept in sync with everything a session writes.
+ *
+ * <p>The model interprets the output like the browser terminal does: printable characters
+ * including wide ones, line discipline controls, cursor movement, erasing, line and character
+ * insertion and deletion, and SGR colors and attributes. The visible screen is a grid of cells;
+ * rows scrolled off the top are kept, already serialized, in a bounded scrollback.</p>
+ *
+ * <p>{@link #snapshot()} serializes the scrollback and the screen into one string that rebuilds
+ * the same display on an empty terminal, in time proportional to the screen and scrollback size
+ * rather than to the amount of output the session ever produced. Combining marks, OSC strings
+ * and modes other than cursor visibility and the alternate screen are not modeled.</p>
+ *
+ * <p>The model is fed on the session's UI thread but may be read from another session, so its
+ * public methods are synchronized.</p>
+ */
+public class ScreenModel implements OutputListener {
+
+  private static final int BOLD = 1;
+  private static final int DIM = 1 << 1;
+  private static final int ITALIC = 1 << 2;
+  private static final int UNDERLINE = 1 << 3;
+  private static final int BLINK = 1 << 4;
+  private static final int INVERSE = 1 << 5;
+  private static final int HIDDEN = 1 << 6;
+  private static final int STRIKE = 1 << 7;
+  private static final int[] ATTRIBUTE_CODES = {1, 2, 3, 4, 5, 7, 8, 9};
+
+  // A style packs the attribute flags, the foreground and the background color into a long
+  private static final int FG_SHIFT = 8;
+  private static final int BG_SHIFT = 34;
+  private static final long COLOR_MASK = (1L << 26) - 1;
+  private static final int COLOR_SET = 1 << 25;
+  private static final int COLOR_RGB = 1 << 24;
+
+  // Second cell of a wide character
+  private static final int WIDE_TAIL = -1;
+  private static final int MAX_PARAMS = 16;
+
+  private enum State {
+    GROUND, ESCAPE, CHARSET, CSI, OSC, OSC_ESCAPE
+  }
+
+  private int columns;
+  private int rows;
+  private int[] chars;
+  private long[] styles;
+  // Screen rows are mapped onto the cell arrays so that scrolling does not move cells
+  private int[] rowMap;
+  private final String[] scrollback;
+  private int scrollbackStart = 0;
+  private int scrollbackSize = 0;
+
+  private int row = 0;
+  private int col = 0;
+  private boolean pendingWrap = false;
+  private long style = 0;
+  private boolean cursorVisible = true;
+  private int savedRow = 0;
+  private int savedCol = 0;
+  private long savedStyle = 0;
+
+  // The normal screen while the alternate screen is shown, null otherwise
+  private int[] mainChars;
+  private long[] mainStyles;
+  private int[] mainRowMap;
+
+  private State state = State.GROUND;
+  private final StringBuilder sequence = new StringBuilder();
+  private final int[] params = new int[MAX_PARAMS];
+  private char highSurrogate = 0;
+
+  /**
+   * Create an empty screen.
+   *
+   * @param columns the number of columns
+   * @param rows the number of rows
+   * @param scrollbackLines the number of scrolled off rows kept
+   */
+  public ScreenModel(int columns, int rows, int scrollbackLines) {
+    this.columns = Math.max(1, columns);
+    this.rows = Math.max(1, rows);
+    this.chars = new int[this.columns * this.rows];
+    this.styles = new long[this.columns * this.rows];
+    this.rowMap = identity(this.rows);
+    this.scrollback = new String[Math.max(0, scrollbackLines)];
+  }
+
+  @Override
+  public synchronized void onWrite(String data) {
+    for (int i = 0; i < data.length(); i++) {
+      char c = data.charAt(i);
+      switch (state) {
+        case GROUND -> ground(c);
+        case ESCAPE -> escape(c);
+        case CHARSET -> state = State.GROUND;
+        case CSI -> csi(c);
+        case OSC -> {
+          if (c == '\u0007') {
+            state = State.GROUND;
+          } else if (c == '\u001B') {
+            state = State.OSC_ESCAPE;
+          }
+        }
+        case OSC_ESCAPE -> state = c == '\\' ? State.GROUND : State.OSC;
+      }
+    }
+  }
+
+  /**
+   * Clear the screen like the browser terminal's clear: the scrollback is dropped and the cursor
+   * row becomes the first row.
+   */
+  @Override
+  public synchronized void onClear() {
+    int cursorRow = rowMap[row];
+    rowMap[row] = rowMap[0];
+    rowMap[0] = cursorRow;
+    eraseRows(1, rows);
+    row = 0;
+    clearScrollback();
+  }
+
+  /**
+   * Serialize the scrollback and the screen, including the cursor position and the current
+   * style, into one string that rebuilds the display on an empty terminal.
+   *
+   * @return the snapshot
+   */
+  public synchronized String snapshot() {
+    StringBuilder out = new StringBuilder((scrollbackSize + rows) * (columns + 8));
+    for (int i = 0; i < scrollbackSize; i++) {
+      out.append(scrollback[(scrollbackStart + i) % scrollback.length]).append("\r\n");
+    }
+
+    // Without scrollback, empty rows below the cursor need not be written
+    int last = rows - 1;
+    if (scrollbackSize == 0) {
+      while (last > row && isBlankRow(last)) {
+        last--;
+      }
+    }
+    for (int r = 0; r <= last; r++) {
+      appendRow(out, r);
+      if (r < last) {
+        out.append("\r\n");
+      }
+    }
+
+    out.append("\u001B[").append(row + 1).append(';').append(col + 1).append('H');
+    if (style != 0) {
+      appendStyle(out, style);
+    }
+    if (!cursorVisible) {
+      out.append("\u001B[?25l");
+    }
+    return out.toString();
+  }
+
+  /**
+   * Change the screen size. Rows and columns that no longer fit are cut, lines are not
+   * reflowed.
+   *
+   * @param newColumns the number of columns
+   * @param newRows the number of rows
+   */
+  public synchronized void resize(int newColumns, int newRows) {
+    newColumns = Math.max(1, newColumns);
+    newRows = Math.max(1, newRows);
+    if (newColumns == columns && newRows == rows) {
+      return;
+    }
+
+    if (mainChars != null) {
+      // The normal screen comes back when the full-screen application exits, so it is resized
+      // too. It is swapped in for that, so the rows it loses reach the scrollback.
+      int[] alternateChars = chars;
+      long[] alternateStyles = styles;
+      int[] alternateRowMap = rowMap;
+      chars = mainChars;
+      styles = mainStyles;
+      rowMap = mainRowMap;
+      mainChars = null;
+      savedRow -= resizeCells(savedRow, newColumns, newRows);
+      mainChars = chars;
+      mainStyles = styles;
+      mainRowMap = rowMap;
+      chars = alternateChars;
+      styles = alternateStyles;
+      rowMap = alternateRowMap;
+    }
+
+    row -= resizeCells(row, newColumns, newRows);
+    columns = newColumns;
+    rows = newRows;
+    col = Math.min(col, columns - 1);
+    pendingWrap = false;
+  }
+
+  // Copies the shown cells into arrays of the new size, keeping the rows around the cursor when
+  // the screen gets shorter, and returns the number of rows that were cut at the top
+  private int resizeCells(int cursorRow, int newColumns, int newRows) {
+    int shift = Math.max(0, cursorRow - newRows + 1);
+    for (int r = 0; r < shift; r++) {
+      pushScrollback(r);
+    }
+
+    int[] newChars = new int[newColumns * newRows];
+    long[] newStyles = new long[newColumns * newRows];
+    int copyColumns = Math.min(columns, newColumns);
+    for (int r = 0; r < Math.min(rows - shift, newRows); r++) {
+      System.arraycopy(chars, base(r + shift), newChars, r * newColumns, copyColumns);
+      System.arraycopy(styles, base(r + shift), newStyles, r * newColumns, copyColumns);
+    }
+
+    chars = newChars;
+    styles = newStyles;
+    rowMap = identity(newRows);
+    return shift;
+  }
+
+  /**
+   * Get the text of a screen row, without styles and trailing blanks.
+   *
+   * @param r the row, 0 being the top row
+   * @return the text
+   */
+  public synchronized String getLine(int r) {
+    StringBuilder line = new StringBuilder(columns);
+    int end = rowEnd(r);
+    for (int c = 0; c < end; c++) {
+      int cp = chars[base(r) + c];
+      if (cp != WIDE_TAIL) {
+        line.appendCodePoint(cp == 0 ? ' ' : cp);
+      }
+    }
+    return line.toString();
+  }
+
+  /**
+   * Get a row that scrolled off the screen, as written by {@link #snapshot()}.
+   *
+   * @param index the index, 0 being the oldest row kept
+   * @return the serialized row
+   */
+  public synchronized String getScrollbackLine(int index) {
+    if (index < 0 || index >= scrollbackSize) {
+      throw new IndexOutOfBoundsException(index);
+    }
+    return scrollback[(scrollbackStart + index) % scrollback.length];
+  }
+
+  /**
+   * Get the number of rows kept in the scrollback.
+   *
+   * @return the scrollback size
+   */
+  public synchronized int getScrollbackSize() {
+    return scrollbackSize;
+  }
+
+  /**
+   * Get the cursor row.
+   *
+   * @return the row, 0 being the top row
+   */
+  public synchronized int getCursorRow() {
+    return row;
+  }
+
+  /**
+   * Get the cursor column.
+   *
+   * @return the column, 0 being the leftmost column
+   */
+  public synchronized int getCursorColumn() {
+    return col;
+  }
+
+  /**
+   * Get the number of columns.
+   *
+   * @return the width
+   */
+  public synchronized int getColumns() {
+    return columns;
+  }
+
+  /**
+   * Get the number of rows.
+   *
+   * @return the height
+   */
+  public synchronized int getRows() {
+    return rows;
+  }
+
+  private void ground(char c) {
+    if (Character.isHighSurrogate(c)) {
+      highSurrogate = c;
+      return;
+    }
+    if (Character.isLowSurrogate(c)) {
+      if (highSurrogate != 0) {
+        print(Character.toCodePoint(highSurrogate, c));
+      }
+      highSurrogate = 0;
+      return;
+    }
+    highSurrogate = 0;
+
+    if (c >= 0x20 && c != 0x7F) {
+      print(c);
+      return;
+    }
+
+    switch (c) {
+      case '\u001B' -> state = State.ESCAPE;
+      case '\r' -> {
+        col = 0;
+        pendingWrap = false;
+      }
+      case '\n', '\u000B', '\u000C' -> {
+        pendingWrap = false;
+        lineFeed();
+      }
+      case '\b' -> {
+        col = Math.max(0, col - 1);
+        pendingWrap = false;
+      }
+      case '\t' -> col = Math.min(columns - 1, (col / 8 + 1) * 8);
+      default -> {
+        // Other control characters do not change the screen
+      }
+    }
+  }
+
+  private void print(int codePoint) {
+    int width = DisplayWidth.of(codePoint);
+    if (width == 0) {
+      return;
+    }
+
+    if (pendingWrap) {
+      col = 0;
+      lineFeed();
+      pendingWrap = false;
+    }
+    if (width == 2 && col == columns - 1) {
+      // A wide character does not fit in the last column and wraps early
+      if (columns < 2) {
+        return;
+      }
+      splitWide(col);
+      set(col, 0, style);
+      col = 0;
+      lineFeed();
+    }
+
+    splitWide(col);
+    if (width == 2) {
+      splitWide(col + 1);
+      set(col + 1, WIDE_TAIL, style);
+    }
+    set(col, codePoint, style);
+
+    col += width;
+    if (col >= columns) {
+      col = columns - 1;
+      pendingWrap = true;
+    }
+  }
+
+  private void escape(char c) {
+    state = State.GROUND;
+    switch (c) {
+      case '[' -> {
+        sequence.setLength(0);
+        state = State.CSI;
+      }
+      case ']' -> state = State.OSC;
+      case '(', ')', '*', '+' -> state = State.CHARSET;
+      case '7' -> saveCursor();
+      case '8' -> restoreCursor();
+      case 'D' -> lineFeed();
+      case 'E' -> {
+        col = 0;
+        lineFeed();
+      }
+      case 'M' -> {
+        if (row == 0) {
+          scrollDown(1);
+        } else {
+          row--;
+        }
+      }
+      case 'c' -> reset();
+      default -> {
+        // Unsupported escape
+      }
+    }
+  }
+
+  private void csi(char c) {
+    if (c < 0x40 || c > 0x7E) {
+      if (sequence.length() < 64) {
+        sequence.append(c);
+      } else {
+        state = State.GROUND;
+      }
+      return;
+    }
+
+    state = State.GROUND;
+    boolean privateMode = sequence.length() > 0 && sequence.charAt(0) == '?';
+    int count = parseParams(privateMode ? 1 : 0);
+    int n = Math.max(1, params[0]);
+    pendingWrap = false;
+
+    switch (c) {
+      case 'A' -> row = Math.max(0, row - n);
+      case 'B' -> row = Math.min(rows - 1, row + n);
+      case 'C' -> col = Math.min(columns - 1, col + n);
+      case 'D' -> col = Math.max(0, col - n);
+      case 'E' -> {
+        row = Math.min(rows - 1, row + n);
+        col = 0;
+      }
+      case 'F' -> {
+        row = Math.max(0, row - n);
+        col = 0;
+      }
+      case 'G', '`' -> col = Math.min(columns - 1, n - 1);
+      case 'd' -> row = Math.min(rows - 1, n - 1);
+      case 'H', 'f' -> {
+        row = Math.min(rows - 1, n - 1);
+        col = Math.min(columns - 1, Math.max(1, params[1]) - 1);
+      }
+      case 'J' -> eraseDisplay(params[0]);
+      case 'K' -> eraseLine(params[0]);
+      case 'X' -> eraseCells(row, col, Math.min(columns, col + n));
+      case 'P' -> deleteChars(n);
+      case '@' -> insertChars(n);
+      case 'L' -> insertLines(n);
+      case 'M' -> deleteLines(n);
+      case 'S' -> scrollUp(n);
+      case 'T' -> scrollDown(n);
+      case 'm' -> selectGraphicRendition(count);
+      case 's' -> saveCursor();
+      case 'u' -> restoreCursor();
+      case 'h', 'l' -> {
+        if (privateMode && params[0] == 25) {
+          cursorVisible = c == 'h';
+        } else if (privateMode && params[0] == 1049) {
+          alternateScreen(c == 'h');
+        }
+      }
+      default -> {
+        // Unsupported sequence
+      }
+    }
+  }
+
+  private int parseParams(int start) {
+    Arrays.fill(params, 0);
+    int count = 0;
+    boolean any = false;
+    for (int i = start; i < sequence.length(); i++) {
+      char c = sequence.charAt(i);
+      if (c >= '0' && c <= '9') {
+        if (count < MAX_PARAMS) {
+          params[count] = params[count] * 10 + (c - '0');
+        }
+        any = true;
+      } else if (c == ';' || c == ':') {
+        count++;
+        any = true;
+      }
+    }
+    return any ? Math.min(count + 1, MAX_PARAMS) : 0;
+  }
+
+  private void selectGraphicRendition(int count) {
+    if (count == 0) {
+      style = 0;
+      return;
+    }
+
+    for (int i = 0; i < count; i++) {
+      int p = params[i];
+      if (p == 0) {
+        style = 0;
+      } else if (p >= 1 && p <= 9 && p != 6) {
+        style |= flagFor(p);
+      } else if (p == 21 || p == 22) {
+        style &= ~(long) (BOLD | DIM);
+      } else if (p >= 23 && p <= 29 && p != 26) {
+        style &= ~(long) flagFor(p - 20);
+      } else if (p >= 30 && p <= 37) {
+        style = withForeground(style, COLOR_SET | (p - 30));
+      } else if (p == 39) {
+        style = withForeground(style, 0);
+      } else if (p >= 40 && p <= 47) {
+        style = withBackground(style, COLOR_SET | (p - 40));
+      } else if (p == 49) {
+        style = withBackground(style, 0);
+      } else if (p >= 90 && p <= 97) {
+        style = withForeground(style, COLOR_SET | (p - 90 + 8));
+      } else if (p >= 100 && p <= 107) {
+        style = withBackground(style, COLOR_SET | (p - 100 + 8));
+      } else if ((p == 38 || p == 48) && i + 1 < count) {
+        int color;
+        if (params[i + 1] == 5 && i + 2 < count) {
+          color = COLOR_SET | (params[i + 2] & 0xFF);
+          i += 2;
+        } else if (params[i + 1] == 2 && i + 4 < count) {
+          color = COLOR_SET | COLOR_RGB | (params[i + 2] & 0xFF) << 16
+              | (params[i + 3] & 0xFF) << 8 | (params[i + 4] & 0xFF);
+          i += 4;
+        } else {
+          continue;
+        }
+        style = p == 38 ? withForeground(style, color) : withBackground(style, color);
+      }
+    }
+  }
+
+  private static int flagFor(int code) {
+    return switch (code) {
+      case 1 -> BOLD;
+      case 2 -> DIM;
+      case 3 -> ITALIC;
+      case 4 -> UNDERLINE;
+      case 5 -> BLINK;
+      case 7 -> INVERSE;
+      case 8 -> HIDDEN;
+      case 9 -> STRIKE;
+      default -> 0;
+    };
+  }
+
+  private static long withForeground(long style, int color) {
+    return (style & ~(COLOR_MASK << FG_SHIFT)) | (long) color << FG_SHIFT;
+  }
+
+  private static long withBackground(long style, int color) {
+    return (style & ~(COLOR_MASK << BG_SHIFT)) | (long) color << BG_SHIFT;
+  }
+
+  private static void appendStyle(StringBuilder out, long style) {
+    out.append("\u001B[0");
+    for (int bit = 0; bit < ATTRIBUTE_CODES.length; bit++) {
+      if ((style & (1L << bit)) != 0) {
+        out.append(';').append(ATTRIBUTE_CODES[bit]);
+      }
+    }
+    appendColor(out, (int) (style >>> FG_SHIFT & COLOR_MASK), 30, 90, 38);
+    appendColor(out, (int) (style >>> BG_SHIFT & COLOR_MASK), 40, 100, 48);
+    out.append('m');
+  }
+
+  private static void appendColor(StringBuilder out, int color, int base, int brightBase,
+      int extended) {
+    if ((color & COLOR_SET) == 0) {
+      return;
+    }
+
+    int value = color & 0xFFFFFF;
+    if ((color & COLOR_RGB) != 0) {
+      out.append(';').append(extended).append(";2;").append(value >> 16).append(';')
+          .append(value >> 8 & 0xFF).append(';').append(value & 0xFF);
+    } else if (value < 8) {
+      out.append(';').append(base + value);
+    } else if (value < 16) {
+      out.append(';').append(brightBase + value - 8);
+    } else {
+      out.append(';').append(extended).append(";5;").append(value);
+    }
+  }
+
+  private void appendRow(StringBuilder out, int r) {
+    long current = 0;
+    int end = rowEnd(r);
+    for (int c = 0; c < end; c++) {
+      int index = base(r) + c;
+      int cp = chars[index];
+      if (cp == WIDE_TAIL) {
+        continue;
+      }
+      if (styles[index] != current) {
+        current = styles[index];
+        appendStyle(out, current);
+      }
+      out.appendCodePoint(cp == 0 ? ' ' : cp);
+    }
+    if (current != 0) {
+      out.append("\u001B[0m");
+    }
+  }
+
+  private int rowEnd(int r) {
+    int start = base(r);
+    int end = columns;
+    while (end > 0 && chars[start + end - 1] == 0 && styles[start + end - 1] == 0) {
+      end--;
+    }
+    return end;
+  }
+
+  private boolean isBlankRow(int r) {
+    return rowEnd(r) == 0;
+  }
+
+  private void set(int c, int codePoint, long cellStyle) {
+    chars[base(row) + c] = codePoint;
+    styles[base(row) + c] = cellStyle;
+  }
+
+  // Overwriting half of a wide character blanks the other half
+  private void splitWide(int c) {
+    if (c >= columns) {
+      return;
+    }
+
+    int index = base(row) + c;
+    if (chars[index] == WIDE_TAIL && c > 0) {
+      chars[index - 1] = 0;
+    } else if (c + 1 < columns && chars[index + 1] == WIDE_TAIL) {
+      chars[index + 1] = 0;
+    }
+  }
+
+  private void lineFeed() {
+    if (row == rows - 1) {
+      scrollUp(1);
+    } else {
+      row++;
+    }
+  }
+
+  private void scrollUp(int count) {
+    count = Math.min(count, rows);
+    for (int r = 0; r < count; r++) {
+      pushScrollback(r);
+    }
+    scrollRegionUp(0, count);
+  }
+
+  private void scrollDown(int count) {
+    scrollRegionDown(0, count);
+  }
+
+  // Rotate the rows from top to the bottom of the screen up, blanking the rows that come in
+  private void scrollRegionUp(int top, int count) {
+    count = Math.min(count, rows - top);
+    int[] moved = Arrays.copyOfRange(rowMap, top, top + count);
+    System.arraycopy(rowMap, top + count, rowMap, top, rows - top - count);
+    System.arraycopy(moved, 0, rowMap, rows - count, count);
+    eraseRows(rows - count, rows);
+  }
+
+  private void scrollRegionDown(int top, int count) {
+    count = Math.min(count, rows - top);
+    int[] moved = Arrays.copyOfRange(rowMap, rows - count, rows);
+    System.arraycopy(rowMap, top, rowMap, top + count, rows - top - count);
+    System.arraycopy(moved, 0, rowMap, top, count);
+    eraseRows(top, top + count);
+  }
+
+
+  private void pushScrollback(int r) {
+    if (scrollback.length == 0 || mainChars != null) {
+      return;
+    }
+
+    StringBuilder line = new StringBuilder(columns);
+    appendRow(line, r);
+    if (scrollbackSize < scrollback.length) {
+      scrollback[(scrollbackStart + scrollbackSize++) % scrollback.length] = line.toString();
+    } else {
+      scrollback[scrollbackStart] = line.toString();
+      scrollbackStart = (scrollbackStart + 1) % scrollback.length;
+    }
+  }
+
+  private void clearScrollback() {
+    Arrays.fill(scrollback, null);
+    scrollbackStart = 0;
+    scrollbackSize = 0;
+  }
+
+  private void eraseDisplay(int mode) {
+    switch (mode) {
+      case 0 -> {
+        eraseCells(row, col, columns);
+        eraseRows(row + 1, rows);
+      }
+      case 1 -> {
+        eraseRows(0, row);
+        eraseCells(row, 0, col + 1);
+      }
+      case 2 -> eraseRows(0, rows);
+      case 3 -> clearScrollback();
+      default -> {
+        // Unsupported mode
+      }
+    }
+  }
+
+  private void eraseLine(int mode) {
+    switch (mode) {
+      case 0 -> eraseCells(row, col, columns);
+      case 1 -> eraseCells(row, 0, col + 1);
+      case 2 -> eraseCells(row, 0, columns);
+      default -> {
+        // Unsupported mode
+      }
+    }
+  }
+
+  private void eraseRows(int from, int to) {
+    for (int r = from; r < to; r++) {
+      eraseCells(r, 0, columns);
+    }
+  }
+
+  // Erased cells keep the current background color, like in xterm
+  private void eraseCells(int r, int from, int to) {
+    long blank = style & (COLOR_MASK << BG_SHIFT);
+    Arrays.fill(chars, base(r) + from, base(r) + to, 0);
+    Arrays.fill(styles, base(r) + from, base(r) + to, blank);
+  }
+
+
+  private void deleteChars(int count) {
+    int start = base(row) + col;
+    int end = base(row) + columns;
+    count = Math.min(count, end - start);
+    System.arraycopy(chars, start + count, chars, start, end - start - count);
+    System.arraycopy(styles, start + count, styles, start, end - start - count);
+    eraseCells(row, columns - count, columns);
+  }
+
+  private void insertChars(int count) {
+    int start = base(row) + col;
+    int end = base(row) + columns;
+    count = Math.min(count, end - start);
+    System.arraycopy(chars, start, chars, start + count, end - start - count);
+    System.arraycopy(styles, start, styles, start + count, end - start - count);
+    eraseCells(row, col, col + count);
+  }
+
+  private void insertLines(int count) {
+    scrollRegionDown(row, count);
+    col = 0;
+  }
+
+  private void deleteLines(int count) {
+    scrollRegionUp(row, count);
+    col = 0;
+  }
+
+
+  private int base(int r) {
+    return rowMap[r] * columns;
+  }
+
+  private static int[] identity(int length) {
+    int[] map = new int[length];
+    for (int i = 0; i < length; i++) {
+      map[i] = i;
+    }
+    return map;
+  }
+
+  private void saveCursor() {
+    savedRow = row;
+    savedCol = col;
+    savedStyle = style;
+  }
+
+  private void restoreCursor() {
+    row = Math.min(savedRow, rows - 1);
+    col = Math.min(savedCol, columns - 1);
+    style = savedStyle;
+    pendingWrap = false;
+  }
+
+  // Full-screen applications draw on a blank screen and get the normal one back when they exit
+  private void alternateScreen(boolean enter) {
+    if (enter == (mainChars != null)) {
+      return;
+    }
+
+    if (enter) {
+      saveCursor();
+      mainChars = chars.clone();
+      mainStyles = styles.clone();
+      mainRowMap = rowMap.clone();
+      eraseRows(0, rows);
+    } else {
+      chars = mainChars;
+      styles = mainStyles;
+      rowMap = mainRowMap;
+      mainChars = null;
+      mainStyles = null;
+      mainRowMap = null;
+      restoreCursor();
+    }
+  }
+
+  private void reset() {
+    mainChars = null;
+    mainStyles = null;
+    mainRowMap = null;
+    style = 0;
+    eraseRows(0, rows);
+    clearScrollback();
+    row = 0;
+    col = 0;
+    pendingWrap = false;
+    cursorVisible = true;
+  }
+}
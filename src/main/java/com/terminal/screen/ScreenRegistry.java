@@ -0,0 +1,81 @@
+package com.terminal.screen;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the screen of every session so that a reloaded page can resume where it left off.
+ *
+ * <p>A session attaches its {@link ScreenModel} under the user's id. When the view goes away
+ * the screen is detached but kept for the configured time, so a page reloaded by the same user
+ * finds it and replays its {@link ScreenModel#snapshot() snapshot}. Expired screens are
+ * dropped whenever a session attaches.</p>
+ */
+@Component
+public class ScreenRegistry {
+
+  private final long ttlNanos;
+  private final Map<String, Entry> screens = new ConcurrentHashMap<>();
+
+  /**
+   * Create a registry.
+   *
+   * @param ttlSeconds how long a detached screen can be resumed
+   */
+  public ScreenRegistry(@Value("${terminal.screen.resume-ttl-seconds:600}") long ttlSeconds) {
+    this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+  }
+
+  /**
+   * Find the screen of the user's last session.
+   *
+   * @param userId the user id
+   * @return the screen, or null if there is none to resume
+   */
+  public ScreenModel find(String userId) {
+    Entry entry = screens.get(userId);
+    return entry == null || entry.isExpired(System.nanoTime(), ttlNanos) ? null : entry.screen();
+  }
+
+  /**
+   * Register the screen of a new session, replacing the user's previous one.
+   *
+   * @param userId the user id
+   * @param screen the session's screen
+   */
+  public void attach(String userId, ScreenModel screen) {
+    long now = System.nanoTime();
+    screens.values().removeIf(entry -> entry.isExpired(now, ttlNanos));
+    screens.put(userId, new Entry(screen, Long.MIN_VALUE));
+  }
+
+  /**
+   * Mark a session's screen as detached, starting its expiry.
+   *
+   * @param userId the user id
+   * @param screen the session's screen
+   */
+  public void detach(String userId, ScreenModel screen) {
+    long now = System.nanoTime();
+    screens.computeIfPresent(userId,
+        (key, entry) -> entry.screen() == screen ? new Entry(screen, now) : entry);
+  }
+
+  /**
+   * Get the number of screens kept, attached or not.
+   *
+   * @return the number of screens
+   */
+  public int size() {
+    return screens.size();
+  }
+
+  private record Entry(ScreenModel screen, long detachedAt) {
+    boolean isExpired(long now, long ttl) {
+      return detachedAt != Long.MIN_VALUE && now - detachedAt > ttl;
+    }
+  }
+}
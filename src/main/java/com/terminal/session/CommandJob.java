@@ -0,0 +1,125 @@
+package com.terminal.session;
+
+import com.terminal.commands.AsyncCommand;
+import com.terminal.commands.CommandContext;
+import com.terminal.io.InputEvent;
+import com.terminal.io.OutputBuffer;
+import com.terminal.io.StreamOutput;
+import com.terminal.render.Style;
+import java.util.concurrent.Executor;
+
+/**
+ * An asynchronous command running on a virtual thread.
+ *
+ * <p>While the job runs it is the session's foreground application, so the shell does not
+ * receive input; Ctrl-C interrupts the command and hands the terminal back to the shell right
+ * away. Output is streamed through a {@link StreamOutput} and the completion callback is run
+ * on the UI thread after the last output.</p>
+ */
+public class CommandJob implements ForegroundApp {
+
+  private final AsyncCommand command;
+  private final String[] args;
+  private final CommandContext context;
+  private final OutputBuffer out;
+  private final Executor uiExecutor;
+  private final StreamOutput stream;
+  private final Runnable onDone;
+  private ForegroundStack.Handle foreground;
+  private Thread thread;
+  private boolean done = false;
+
+  /**
+   * Create a job.
+   *
+   * @param command the command to run
+   * @param args the command arguments
+   * @param context the session the command runs in
+   * @param onDone called on the UI thread once the job finished or was cancelled
+   */
+  public CommandJob(AsyncCommand command, String[] args, CommandContext context,
+      Runnable onDone) {
+    this.command = command;
+    this.args = args;
+    this.context = context;
+    this.out = context.getOutput();
+    this.uiExecutor = context.getUiExecutor();
+    this.stream = new StreamOutput(out, uiExecutor);
+    this.onDone = onDone;
+  }
+
+  /**
+   * Bring the job to the foreground and start it. Must be called on the UI thread.
+   *
+   * @param stack the session's foreground stack
+   */
+  public void start(ForegroundStack stack) {
+    foreground = stack.push(this);
+    thread = Thread.ofVirtual().name("terminal-cmd-" + command.getName()).start(this::run);
+  }
+
+  /**
+   * Interrupt the command and return to the shell. Must be called on the UI thread.
+   */
+  public void cancel() {
+    if (done) {
+      return;
+    }
+
+    stream.close();
+    thread.interrupt();
+    out.writeln("^C");
+    finish();
+  }
+
+  @Override
+  public void onInput(InputEvent event) {
+    if (event instanceof InputEvent.Control control && control.letter() == 'C') {
+      cancel();
+    }
+  }
+
+  @Override
+  public void onExit() {
+    // Also reached when the session goes away while the job is still running
+    stream.close();
+    thread.interrupt();
+  }
+
+  private void run() {
+    Throwable failure = null;
+    try {
+      command.executeAsync(context, stream, args);
+    } catch (InterruptedException e) {
+      // Cancelled, the UI thread already returned to the shell
+    } catch (Throwable e) {
+      // Errors too, such as a stack overflow in a regex, or the job would never finish
+      failure = e;
+    } finally {
+      complete(failure);
+    }
+  }
+
+  // Hands the end of the job to the UI thread, which reports the failure and returns to the shell
+  private void complete(Throwable error) {
+    uiExecutor.execute(() -> out.batch(() -> {
+      if (done) {
+        return;
+      }
+
+      if (error != null) {
+        String message = error.getMessage() != null
+            ? error.getMessage() : error.getClass().getSimpleName();
+        context.getText().line(Style.BOLD_RED, "Error executing command: " + message)
+            .writeTo(out);
+      }
+      finish();
+    }));
+  }
+
+  private void finish() {
+    done = true;
+    foreground.close();
+    onDone.run();
+  }
+}
@@ -0,0 +1,35 @@
+package com.terminal.session;
+
+import com.terminal.io.InputEvent;
+import com.webforj.component.terminal.event.TerminalKeyEvent;
+
+/**
+ * An application that owns the terminal input while it is in the foreground.
+ *
+ * <p>Only the application on top of a session's {@link ForegroundStack} receives key and data
+ * events; the shell sits at the bottom of the stack and is never removed.</p>
+ */
+public interface ForegroundApp {
+
+  /**
+   * Handle a key event.
+   *
+   * @param event the key event
+   */
+  default void onKey(TerminalKeyEvent event) {
+  }
+
+  /**
+   * Handle text, keys or a paste decoded from the terminal data.
+   *
+   * @param event the input event
+   */
+  default void onInput(InputEvent event) {
+  }
+
+  /**
+   * Called once after the application left the foreground and its resources were released.
+   */
+  default void onExit() {
+  }
+}
@@ -0,0 +1,204 @@
+package com.terminal.session;
+
+import com.terminal.io.InputEvent;
+import com.webforj.component.terminal.event.TerminalKeyEvent;
+import java.lang.ref.WeakReference;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Routes a session's input to exactly one {@link ForegroundApp}.
+ *
+ * <p>Full-screen commands {@link #push(ForegroundApp) push} themselves on the stack and receive
+ * every key and data event until they exit. Resources an application registers elsewhere, such
+ * as tick registrations, are handed to its {@link Handle} and released automatically when it
+ * exits, so nothing keeps a finished application reachable.</p>
+ *
+ * <p>The stack is changed on the session's UI thread and its counts are read by the metrics, so
+ * its state is guarded by the stack itself. Resources and applications are released outside
+ * the lock.</p>
+ */
+public class ForegroundStack {
+
+  private final ForegroundApp shell;
+  private final Deque<Handle> stack = new ArrayDeque<>();
+  private final List<WeakReference<ForegroundApp>> pushed = new ArrayList<>();
+
+  /**
+   * Create a stack with the given shell at the bottom.
+   *
+   * @param shell the application receiving input when nothing else is in the foreground
+   */
+  public ForegroundStack(ForegroundApp shell) {
+    this.shell = shell;
+  }
+
+  /**
+   * Bring an application to the foreground.
+   *
+   * @param app the application
+   * @return the handle used to release resources and exit
+   */
+  public synchronized Handle push(ForegroundApp app) {
+    Handle handle = new Handle(app);
+    stack.push(handle);
+    pruneCollected();
+    pushed.add(new WeakReference<>(app));
+    return handle;
+  }
+
+  /**
+   * Get the application currently receiving input.
+   *
+   * @return the foreground application, or the shell
+   */
+  public synchronized ForegroundApp current() {
+    Handle top = stack.peek();
+    return top == null ? shell : top.app;
+  }
+
+  /**
+   * Check whether the shell is receiving input.
+   *
+   * @return true if no application is in the foreground
+   */
+  public synchronized boolean isShellInForeground() {
+    return stack.isEmpty();
+  }
+
+  /**
+   * Route a key event to the foreground application.
+   *
+   * @param event the key event
+   */
+  public void dispatchKey(TerminalKeyEvent event) {
+    current().onKey(event);
+  }
+
+  /**
+   * Route decoded input to the foreground application.
+   *
+   * @param event the input event
+   */
+  public void dispatchInput(InputEvent event) {
+    current().onInput(event);
+  }
+
+  /**
+   * Exit every application on the stack, leaving only the shell.
+   */
+  public void closeAll() {
+    Handle top;
+    while ((top = top()) != null) {
+      top.close();
+    }
+  }
+
+  /**
+   * Get the number of applications on the stack, excluding the shell.
+   *
+   * @return the number of foreground applications
+   */
+  public synchronized int size() {
+    return stack.size();
+  }
+
+  /**
+   * Get the number of live input routes and registered resources held for applications.
+   *
+   * @return the number of live listeners
+   */
+  public synchronized int getLiveListenerCount() {
+    int count = 0;
+    for (Handle handle : stack) {
+      count += 1 + handle.resources.size();
+    }
+    return count;
+  }
+
+  /**
+   * Get the number of applications pushed in this session that are still reachable, including
+   * finished ones the garbage collector has not reclaimed yet.
+   *
+   * @return the number of retained applications
+   */
+  public synchronized int getRetainedAppCount() {
+    pruneCollected();
+    return pushed.size();
+  }
+
+  private synchronized Handle top() {
+    return stack.peek();
+  }
+
+  private void pruneCollected() {
+    pushed.removeIf(ref -> ref.get() == null);
+  }
+
+  /**
+   * The handle of an application on the stack.
+   */
+  public class Handle implements AutoCloseable {
+    private final ForegroundApp app;
+    private final List<AutoCloseable> resources = new ArrayList<>();
+    private boolean active = true;
+
+    private Handle(ForegroundApp app) {
+      this.app = app;
+    }
+
+    /**
+     * Register a resource to release when the application exits.
+     *
+     * @param resource the resource
+     * @return this handle
+     */
+    public Handle own(AutoCloseable resource) {
+      synchronized (ForegroundStack.this) {
+        resources.add(resource);
+      }
+      return this;
+    }
+
+    /**
+     * Check whether the application is still on the stack.
+     *
+     * @return true until the application exits
+     */
+    public boolean isActive() {
+      synchronized (ForegroundStack.this) {
+        return active;
+      }
+    }
+
+    /**
+     * Release the application's resources and remove it from the stack.
+     */
+    @Override
+    public void close() {
+      List<AutoCloseable> owned;
+      synchronized (ForegroundStack.this) {
+        if (!active) {
+          return;
+        }
+
+        active = false;
+        stack.remove(this);
+        owned = new ArrayList<>(resources);
+        resources.clear();
+      }
+
+      for (AutoCloseable resource : owned) {
+        try {
+          resource.close();
+        } catch (Exception e) {
+          // Keep releasing the remaining resources
+        }
+      }
+
+      app.onExit();
+    }
+  }
+}
@@ -0,0 +1,75 @@
+package com.terminal.session;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * The configured limits on how fast a session may send input and run commands.
+ *
+ * <p>Every session gets its own {@link TokenBucket buckets}, so a client holding down a key or a
+ * script flooding the terminal only slows down its own session. The defaults are far above what
+ * a person types: key repeat produces about 30 events per second, and the bursts let a paste or
+ * a quick series of commands through untouched. Input is also charged by its size against a
+ * byte budget, so a few large events cannot flood the session either.</p>
+ */
+@Component
+public class RateLimits {
+
+  private final double inputPerSecond;
+  private final int inputBurst;
+  private final double inputBytesPerSecond;
+  private final int inputByteBurst;
+  private final double commandsPerSecond;
+  private final int commandBurst;
+
+  /**
+   * Create the limits.
+   *
+   * @param inputPerSecond the input events a session may send per second, 0 for no limit
+   * @param inputBurst the input events a session may send at once
+   * @param inputBytesPerSecond the input characters a session may send per second, 0 for no limit
+   * @param inputByteBurst the input characters a session may send at once, the largest paste
+   * @param commandsPerSecond the commands a session may run per second, 0 for no limit
+   * @param commandBurst the commands a session may run at once
+   */
+  public RateLimits(@Value("${terminal.rate.input-per-second:200}") double inputPerSecond,
+      @Value("${terminal.rate.input-burst:400}") int inputBurst,
+      @Value("${terminal.rate.input-bytes-per-second:262144}") double inputBytesPerSecond,
+      @Value("${terminal.rate.input-byte-burst:1048576}") int inputByteBurst,
+      @Value("${terminal.rate.commands-per-second:10}") double commandsPerSecond,
+      @Value("${terminal.rate.command-burst:20}") int commandBurst) {
+    this.inputPerSecond = inputPerSecond;
+    this.inputBurst = inputBurst;
+    this.inputBytesPerSecond = inputBytesPerSecond;
+    this.inputByteBurst = inputByteBurst;
+    this.commandsPerSecond = commandsPerSecond;
+    this.commandBurst = commandBurst;
+  }
+
+  /**
+   * Create the input limiter of a new session.
+   *
+   * @return a full bucket
+   */
+  public TokenBucket newInputBucket() {
+    return new TokenBucket(inputPerSecond, inputBurst);
+  }
+
+  /**
+   * Create the byte budget of a new session's input.
+   *
+   * @return a full bucket
+   */
+  public TokenBucket newInputByteBucket() {
+    return new TokenBucket(inputBytesPerSecond, inputByteBurst);
+  }
+
+  /**
+   * Create the command limiter of a new session.
+   *
+   * @return a full bucket
+   */
+  public TokenBucket newCommandBucket() {
+    return new TokenBucket(commandsPerSecond, commandBurst);
+  }
+}
@@ -0,0 +1,98 @@
+package com.terminal.session;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket limiting how often a session may do something.
+ *
+ * <p>The bucket holds up to {@code burst} tokens and refills at a steady rate. Every permitted
+ * action takes one token, or as many as its size when it is charged by size, an action finding
+ * too few tokens is rejected. A short burst such as
+ * a few quick keystrokes is therefore always let through, while a sustained flood is cut down to
+ * the refill rate. A bucket with a rate of zero or less does not limit anything.</p>
+ *
+ * <p>A bucket belongs to one session and is used on its UI thread, the rejection count is safe to
+ * read from any thread.</p>
+ */
+public class TokenBucket {
+
+  private final double tokensPerNano;
+  private final double burst;
+  private final LongSupplier clock;
+  private double tokens;
+  private long refilledAt;
+  private volatile long rejected = 0;
+
+  /**
+   * Create a full bucket.
+   *
+   * @param ratePerSecond the number of tokens added per second, zero or less for no limit
+   * @param burst the maximum number of tokens
+   */
+  public TokenBucket(double ratePerSecond, int burst) {
+    this(ratePerSecond, burst, System::nanoTime);
+  }
+
+  TokenBucket(double ratePerSecond, int burst, LongSupplier clock) {
+    if (ratePerSecond > 0 && burst < 1) {
+      throw new IllegalArgumentException("The burst must allow at least one action");
+    }
+    this.tokensPerNano = ratePerSecond / TimeUnit.SECONDS.toNanos(1);
+    this.burst = burst;
+    this.clock = clock;
+    this.tokens = burst;
+    this.refilledAt = clock.getAsLong();
+  }
+
+  /**
+   * Take a token if one is available.
+   *
+   * @return true if the action is permitted, false if it must be rejected
+   */
+  public boolean tryAcquire() {
+    return tryAcquire(1);
+  }
+
+  /**
+   * Take tokens for an action charged by its size. An action larger than the burst is never
+   * permitted.
+   *
+   * @param count the number of tokens the action costs
+   * @return true if the action is permitted, false if it must be rejected
+   */
+  public boolean tryAcquire(int count) {
+    if (tokensPerNano <= 0) {
+      return true;
+    }
+
+    long now = clock.getAsLong();
+    tokens = Math.min(burst, tokens + (now - refilledAt) * tokensPerNano);
+    refilledAt = now;
+    if (tokens >= count) {
+      tokens -= count;
+      return true;
+    }
+
+    rejected++;
+    return false;
+  }
+
+  /**
+   * Check whether the bucket limits anything.
+   *
+   * @return false if every action is permitted
+   */
+  public boolean isLimited() {
+    return tokensPerNano > 0;
+  }
+
+  /**
+   * Get the number of rejected actions.
+   *
+   * @return the number of rejections
+   */
+  public long getRejectedCount() {
+    return rejected;
+  }
+}
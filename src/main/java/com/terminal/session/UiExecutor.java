@@ -0,0 +1,69 @@
+package com.terminal.session;
+
+import com.webforj.Environment;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Executor that runs tasks on the UI thread of the session that created it.
+ *
+ * <p>webforJ only lets threads that inherit a session's environment schedule work on its UI
+ * thread. The executor must therefore be created on the UI thread: it starts a virtual thread
+ * that inherits the environment and hands every submitted task to
+ * {@link Environment#runLater(Runnable)}. Tasks may be submitted from any thread.</p>
+ */
+public class UiExecutor implements Executor, AutoCloseable {
+
+  private final BlockingQueue<Runnable> tasks = new LinkedBlockingQueue<>();
+  private final Thread pump;
+  private volatile boolean closed = false;
+
+  /**
+   * Create the executor. Must be called on the UI thread.
+   *
+   * @param name the name of the pump thread
+   */
+  public UiExecutor(String name) {
+    this.pump = Thread.ofVirtual().name(name).start(this::pump);
+  }
+
+  @Override
+  public void execute(Runnable task) {
+    if (!closed) {
+      tasks.add(task);
+    }
+  }
+
+  /**
+   * Check whether the executor has been closed.
+   *
+   * @return true if closed
+   */
+  public boolean isClosed() {
+    return closed;
+  }
+
+  /**
+   * Stop accepting tasks and drop the ones not yet handed to the UI thread.
+   */
+  @Override
+  public void close() {
+    closed = true;
+    tasks.clear();
+    pump.interrupt();
+  }
+
+  private void pump() {
+    try {
+      while (!closed) {
+        Runnable task = tasks.take();
+        if (!closed) {
+          Environment.runLater(task);
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
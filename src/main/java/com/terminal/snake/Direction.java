@@ -0,0 +1,48 @@
+package com.terminal.snake;
+
+/**
+ * A direction the snake can move in.
+ */
+public enum Direction {
+  UP(0, -1), DOWN(0, 1), LEFT(-1, 0), RIGHT(1, 0);
+
+  private final int dx;
+  private final int dy;
+
+  Direction(int dx, int dy) {
+    this.dx = dx;
+    this.dy = dy;
+  }
+
+  /**
+   * Get the column offset of one step.
+   *
+   * @return -1, 0 or 1
+   */
+  public int dx() {
+    return dx;
+  }
+
+  /**
+   * Get the row offset of one step.
+   *
+   * @return -1, 0 or 1
+   */
+  public int dy() {
+    return dy;
+  }
+
+  /**
+   * Get the direction pointing the other way.
+   *
+   * @return the opposite direction
+   */
+  public Direction opposite() {
+    return switch (this) {
+      case UP -> DOWN;
+      case DOWN -> UP;
+      case LEFT -> RIGHT;
+      case RIGHT -> LEFT;
+    };
+  }
+}
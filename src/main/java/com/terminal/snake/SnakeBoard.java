@@ -0,0 +1,251 @@
+package com.terminal.snake;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Primitive occupancy model of a snake board.
+ *
+ * <p>Cells are addressed by their packed index {@code y * width + x}. The snake body is kept in
+ * a ring buffer of cell indexes ordered from head to tail, occupancy in a bitset, and the free
+ * cells in a dense array with an inverse index so that a random free cell can be picked in
+ * constant time however full the board is. No method allocates.</p>
+ */
+public class SnakeBoard {
+
+  private final int width;
+  private final int height;
+
+  private final long[] occupied;
+  private final int[] body;
+  private int headIndex = 0;
+  private int length = 0;
+
+  private final int[] freeCells;
+  private final int[] freePosition;
+  private int freeCount;
+
+  /**
+   * Create an empty board.
+   *
+   * @param width the number of columns
+   * @param height the number of rows
+   */
+  public SnakeBoard(int width, int height) {
+    this.width = width;
+    this.height = height;
+
+    int size = width * height;
+    this.occupied = new long[(size + 63) >>> 6];
+    this.body = new int[size];
+    this.freeCells = new int[size];
+    this.freePosition = new int[size];
+    clear();
+  }
+
+  /**
+   * Remove the snake and mark every cell as free.
+   */
+  public void clear() {
+    Arrays.fill(occupied, 0L);
+    headIndex = 0;
+    length = 0;
+    freeCount = freeCells.length;
+    for (int cell = 0; cell < freeCells.length; cell++) {
+      freeCells[cell] = cell;
+      freePosition[cell] = cell;
+    }
+  }
+
+  /**
+   * Get the number of columns.
+   *
+   * @return the width
+   */
+  public int getWidth() {
+    return width;
+  }
+
+  /**
+   * Get the number of rows.
+   *
+   * @return the height
+   */
+  public int getHeight() {
+    return height;
+  }
+
+  /**
+   * Pack a position into a cell index.
+   *
+   * @param x the column
+   * @param y the row
+   * @return the cell index
+   */
+  public int cell(int x, int y) {
+    return y * width + x;
+  }
+
+  /**
+   * Get the column of a cell.
+   *
+   * @param cell the cell index
+   * @return the column
+   */
+  public int x(int cell) {
+    return cell % width;
+  }
+
+  /**
+   * Get the row of a cell.
+   *
+   * @param cell the cell index
+   * @return the row
+   */
+  public int y(int cell) {
+    return cell / width;
+  }
+
+  /**
+   * Check whether a position lies on the board.
+   *
+   * @param x the column
+   * @param y the row
+   * @return true if the position is inside the board
+   */
+  public boolean contains(int x, int y) {
+    return x >= 0 && x < width && y >= 0 && y < height;
+  }
+
+  /**
+   * Check whether a cell is occupied by the snake.
+   *
+   * @param cell the cell index
+   * @return true if the snake covers the cell
+   */
+  public boolean isOccupied(int cell) {
+    return (occupied[cell >>> 6] & (1L << cell)) != 0;
+  }
+
+  /**
+   * Get the length of the snake.
+   *
+   * @return the number of cells covered by the snake
+   */
+  public int length() {
+    return length;
+  }
+
+  /**
+   * Get the head of the snake.
+   *
+   * @return the head cell index
+   */
+  public int head() {
+    return body[headIndex];
+  }
+
+  /**
+   * Get the tail of the snake.
+   *
+   * @return the tail cell index
+   */
+  public int tail() {
+    return segment(length - 1);
+  }
+
+  /**
+   * Get a segment of the snake counted from the head.
+   *
+   * @param i the segment number, 0 being the head
+   * @return the segment's cell index
+   */
+  public int segment(int i) {
+    int index = headIndex + i;
+    return body[index >= body.length ? index - body.length : index];
+  }
+
+  /**
+   * Grow the snake at the head. The cell must be free.
+   *
+   * @param cell the new head cell index
+   */
+  public void addHead(int cell) {
+    headIndex = headIndex == 0 ? body.length - 1 : headIndex - 1;
+    body[headIndex] = cell;
+    length++;
+    occupy(cell);
+  }
+
+  /**
+   * Grow the snake at the tail. The cell must be free.
+   *
+   * @param cell the new tail cell index
+   */
+  public void addTail(int cell) {
+    int index = headIndex + length;
+    body[index >= body.length ? index - body.length : index] = cell;
+    length++;
+    occupy(cell);
+  }
+
+  /**
+   * Shrink the snake by its tail.
+   *
+   * @return the cell index that was freed
+   */
+  public int removeTail() {
+    int cell = tail();
+    length--;
+    release(cell);
+    return cell;
+  }
+
+  /**
+   * Get the number of cells not covered by the snake.
+   *
+   * @return the number of free cells
+   */
+  public int freeCount() {
+    return freeCount;
+  }
+
+  /**
+   * Pick a uniformly random free cell.
+   *
+   * @param random the random generator to use
+   * @return a free cell index, or -1 if the board is full
+   */
+  public int randomFreeCell(RandomGenerator random) {
+    if (freeCount == 0) {
+      return -1;
+    }
+
+    return freeCells[random.nextInt(freeCount)];
+  }
+
+  private void occupy(int cell) {
+    occupied[cell >>> 6] |= 1L << cell;
+
+    // Swap the cell with the last free cell and shrink the free set
+    int position = freePosition[cell];
+    int last = freeCells[--freeCount];
+    freeCells[position] = last;
+    freePosition[last] = position;
+    freeCells[freeCount] = cell;
+    freePosition[cell] = freeCount;
+  }
+
+  private void release(int cell) {
+    occupied[cell >>> 6] &= ~(1L << cell);
+
+    // Swap the cell with the first occupied cell and grow the free set
+    int position = freePosition[cell];
+    int first = freeCells[freeCount];
+    freeCells[position] = first;
+    freePosition[first] = position;
+    freeCells[freeCount] = cell;
+    freePosition[cell] = freeCount;
+    freeCount++;
+  }
+}
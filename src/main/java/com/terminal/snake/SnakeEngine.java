@@ -0,0 +1,244 @@
+package com.terminal.snake;
+
+import com.terminal.snake.SnakeRenderer.Piece;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * The rules of Snake, without any I/O.
+ *
+ * <p>The engine is driven by turns and ticks only and reports the cells each step changes to a
+ * {@link SnakeRenderer}. Food is placed with the engine's own random generator, so a game is
+ * reproduced exactly by the same seed and the same turns at the same ticks. Nothing allocates
+ * per tick, so headless games run as fast as the board updates.</p>
+ */
+public class SnakeEngine {
+
+  /** The number of segments a new snake has. */
+  public static final int START_LENGTH = 3;
+
+  /** The points scored per food eaten. */
+  public static final int FOOD_POINTS = 10;
+
+  /**
+   * The result of a tick.
+   */
+  public enum Outcome {
+    /** The snake moved. */
+    MOVED,
+    /** The snake moved and ate the food. */
+    ATE,
+    /** The game is over: the snake hit the wall. */
+    HIT_WALL,
+    /** The game is over: the snake ran into itself. */
+    HIT_SELF,
+    /** The game is over: the snake covers the whole board. */
+    FILLED;
+
+    /**
+     * Check whether the game ended with this tick.
+     *
+     * @return true if the game is over
+     */
+    public boolean isOver() {
+      return this != MOVED && this != ATE;
+    }
+  }
+
+  private final SnakeBoard board;
+  private final RandomGenerator random;
+  private final SnakeRenderer renderer;
+  private int food = -1;
+  private Direction direction = Direction.RIGHT;
+  private Direction nextDirection = Direction.RIGHT;
+  private int score = 0;
+  private long ticks = 0;
+  private Outcome outcome = Outcome.MOVED;
+
+  /**
+   * Create a seeded engine.
+   *
+   * @param width the number of columns
+   * @param height the number of rows
+   * @param seed the seed of the food placement
+   * @param renderer receives the changed cells
+   */
+  public SnakeEngine(int width, int height, long seed, SnakeRenderer renderer) {
+    this(width, height, new SplittableRandom(seed), renderer);
+  }
+
+  /**
+   * Create an engine.
+   *
+   * @param width the number of columns
+   * @param height the number of rows
+   * @param random places the food
+   * @param renderer receives the changed cells
+   */
+  public SnakeEngine(int width, int height, RandomGenerator random, SnakeRenderer renderer) {
+    if (width < START_LENGTH + 1 || height < 1) {
+      throw new IllegalArgumentException("The board is too small: " + width + "x" + height);
+    }
+    this.board = new SnakeBoard(width, height);
+    this.random = random;
+    this.renderer = renderer;
+  }
+
+  /**
+   * Start a game: the snake in the middle of the board heading right, and the first food. Every
+   * occupied cell is reported to the renderer, the others are expected to be empty.
+   */
+  public void start() {
+    board.clear();
+    int x = board.getWidth() / 2;
+    int y = board.getHeight() / 2;
+    for (int i = 0; i < START_LENGTH; i++) {
+      board.addTail(board.cell(x - i, y));
+    }
+
+    direction = Direction.RIGHT;
+    nextDirection = Direction.RIGHT;
+    score = 0;
+    ticks = 0;
+    outcome = Outcome.MOVED;
+
+    for (int i = 1; i < board.length(); i++) {
+      renderer.cellChanged(board.segment(i), Piece.BODY);
+    }
+    renderer.cellChanged(board.head(), Piece.HEAD);
+    spawnFood();
+  }
+
+  /**
+   * Turn the snake on the next tick. Reversing onto the snake's own body is ignored.
+   *
+   * @param turn the direction to move in
+   */
+  public void turn(Direction turn) {
+    if (turn != direction.opposite()) {
+      nextDirection = turn;
+    }
+  }
+
+  /**
+   * Move the snake one cell. Must not be called once the game is over.
+   *
+   * @return what happened
+   */
+  public Outcome tick() {
+    if (outcome.isOver()) {
+      throw new IllegalStateException("The game is over");
+    }
+
+    ticks++;
+    direction = nextDirection;
+    int head = board.head();
+    int x = board.x(head) + direction.dx();
+    int y = board.y(head) + direction.dy();
+
+    if (!board.contains(x, y)) {
+      return outcome = Outcome.HIT_WALL;
+    }
+
+    // The tail still occupies its cell while the head moves, so it cannot be chased
+    int next = board.cell(x, y);
+    if (board.isOccupied(next)) {
+      return outcome = Outcome.HIT_SELF;
+    }
+
+    board.addHead(next);
+    renderer.cellChanged(head, Piece.BODY);
+    renderer.cellChanged(next, Piece.HEAD);
+
+    if (next != food) {
+      renderer.cellChanged(board.removeTail(), Piece.EMPTY);
+      return outcome = Outcome.MOVED;
+    }
+
+    // The snake grows by keeping its tail
+    score += FOOD_POINTS;
+    return outcome = spawnFood() ? Outcome.ATE : Outcome.FILLED;
+  }
+
+  /**
+   * Get the result of the last tick.
+   *
+   * @return the outcome, {@link Outcome#MOVED} before the first tick
+   */
+  public Outcome getOutcome() {
+    return outcome;
+  }
+
+  /**
+   * Check whether the game is over.
+   *
+   * @return true once a tick ended the game
+   */
+  public boolean isOver() {
+    return outcome.isOver();
+  }
+
+  /**
+   * Get the score.
+   *
+   * @return the points scored
+   */
+  public int getScore() {
+    return score;
+  }
+
+  /**
+   * Get the snake's length.
+   *
+   * @return the number of segments
+   */
+  public int getLength() {
+    return board.length();
+  }
+
+  /**
+   * Get the number of ticks since the game started.
+   *
+   * @return the number of ticks
+   */
+  public long getTicks() {
+    return ticks;
+  }
+
+  /**
+   * Get the direction the snake moved in on the last tick.
+   *
+   * @return the direction
+   */
+  public Direction getDirection() {
+    return direction;
+  }
+
+  /**
+   * Get the food's cell.
+   *
+   * @return the cell index, or -1 if the board is full
+   */
+  public int getFood() {
+    return food;
+  }
+
+  /**
+   * Get the board. Only to be read, changing it breaks the game.
+   *
+   * @return the board
+   */
+  public SnakeBoard getBoard() {
+    return board;
+  }
+
+  // Picks among the free cells directly, no retries however full the board is
+  private boolean spawnFood() {
+    food = board.randomFreeCell(random);
+    if (food < 0) {
+      return false;
+    }
+    renderer.cellChanged(food, Piece.FOOD);
+    return true;
+  }
+}
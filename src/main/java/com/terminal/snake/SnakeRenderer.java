@@ -0,0 +1,26 @@
+package com.terminal.snake;
+
+/**
+ * Receives the cells a {@link SnakeEngine} changes, to draw them.
+ */
+@FunctionalInterface
+public interface SnakeRenderer {
+
+  /** A renderer drawing nothing, for headless games. */
+  SnakeRenderer NONE = (cell, piece) -> { };
+
+  /**
+   * What a cell shows.
+   */
+  enum Piece {
+    EMPTY, HEAD, BODY, FOOD
+  }
+
+  /**
+   * Called when a cell changed.
+   *
+   * @param cell the cell index, {@code y * width + x}
+   * @param piece what the cell shows now
+   */
+  void cellChanged(int cell, Piece piece);
+}
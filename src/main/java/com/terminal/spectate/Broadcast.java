@@ -0,0 +1,105 @@
+package com.terminal.spectate;
+
+import com.terminal.io.OutputListener;
+import com.terminal.screen.ScreenModel;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fans one session's output out to any number of {@link Spectator spectators}.
+ *
+ * <p>The broadcast sits between the session's output buffer and its {@link ScreenModel}. Each
+ * chunk the session writes is applied to the screen and handed as the same string to every
+ * spectator's queue, so watching costs a queue insert per spectator and nothing is rendered
+ * or encoded twice. A spectator that joins late, or falls too far behind, is resynchronized with
+ * a snapshot of the screen instead of the frames it missed. Both happen under one lock, so a
+ * snapshot never misses or repeats a frame.</p>
+ */
+public class Broadcast implements OutputListener {
+
+  private final ScreenModel screen;
+  private final List<Spectator> spectators = new ArrayList<>();
+  private volatile String token;
+
+  /**
+   * Create a broadcast in front of a session's screen.
+   *
+   * @param screen the screen the session's output is mirrored into
+   */
+  public Broadcast(ScreenModel screen) {
+    this.screen = screen;
+  }
+
+  @Override
+  public synchronized void onWrite(String data) {
+    screen.onWrite(data);
+    for (Spectator spectator : spectators) {
+      spectator.offer(data);
+    }
+  }
+
+  @Override
+  public synchronized void onClear() {
+    screen.onClear();
+    for (Spectator spectator : spectators) {
+      spectator.requestSnapshot();
+    }
+  }
+
+  /**
+   * Start delivering the session to a spectator, beginning with a snapshot.
+   *
+   * @param spectator the spectator
+   */
+  public synchronized void join(Spectator spectator) {
+    spectators.add(spectator);
+    spectator.requestSnapshot();
+  }
+
+  /**
+   * Stop delivering the session to a spectator.
+   *
+   * @param spectator the spectator
+   */
+  public synchronized void leave(Spectator spectator) {
+    spectators.remove(spectator);
+  }
+
+  /**
+   * Disconnect every spectator.
+   */
+  public synchronized void end() {
+    for (Spectator spectator : spectators) {
+      spectator.end();
+    }
+    spectators.clear();
+  }
+
+  /**
+   * Get the number of spectators.
+   *
+   * @return the number of spectators
+   */
+  public synchronized int getSpectatorCount() {
+    return spectators.size();
+  }
+
+  /**
+   * Get the token the broadcast is shared under.
+   *
+   * @return the token, or null while the session is not shared
+   */
+  public String getToken() {
+    return token;
+  }
+
+  void setToken(String token) {
+    this.token = token;
+  }
+
+  // Frames offered after this point follow the snapshot
+  synchronized String snapshot(Spectator spectator) {
+    spectator.discardFrames();
+    return screen.snapshot();
+  }
+}
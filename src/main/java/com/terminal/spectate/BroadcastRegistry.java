@@ -0,0 +1,72 @@
+package com.terminal.spectate;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.stereotype.Component;
+
+/**
+ * The sessions currently shared with spectators.
+ *
+ * <p>A shared session is found by a random token rather than by its user id, so the link handed
+ * to spectators does not let them resume the session or read its history.</p>
+ */
+@Component
+public class BroadcastRegistry {
+
+  private final SecureRandom random = new SecureRandom();
+  private final Map<String, Broadcast> broadcasts = new ConcurrentHashMap<>();
+
+  /**
+   * Share a session.
+   *
+   * @param broadcast the session's broadcast
+   * @return the token spectators watch it under, the same one if it is already shared
+   */
+  public synchronized String share(Broadcast broadcast) {
+    if (broadcast.getToken() != null) {
+      return broadcast.getToken();
+    }
+
+    byte[] bytes = new byte[12];
+    random.nextBytes(bytes);
+    String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    broadcast.setToken(token);
+    broadcasts.put(token, broadcast);
+    return token;
+  }
+
+  /**
+   * Stop sharing a session and disconnect its spectators.
+   *
+   * @param broadcast the session's broadcast
+   */
+  public synchronized void unshare(Broadcast broadcast) {
+    String token = broadcast.getToken();
+    if (token != null) {
+      broadcasts.remove(token);
+      broadcast.setToken(null);
+    }
+    broadcast.end();
+  }
+
+  /**
+   * Find a shared session.
+   *
+   * @param token the token
+   * @return the broadcast, or null if no session is shared under the token
+   */
+  public Broadcast find(String token) {
+    return broadcasts.get(token);
+  }
+
+  /**
+   * Get the number of shared sessions.
+   *
+   * @return the number of shared sessions
+   */
+  public int size() {
+    return broadcasts.size();
+  }
+}
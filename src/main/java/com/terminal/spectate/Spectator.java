@@ -0,0 +1,151 @@
+package com.terminal.spectate;
+
+import com.terminal.io.FlowControl;
+import com.terminal.io.OutputBuffer;
+import com.terminal.render.Style;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * One viewer of a {@link Broadcast}.
+ *
+ * <p>Frames are queued by the broadcasting session and written by the viewer's own UI thread,
+ * one drain task at a time, so a slow viewer never holds up the session or other viewers. The
+ * queue is bounded: when it overflows, the queued frames are dropped and replaced by a single
+ * snapshot of the screen, which shows the same result as all the frames it merges.</p>
+ *
+ * <p>A viewer whose connection falls behind is handled the same way: while the
+ * {@link FlowControl} of its output buffer reports congestion, no frames are written, and once
+ * it caught up the frames it missed are replaced by one snapshot.</p>
+ */
+public class Spectator {
+
+  /** The default number of frames a spectator can fall behind before it is resynchronized. */
+  public static final int DEFAULT_CAPACITY = 256;
+
+  // Resets the viewer's terminal before a snapshot is drawn
+  private static final String RESET = "\u001Bc";
+  private static final String ENDED = Style.RESET.sequence() + "\r\n"
+      + Style.BOLD_YELLOW.line("The session is no longer shared");
+
+  private final Broadcast broadcast;
+  private final OutputBuffer out;
+  private final Executor uiExecutor;
+  private final BlockingQueue<String> frames;
+  private final AtomicBoolean drainScheduled = new AtomicBoolean();
+  private volatile boolean snapshotRequested = false;
+  private volatile boolean ended = false;
+  private boolean endShown = false;
+  private long snapshots = 0;
+
+  /**
+   * Create a spectator with the default capacity.
+   *
+   * @param broadcast the broadcast to watch
+   * @param out the viewer's output buffer
+   * @param uiExecutor the executor running tasks on the viewer's UI thread
+   */
+  public Spectator(Broadcast broadcast, OutputBuffer out, Executor uiExecutor) {
+    this(broadcast, out, uiExecutor, DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Create a spectator.
+   *
+   * @param broadcast the broadcast to watch
+   * @param out the viewer's output buffer
+   * @param uiExecutor the executor running tasks on the viewer's UI thread
+   * @param capacity the number of frames the spectator can fall behind
+   */
+  public Spectator(Broadcast broadcast, OutputBuffer out, Executor uiExecutor, int capacity) {
+    this.broadcast = broadcast;
+    this.out = out;
+    this.uiExecutor = uiExecutor;
+    this.frames = new ArrayBlockingQueue<>(capacity);
+
+    FlowControl flow = out.getFlowControl();
+    if (flow != null) {
+      flow.setCatchUpListener(this::scheduleDrain);
+    }
+  }
+
+  /**
+   * Check whether the broadcast ended.
+   *
+   * @return true once the session stopped sharing
+   */
+  public boolean isEnded() {
+    return ended;
+  }
+
+  /**
+   * Get the number of snapshots written, including the initial one. Only usable on the viewer's
+   * UI thread.
+   *
+   * @return the number of snapshots
+   */
+  public long getSnapshotCount() {
+    return snapshots;
+  }
+
+  void offer(String frame) {
+    if (!frames.offer(frame)) {
+      requestSnapshot();
+      return;
+    }
+    scheduleDrain();
+  }
+
+  void requestSnapshot() {
+    snapshotRequested = true;
+    frames.clear();
+    scheduleDrain();
+  }
+
+  void discardFrames() {
+    snapshotRequested = false;
+    frames.clear();
+  }
+
+  void end() {
+    ended = true;
+    scheduleDrain();
+  }
+
+  private void scheduleDrain() {
+    if (drainScheduled.compareAndSet(false, true)) {
+      uiExecutor.execute(this::drain);
+    }
+  }
+
+  private void drain() {
+    // Frames offered from here on schedule another drain
+    drainScheduled.set(false);
+    FlowControl flow = out.getFlowControl();
+    if (flow != null && flow.isCongested() && !ended) {
+      // The viewer's connection is behind, what it misses is drawn as a snapshot once it caught up
+      snapshotRequested = true;
+      frames.clear();
+      return;
+    }
+
+    out.batch(() -> {
+      if (snapshotRequested) {
+        out.write(RESET).write(broadcast.snapshot(this));
+        snapshots++;
+      }
+
+      String frame;
+      while ((frame = frames.poll()) != null) {
+        out.write(frame);
+      }
+
+      if (ended && !endShown) {
+        out.write(ENDED);
+        endShown = true;
+      }
+    });
+  }
+}
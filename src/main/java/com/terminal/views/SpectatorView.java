@@ -0,0 +1,72 @@
+package com.terminal.views;
+
+import com.terminal.io.FlowControl;
+import com.terminal.io.OutputBuffer;
+import com.terminal.render.Style;
+import com.terminal.session.UiExecutor;
+import com.terminal.spectate.Broadcast;
+import com.terminal.spectate.BroadcastRegistry;
+import com.terminal.spectate.Spectator;
+import com.webforj.component.ComponentLifecycleObserver;
+import com.webforj.component.Composite;
+import com.webforj.component.terminal.Terminal;
+import com.webforj.router.annotation.Route;
+import com.webforj.router.event.DidEnterEvent;
+import com.webforj.router.history.ParametersBag;
+import com.webforj.router.observer.DidEnterObserver;
+import org.springframework.beans.factory.annotation.Value;
+
+/**
+ * Read-only view of a session shared with the {@code share} command.
+ *
+ * <p>The view takes no input. It receives the shared session's output through a
+ * {@link Spectator}, starting with a snapshot of its screen.</p>
+ */
+@Route("/watch/:token")
+public class SpectatorView extends Composite<Terminal> implements DidEnterObserver {
+
+  private static final String NOT_SHARED =
+      Style.BOLD_RED.line("This session is not shared (anymore)");
+
+  private Terminal self = getBoundComponent();
+  private final OutputBuffer out = OutputBuffer.of(self);
+  private final UiExecutor uiExecutor = new UiExecutor("terminal-spectator-ui");
+  private final BroadcastRegistry broadcasts;
+  private Broadcast broadcast;
+  private Spectator spectator;
+
+  public SpectatorView(BroadcastRegistry broadcasts,
+      @Value("${terminal.flow.high-watermark-bytes:262144}") long highWatermark,
+      @Value("${terminal.flow.low-watermark-bytes:65536}") long lowWatermark) {
+    this.broadcasts = broadcasts;
+
+    // A viewer on a slow connection gets a snapshot once it caught up instead of every frame
+    out.setFlowControl(new FlowControl(highWatermark, lowWatermark));
+
+    // Stop receiving frames when the view goes away
+    self.addLifecycleObserver((component, event) -> {
+      if (event == ComponentLifecycleObserver.LifecycleEvent.DESTROY) {
+        if (spectator != null) {
+          broadcast.leave(spectator);
+        }
+        uiExecutor.close();
+      }
+    });
+
+    self.setAutoFit(true)
+        .setSize("100%", "100vh");
+  }
+
+  @Override
+  public void onDidEnter(DidEnterEvent event, ParametersBag parameters) {
+    String token = parameters.get("token").orElse("");
+    broadcast = broadcasts.find(token);
+    if (broadcast == null) {
+      out.write(NOT_SHARED);
+      return;
+    }
+
+    spectator = new Spectator(broadcast, out, uiExecutor);
+    broadcast.join(spectator);
+  }
+}
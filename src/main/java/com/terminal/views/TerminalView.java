@@ -1,91 +1,227 @@
 package com.terminal.views;
 
 import com.terminal.commands.*;
+import com.terminal.history.CommandHistory;
+import com.terminal.history.HistoryStore;
+import com.terminal.io.FlowControl;
+import com.terminal.io.InputDecoder;
+import com.terminal.io.InputEvent;
+import com.terminal.io.InputEvent.Control;
+import com.terminal.io.InputEvent.Key;
+import com.terminal.io.InputEvent.Paste;
+import com.terminal.io.InputEvent.Text;
+import com.terminal.io.LineEditor;
+import com.terminal.io.OutputBuffer;
+import com.terminal.metrics.TerminalMetrics;
+import com.terminal.pipeline.Pipeline;
+import com.terminal.render.StaticScreens;
+import com.terminal.render.Style;
+import com.terminal.render.TextBuilder;
+import com.terminal.recording.Recording;
+import com.terminal.recording.RecordingStore;
+import com.terminal.scheduler.TickScheduler;
+import com.terminal.screen.ScreenModel;
+import com.terminal.screen.ScreenRegistry;
+import com.terminal.scheduler.TickSession;
+import com.terminal.session.CommandJob;
+import com.terminal.session.ForegroundApp;
+import com.terminal.session.ForegroundStack;
+import com.terminal.session.RateLimits;
+import com.terminal.session.TokenBucket;
+import com.terminal.session.UiExecutor;
+import com.terminal.spectate.Broadcast;
+import com.terminal.spectate.BroadcastRegistry;
+import com.webforj.Page;
+import com.webforj.PageEvent;
+import com.webforj.PageEventOptions;
+import com.webforj.component.ComponentLifecycleObserver;
 import com.webforj.component.Composite;
 import com.webforj.component.terminal.Terminal;
 import com.webforj.component.terminal.event.TerminalDataEvent;
 import com.webforj.component.terminal.event.TerminalKeyEvent;
+import com.webforj.component.terminal.event.TerminalResizeEvent;
+import com.webforj.dispatcher.ListenerRegistration;
 import com.webforj.router.annotation.Route;
+import com.webforj.webstorage.LocalStorage;
+import org.springframework.beans.factory.annotation.Value;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @Route("/terminal")
 public class TerminalView extends Composite<Terminal> {
 
+  private static final String USER_ID_KEY = "terminal-user";
+  private static final int SCROLLBACK_LINES = 500;
+
   private Terminal self = getBoundComponent();
-  private StringBuilder commandBuffer = new StringBuilder();
-  private List<String> commandHistory = new ArrayList<>();
+  private final OutputBuffer out = OutputBuffer.of(self);
+  private final LineEditor editor = new LineEditor(out, "$ ", self::getCols);
+  private final CommandHistory commandHistory;
   private int historyIndex = -1;
-  private final Map<String, TerminalCommand> commands = new HashMap<>();
-  private boolean historyNavigationEnabled = true;
+  private final CommandRegistry registry;
+  private final ForegroundStack foreground = new ForegroundStack(new ForegroundApp() {
+    @Override
+    public void onInput(InputEvent event) {
+      handleInput(event);
+    }
+  });
+  private final InputDecoder decoder = new InputDecoder(foreground::dispatchInput);
+  private final UiExecutor uiExecutor = new UiExecutor("terminal-ui");
+  private final TickSession tickSession;
+  private final CommandContext context;
+  private final ScreenModel screen;
+  private final Recording recording;
+  private final TerminalMetrics metrics;
+  private final TokenBucket inputLimit;
+  private final TokenBucket inputBytes;
+  private final TokenBucket commandLimit;
+  private TerminalKeyEvent heldKey;
+
+  public TerminalView(TickScheduler tickScheduler, HistoryStore historyStore,
+      CommandRegistry registry, ScreenRegistry screens, RecordingStore recordings,
+      BroadcastRegistry broadcasts, TerminalMetrics metrics, StaticScreens staticScreens,
+      RateLimits rateLimits,
+      @Value("${terminal.flow.high-watermark-bytes:262144}") long highWatermark,
+      @Value("${terminal.flow.low-watermark-bytes:65536}") long lowWatermark) {
+    String userId = resolveUserId();
+
+    // Track what the client has not acknowledged, commands slow down when it falls behind
+    out.setFlowControl(new FlowControl(highWatermark, lowWatermark));
+    this.metrics = metrics;
+    metrics.sessionOpened(out, foreground);
+
+    // A client flooding input or commands only slows down its own session
+    inputLimit = rateLimits.newInputBucket();
+    inputBytes = rateLimits.newInputByteBucket();
+    commandLimit = rateLimits.newCommandBucket();
+
+    // Load the user's persisted history, new commands are saved in the background
+    commandHistory = historyStore.open(userId);
+    historyIndex = commandHistory.size();
+
+    // Mirror the output into a screen model a reloaded page can resume from
+    ScreenModel previous = screens.find(userId);
+    screen = new ScreenModel(orDefault(self.getCols(), 80), orDefault(self.getRows(), 24),
+        SCROLLBACK_LINES);
+    screens.attach(userId, screen);
+
+    // The screen is fed through the broadcast, which also serves spectators once shared
+    Broadcast broadcast = new Broadcast(screen);
+    out.addListener(broadcast);
+
+    // Record the session when enabled, the recording only queues events for its writer
+    recording = recordings.start(userId, screen.getColumns(), screen.getRows());
+    if (recording != null) {
+      out.addListener(recording);
+    }
+
+    // Join the shared game clock, paused while the tab is hidden. The page outlives the view,
+    // so its listener is removed with the view
+    tickSession = tickScheduler.openSession(uiExecutor);
+    ListenerRegistration<PageEvent> visibility = Page.getCurrent().addEventListener(
+        "visibilitychange",
+        e -> tickSession.setVisible(!Boolean.TRUE.equals(e.getData().get("hidden"))),
+        new PageEventOptions().addData("hidden", "document.hidden"));
+
+    // Commands are shared by all sessions and reach this session through the context
+    this.registry = registry;
+    context = new CommandContext(self, userId, out, editor, uiExecutor, foreground, tickSession,
+        commandHistory, registry, broadcast);
 
-  public TerminalView() {
-    // Store reference to this view in the terminal component
-    self.setUserData("terminalView", this);
+    // Release session resources when the view goes away
+    self.addLifecycleObserver((component, event) -> {
+      if (event == ComponentLifecycleObserver.LifecycleEvent.DESTROY) {
+        visibility.remove();
+        foreground.closeAll();
+        tickSession.close();
+        uiExecutor.close();
+        screens.detach(userId, screen);
+        broadcasts.unshare(broadcast);
+        if (recording != null) {
+          recording.close();
+        }
+        metrics.sessionClosed(out);
+      }
+    });
 
     // Configure terminal
     self.setAutoFit(true)
         .setSize("100%", "100vh")
         .addDataListener(this::onData);
 
-    // Display welcome message
-    self.writeln("\u001B[1;32m╔═══════════════════════════════════════════════════════╗\u001B[0m");
-    self.writeln("\u001B[1;32m║                                                       ║\u001B[0m");
-    self.writeln("\u001B[1;32m║        Welcome to the webforJ Terminal Demo!         ║\u001B[0m");
-    self.writeln("\u001B[1;32m║                                                       ║\u001B[0m");
-    self.writeln("\u001B[1;32m╚═══════════════════════════════════════════════════════╝\u001B[0m");
-    self.writeln("");
-    self.writeln("Type \u001B[1;33mhelp\u001B[0m to see available commands.");
-    self.writeln("Type \u001B[1;33msnake\u001B[0m to play the Snake game!");
-    self.writeln("Use \u001B[1;33m↑↓\u001B[0m arrow keys to navigate history.");
-    self.writeln("");
-    self.write("$ ");
-
-    // Register commands
-    registerCommands();
-
-    // Setup key handler for history navigation
-    self.onKey(this::handleKey);
+    // Display welcome message, pastes are delivered between markers from now on
+    out.beginEvent();
+    out.write(InputDecoder.ENABLE_BRACKETED_PASTE);
+    if (previous != null) {
+      resume(previous);
+    } else {
+      // The banner is the same for every session, it is rendered once
+      out.write(staticScreens.get("welcome", TerminalView::welcome));
+    }
+    editor.show();
+    out.endEvent();
+
+    // Route keys to the foreground application, the shell uses them for history navigation
+    self.onKey(this::dispatchKey);
+
+    // Follow the size the terminal fits to, so snapshots and recordings wrap where it does
+    self.onResize(this::onResize);
 
     // Focus the terminal
     self.focus();
   }
 
-  private void registerCommands() {
-    List<TerminalCommand> commandList = List.of(
-        new HelpCommand(commands),
-        new ClearCommand(),
-        new TimeCommand(),
-        new SnakeCommand(),
-        new MsgCommand(),
-        new PromptCommand(),
-        new HistoryCommand(commandHistory)
-    );
+  private static TextBuilder welcome() {
+    TextBuilder text = new TextBuilder(1024);
+    text.line(Style.BOLD_GREEN, "╔═══════════════════════════════════════════════════════╗")
+        .line(Style.BOLD_GREEN, "║                                                       ║")
+        .line(Style.BOLD_GREEN, "║        Welcome to the webforJ Terminal Demo!         ║")
+        .line(Style.BOLD_GREEN, "║                                                       ║")
+        .line(Style.BOLD_GREEN, "╚═══════════════════════════════════════════════════════╝")
+        .newLine();
+    text.append("Type ").styled(Style.BOLD_YELLOW, "help")
+        .append(" to see available commands.").newLine();
+    text.append("Type ").styled(Style.BOLD_YELLOW, "snake")
+        .append(" to play the Snake game!").newLine();
+    text.append("Use ").styled(Style.BOLD_YELLOW, "↑↓")
+        .append(" arrow keys to navigate history, ").styled(Style.BOLD_YELLOW, "Tab")
+        .append(" to complete.").newLine();
+    return text.newLine();
+  }
 
-    for (TerminalCommand command : commandList) {
-      commands.put(command.getName(), command);
+  private void resume(ScreenModel previous) {
+    // The previous screen is rebuilt in one write, the shell continues on a fresh line below it
+    out.write(previous.snapshot());
+    out.write(Style.RESET.sequence());
+    if (previous.getCursorColumn() > 0) {
+      out.write("\r\n");
     }
   }
 
-  /**
-   * Enable or disable history navigation with arrow keys.
-   *
-   * @param enabled true to enable history navigation, false to disable
-   */
-  public void setHistoryNavigationEnabled(boolean enabled) {
-    this.historyNavigationEnabled = enabled;
+  private static int orDefault(int value, int defaultValue) {
+    return value > 0 ? value : defaultValue;
+  }
+
+  private static String resolveUserId() {
+    LocalStorage storage = LocalStorage.getCurrent();
+    String userId = storage.get(USER_ID_KEY);
+    if (userId == null || userId.isBlank()) {
+      userId = UUID.randomUUID().toString();
+      storage.add(USER_ID_KEY, userId);
+    }
+    return userId;
   }
 
   /**
-   * Check if history navigation is enabled.
+   * Get the stack deciding which application receives the terminal input.
    *
-   * @return true if history navigation is enabled, false otherwise
+   * @return the foreground stack
    */
-  public boolean isHistoryNavigationEnabled() {
-    return historyNavigationEnabled;
+  public ForegroundStack getForeground() {
+    return foreground;
   }
 
   /**
@@ -97,79 +233,264 @@ public class TerminalView extends Composite<Terminal> {
     return self;
   }
 
-  private void handleKey(TerminalKeyEvent event) {
-    if (!historyNavigationEnabled) {
+  /**
+   * Get the session's handle on the shared tick scheduler.
+   *
+   * @return the tick session
+   */
+  public TickSession getTickSession() {
+    return tickSession;
+  }
+
+  /**
+   * Get the output buffer that coalesces writes to the terminal.
+   *
+   * @return the output buffer
+   */
+  public OutputBuffer getOutput() {
+    return out;
+  }
+
+  // The terminal sends a keystroke's key event right before its data event. The key is held
+  // until then, so the data event alone decides whether the keystroke is let in.
+  private void dispatchKey(TerminalKeyEvent event) {
+    TerminalKeyEvent unanswered = heldKey;
+    heldKey = event;
+    if (unanswered == null || !admitInput()) {
       return;
     }
 
-    String key = event.getKey();
+    // A key without data is charged on its own
+    out.beginEvent();
+    try {
+      foreground.dispatchKey(unanswered);
+    } finally {
+      out.endEvent();
+    }
+  }
+
+  private void onResize(TerminalResizeEvent e) {
+    screen.resize(e.getCols(), e.getRows());
+    if (recording != null) {
+      recording.onResize(screen.getColumns(), screen.getRows());
+    }
+  }
 
-    // Handle history navigation with arrow keys
-    if (key.equals("ArrowUp")) {
-      if (historyIndex > 0) {
-        historyIndex--;
-        replaceCommandBuffer(commandHistory.get(historyIndex));
+  private void navigateHistory(Key key) {
+    switch (key.key()) {
+      case UP -> {
+        if (historyIndex > 0) {
+          historyIndex--;
+          editor.setLine(commandHistory.get(historyIndex));
+        }
       }
-    } else if (key.equals("ArrowDown")) {
-      if (historyIndex < commandHistory.size() - 1) {
-        historyIndex++;
-        replaceCommandBuffer(commandHistory.get(historyIndex));
-      } else if (historyIndex == commandHistory.size() - 1) {
-        historyIndex++;
-        replaceCommandBuffer("");
+      case DOWN -> {
+        if (historyIndex < commandHistory.size() - 1) {
+          historyIndex++;
+          editor.setLine(commandHistory.get(historyIndex));
+        } else if (historyIndex == commandHistory.size() - 1) {
+          historyIndex++;
+          editor.setLine("");
+        }
+      }
+      default -> {
       }
     }
   }
 
   private void onData(TerminalDataEvent e) {
-    String input = e.getValue();
-    boolean isPrintable = input.chars().allMatch(c -> (c >= 0x20 && c <= 0x7E) || c >= 0xA0);
-
-    switch (input) {
-      case "\r":
-        self.write("\r\n");
-        if (commandBuffer.length() > 0) {
-          commandHistory.add(commandBuffer.toString());
-          historyIndex = commandHistory.size();
-        }
-        processCommand();
-        break;
-
-      case "\u007F":
-      case "\b":
-        if (commandBuffer.length() > 0) {
-          commandBuffer.deleteCharAt(commandBuffer.length() - 1);
-          self.write("\b \b");
-        }
-        break;
-
-      default:
-        // Ignore arrow key escape sequences - they're handled by onKey
-        if (!input.startsWith("\u001b[")) {
-          if (isPrintable) {
-            commandBuffer.append(input);
-            self.write(input);
-          }
-        }
-        break;
+    // Every event takes a token and is charged by its size, however the decoder stands
+    TerminalKeyEvent key = heldKey;
+    heldKey = null;
+    if (!admitInput() || !admitBytes(e.getValue().length())) {
+      // A paste or sequence cut short is dropped whole rather than delivered in pieces
+      decoder.reset();
+      return;
+    }
+
+    long start = System.nanoTime();
+    if (recording != null) {
+      recording.onInput(e.getValue());
+    }
+
+    out.beginEvent();
+    try {
+      if (key != null) {
+        foreground.dispatchKey(key);
+      }
+      decoder.decode(e.getValue());
+    } finally {
+      // Ending the event sends the echo, so the time covers input to echo on the server
+      out.endEvent();
+      metrics.getInputTimer().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  private boolean admitInput() {
+    if (inputLimit.tryAcquire()) {
+      return true;
+    }
+    metrics.getRejectedInputCounter().increment();
+    return false;
+  }
+
+  private boolean admitBytes(int length) {
+    if (inputBytes.tryAcquire(Math.max(1, length))) {
+      return true;
+    }
+    metrics.getRejectedInputCounter().increment();
+    return false;
+  }
+
+  private void handleInput(InputEvent event) {
+    switch (event) {
+      case Text text -> editor.insert(text.text());
+      case Paste paste -> editor.insert(flatten(paste.text()));
+      case Key key -> handleKey(key);
+      case Control control -> handleControl(control.letter());
+    }
+  }
+
+  private void handleKey(Key key) {
+    long start = System.nanoTime();
+    try {
+      dispatchShellKey(key);
+    } finally {
+      metrics.getKeyTimer().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
     }
   }
 
-  private void replaceCommandBuffer(String newBuffer) {
-    while (commandBuffer.length() > 0) {
-      self.write("\b \b");
-      commandBuffer.setLength(commandBuffer.length() - 1);
+  private void dispatchShellKey(Key key) {
+    switch (key.key()) {
+      case ENTER -> submit();
+      case TAB -> complete();
+      case BACKSPACE -> editor.backspace();
+      case DELETE -> editor.delete();
+      case LEFT -> editor.left();
+      case RIGHT -> editor.right();
+      case HOME -> editor.home();
+      case END -> editor.end();
+      case UP, DOWN -> navigateHistory(key);
+      default -> {
+      }
     }
-    commandBuffer.append(newBuffer);
-    self.write(newBuffer);
   }
 
-  private void processCommand() {
-    String commandLine = commandBuffer.toString();
-    commandBuffer.setLength(0);
+  private void handleControl(char letter) {
+    switch (letter) {
+      case 'A' -> editor.home();
+      case 'E' -> editor.end();
+      case 'B' -> editor.left();
+      case 'F' -> editor.right();
+      case 'D' -> editor.delete();
+      case 'W' -> editor.deleteWordBefore();
+      case 'U' -> editor.deleteToStart();
+      case 'K' -> editor.deleteToEnd();
+      // Ctrl-R starts a reverse incremental history search
+      case 'R' -> new HistorySearch().start();
+      default -> {
+      }
+    }
+  }
+
+  private void submit() {
+    String line = editor.accept();
+    if (!line.isEmpty()) {
+      commandHistory.add(line);
+    }
+    historyIndex = commandHistory.size();
+    processCommand(line);
+  }
 
+  // A paste becomes part of the command line, line breaks and tabs turn into spaces
+  private static String flatten(String text) {
+    StringBuilder line = new StringBuilder(text.length());
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      if (c == '\r' && i + 1 < text.length() && text.charAt(i + 1) == '\n') {
+        continue;
+      }
+      line.append(c < 0x20 || c == 0x7F ? ' ' : c);
+    }
+    return line.toString();
+  }
+
+  private void complete() {
+    String line = editor.getLine().substring(0, editor.getCursor());
+    String segment = line.substring(line.lastIndexOf('|') + 1).stripLeading();
+
+    // The first word is completed against the command names, later words by the command itself
+    List<String> candidates;
+    String[] parts = segment.split("\\s+", -1);
+    if (parts.length == 1) {
+      candidates = registry.complete(parts[0].toLowerCase());
+    } else {
+      TerminalCommand command = registry.find(parts[0].toLowerCase());
+      if (command == null) {
+        return;
+      }
+      candidates = command.complete(context, parts);
+    }
+
+    String word = parts[parts.length - 1];
+    if (candidates.isEmpty()) {
+      return;
+    }
+
+    if (candidates.size() == 1) {
+      editor.insert(candidates.get(0).substring(word.length()) + " ");
+      return;
+    }
+
+    String common = commonPrefix(candidates);
+    if (common.length() > word.length()) {
+      editor.insert(common.substring(word.length()));
+      return;
+    }
+
+    // Ambiguous: list the candidates and redraw the line below them
+    editor.newLine();
+    out.writeln(String.join("  ", candidates));
+    editor.show();
+  }
+
+  private static String commonPrefix(List<String> candidates) {
+    String prefix = candidates.get(0);
+    for (String candidate : candidates) {
+      int length = 0;
+      int max = Math.min(prefix.length(), candidate.length());
+      while (length < max && prefix.charAt(length) == candidate.charAt(length)) {
+        length++;
+      }
+      prefix = prefix.substring(0, length);
+    }
+    return prefix;
+  }
+
+  private void processCommand(String commandLine) {
+    long start = System.nanoTime();
+    try {
+      runCommandLine(commandLine);
+    } finally {
+      metrics.getCommandLineTimer().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  private void runCommandLine(String commandLine) {
     if (commandLine.isBlank()) {
-      self.write("$ ");
+      editor.show();
+      return;
+    }
+
+    if (!commandLimit.tryAcquire()) {
+      metrics.getRejectedCommandCounter().increment();
+      error("Too many commands, try again in a moment");
+      editor.show();
+      return;
+    }
+
+    if (commandLine.indexOf('|') >= 0) {
+      processPipeline(commandLine);
       return;
     }
 
@@ -178,18 +499,145 @@ public class TerminalView extends Composite<Terminal> {
     String commandName = parts[0].toLowerCase();
 
     // Execute command
-    TerminalCommand command = commands.get(commandName);
-    if (command != null) {
+    TerminalCommand command = registry.find(commandName);
+    if (command instanceof AsyncCommand async && async.isAsync()) {
+      // Runs on a virtual thread, the prompt comes back when it finishes or on Ctrl-C
+      new CommandJob(async, parts, context, timed(command.getName())).start(foreground);
+      return;
+    } else if (command != null) {
+      long start = System.nanoTime();
       try {
-        command.execute(self, parts);
+        command.execute(context, parts);
       } catch (Exception e) {
-        self.writeln("\u001B[1;31mError executing command: " + e.getMessage() + "\u001B[0m");
+        error("Error executing command: " + e.getMessage());
       }
+      metrics.getCommandTimer(command.getName())
+          .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
     } else {
-      self.writeln("\u001B[1;31mCommand not found: " + commandName + "\u001B[0m");
-      self.writeln("Type \u001B[1;33mhelp\u001B[0m to see available commands.");
+      context.getText().line(Style.BOLD_RED, "Command not found: " + commandName)
+          .append("Type ").styled(Style.BOLD_YELLOW, "help")
+          .append(" to see available commands.").newLine()
+          .writeTo(out);
     }
 
-    self.write("$ ");
+    // A command that kept the foreground, such as a game, shows the prompt when it exits
+    if (foreground.isShellInForeground()) {
+      editor.show();
+    }
+  }
+
+  private void processPipeline(String commandLine) {
+    List<Pipeline.Stage> stages = new ArrayList<>();
+
+    for (String segment : commandLine.split("\\|", -1)) {
+      String[] parts = segment.trim().split("\\s+");
+      String commandName = parts[0].toLowerCase();
+
+      TerminalCommand command = registry.find(commandName);
+      if (commandName.isEmpty()) {
+        error("Syntax error near |");
+      } else if (command == null) {
+        error("Command not found: " + commandName);
+      } else if (!(command instanceof PipelineCommand pipelineCommand)) {
+        error("Command cannot be used in a pipeline: " + commandName);
+      } else {
+        stages.add(new Pipeline.Stage(pipelineCommand, parts));
+        continue;
+      }
+
+      editor.show();
+      return;
+    }
+
+    new CommandJob(new Pipeline(stages), new String[0], context, timed("pipeline"))
+        .start(foreground);
+  }
+
+  private void error(String message) {
+    context.getText().line(Style.BOLD_RED, message).writeTo(out);
+  }
+
+  // Shows the prompt once an asynchronous command is done and records how long it ran
+  private Runnable timed(String commandName) {
+    long start = System.nanoTime();
+    return () -> {
+      metrics.getCommandTimer(commandName).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+      editor.show();
+    };
+  }
+
+  /**
+   * Bash-style reverse incremental search, in the foreground while the user types the query.
+   */
+  private class HistorySearch implements ForegroundApp {
+    private final StringBuilder query = new StringBuilder();
+    private final String original = editor.getLine();
+    private ForegroundStack.Handle handle;
+    private int match = -1;
+    private boolean failed = false;
+
+    void start() {
+      handle = foreground.push(this);
+      editor.hide();
+      render();
+    }
+
+    @Override
+    public void onInput(InputEvent event) {
+      switch (event) {
+        // Ctrl-R again: next older match
+        case Control control when control.letter() == 'R' ->
+            search(match < 0 ? commandHistory.size() : match);
+        case Control control when control.letter() == 'C' || control.letter() == 'G' -> {
+          // Ctrl-C or Ctrl-G: abort and restore the line
+          match = -1;
+          exit(original);
+        }
+        case Key key when key.key() == InputEvent.KeyCode.BACKSPACE -> {
+          if (query.length() > 0) {
+            query.setLength(query.length() - 1);
+            search(commandHistory.size());
+          }
+        }
+        case Key key when key.key() == InputEvent.KeyCode.ENTER -> {
+          exit(match >= 0 ? commandHistory.get(match) : original);
+          submit();
+        }
+        // Escape or arrow keys keep the match on the line for editing
+        case Key key -> exit(match >= 0 ? commandHistory.get(match) : original);
+        case Text text -> {
+          query.append(text.text());
+          search(match < 0 ? commandHistory.size() : match + 1);
+        }
+        case Paste paste -> {
+          query.append(flatten(paste.text()));
+          search(match < 0 ? commandHistory.size() : match + 1);
+        }
+        default -> {
+        }
+      }
+    }
+
+    private void search(int before) {
+      int found = commandHistory.searchBackward(query.toString(), before);
+      failed = found < 0;
+      if (!failed) {
+        match = found;
+      }
+      render();
+    }
+
+    private void render() {
+      out.write("\r\u001B[K" + (failed ? "(failed reverse-i-search)`" : "(reverse-i-search)`")
+          + query + "': " + (match >= 0 ? commandHistory.get(match) : ""));
+    }
+
+    private void exit(String line) {
+      handle.close();
+      historyIndex = match >= 0 ? match : commandHistory.size();
+      out.write("\r\u001B[K");
+      editor.setLine(line);
+      editor.show();
+    }
   }
 }
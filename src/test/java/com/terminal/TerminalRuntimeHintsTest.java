@@ -0,0 +1,30 @@
+package com.terminal;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.terminal.commands.HelpCommand;
+import com.terminal.commands.SnakeCommand;
+import com.terminal.views.HomeView;
+import com.terminal.views.SpectatorView;
+import com.terminal.views.TerminalView;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+class TerminalRuntimeHintsTest {
+
+  @Test
+  void shouldRegisterViewsCommandsAndResources() {
+    RuntimeHints hints = new RuntimeHints();
+    new TerminalRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+    for (Class<?> type : new Class<?>[] {HomeView.class, TerminalView.class, SpectatorView.class,
+        HelpCommand.class, SnakeCommand.class}) {
+      assertTrue(RuntimeHintsPredicates.reflection().onType(type)
+          .withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS).test(hints),
+          type.getName());
+    }
+    assertTrue(RuntimeHintsPredicates.resource().forResource("static/app.css").test(hints));
+  }
+}
@@ -0,0 +1,61 @@
+package com.terminal.commands;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class CommandRegistryTest {
+
+  @Test
+  void shouldFindCommandsByExactName() {
+    TerminalCommand head = command("head");
+    CommandRegistry registry = new CommandRegistry(List.of(command("help"), head));
+
+    assertSame(head, registry.find("head"));
+    assertNull(registry.find("hea"));
+    assertNull(registry.find("heads"));
+  }
+
+  @Test
+  void shouldCompleteNamesInAlphabeticalOrder() {
+    CommandRegistry registry = new CommandRegistry(
+        List.of(command("history"), command("help"), command("head"), command("time")));
+
+    assertEquals(List.of("head", "help"), registry.complete("he"));
+    assertEquals(List.of("head", "help", "history", "time"), registry.complete(""));
+    assertEquals(List.of(), registry.complete("x"));
+  }
+
+  @Test
+  void shouldReplaceCommandWithSameName() {
+    CommandRegistry registry = new CommandRegistry(List.of(command("time")));
+    TerminalCommand replacement = command("time");
+
+    registry.register(replacement);
+
+    assertSame(replacement, registry.find("time"));
+    assertEquals(1, registry.getCommands().size());
+  }
+
+  private static TerminalCommand command(String name) {
+    return new TerminalCommand() {
+      @Override
+      public String getName() {
+        return name;
+      }
+
+      @Override
+      public String getDescription() {
+        return name;
+      }
+
+      @Override
+      public void execute(CommandContext context, String[] args) {
+      }
+    };
+  }
+}
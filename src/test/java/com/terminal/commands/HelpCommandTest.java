@@ -0,0 +1,101 @@
+package com.terminal.commands;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.terminal.io.OutputBuffer;
+import com.terminal.render.StaticScreens;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import com.webforj.component.terminal.Terminal;
+
+class HelpCommandTest {
+
+  Terminal terminal;
+  HelpCommand help;
+  CommandRegistry registry;
+  CommandContext context;
+  int renders;
+
+  @BeforeEach
+  void setUp() {
+    terminal = mock(Terminal.class);
+    help = new HelpCommand(new StaticScreens());
+    // The listing asks every command for its description when it is rendered
+    TerminalCommand time = new TerminalCommand() {
+      @Override
+      public String getName() {
+        return "time";
+      }
+
+      @Override
+      public String getDescription() {
+        renders++;
+        return "time";
+      }
+
+      @Override
+      public void execute(CommandContext context, String[] args) {
+      }
+    };
+    registry = new CommandRegistry(List.of(help, time));
+    OutputBuffer out = new OutputBuffer(terminal);
+    context = new CommandContext(terminal, "user-1", out, null, Runnable::run, null, null, null,
+        registry, null);
+  }
+
+  @Test
+  void shouldRenderTheListingOnceWhileTheRegistryIsUnchanged() {
+    help.execute(context, new String[] {"help"});
+    help.execute(context, new String[] {"help"});
+
+    assertEquals(1, renders);
+    String listing = written(2).get(1);
+    assertEquals(written(2).get(0), listing);
+    assertTrue(listing.contains("\u001B[1;33mhelp\u001B[0m         - Show available commands\r\n"));
+    assertTrue(listing.contains("\u001B[1;33mtime\u001B[0m         - time\r\n"));
+  }
+
+  @Test
+  void shouldRenderTheListingAgainAfterACommandIsRegistered() {
+    help.execute(context, new String[] {"help"});
+    assertFalse(written(1).get(0).contains("snake"));
+
+    registry.register(command("snake"));
+    help.execute(context, new String[] {"help"});
+
+    assertEquals(2, renders);
+    assertTrue(written(2).get(1).contains("\u001B[1;33msnake\u001B[0m"));
+  }
+
+  private List<String> written(int count) {
+    ArgumentCaptor<Object> data = ArgumentCaptor.forClass(Object.class);
+    verify(terminal, times(count)).write(data.capture());
+    return data.getAllValues().stream().map(String::valueOf).toList();
+  }
+
+  private static TerminalCommand command(String name) {
+    return new TerminalCommand() {
+      @Override
+      public String getName() {
+        return name;
+      }
+
+      @Override
+      public String getDescription() {
+        return name;
+      }
+
+      @Override
+      public void execute(CommandContext context, String[] args) {
+      }
+    };
+  }
+}
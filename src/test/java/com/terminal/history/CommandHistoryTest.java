@@ -0,0 +1,75 @@
+package com.terminal.history;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class CommandHistoryTest {
+
+  @Test
+  void shouldEvictOldestEntriesWhenFull() {
+    CommandHistory history = new CommandHistory(3);
+    for (String command : List.of("a", "b", "c", "d", "e")) {
+      history.add(command);
+    }
+
+    assertEquals(3, history.size());
+    assertEquals("c", history.get(0));
+    assertEquals("e", history.get(2));
+    assertEquals(3, history.numberOf(0));
+  }
+
+  @Test
+  void shouldSuppressConsecutiveDuplicates() {
+    List<String> persisted = new ArrayList<>();
+    CommandHistory history = new CommandHistory(10, persisted::add);
+
+    history.add("snake");
+    assertFalse(history.add("snake"));
+    history.add("help");
+    history.add("snake");
+
+    assertEquals(List.of("snake", "help", "snake"), persisted);
+    assertEquals(3, history.size());
+  }
+
+  @Test
+  void shouldNotNotifyRestoredEntries() {
+    List<String> persisted = new ArrayList<>();
+    CommandHistory history = new CommandHistory(10, persisted::add);
+
+    history.restore("time");
+
+    assertEquals(1, history.size());
+    assertEquals(List.of(), persisted);
+  }
+
+  @Test
+  void shouldSearchBackwardsFromNewestMatch() {
+    CommandHistory history = new CommandHistory(10);
+    for (String command : List.of("snake", "help", "history | grep snake", "time", "sn")) {
+      history.add(command);
+    }
+
+    assertEquals(2, history.searchBackward("snake", history.size()));
+    assertEquals(0, history.searchBackward("snake", 2));
+    assertEquals(-1, history.searchBackward("snake", 0));
+    assertEquals(4, history.searchBackward("sn", history.size()));
+    assertEquals(-1, history.searchBackward("nothing", history.size()));
+  }
+
+  @Test
+  void shouldNotFindEvictedEntries() {
+    CommandHistory history = new CommandHistory(2);
+    history.add("snake");
+    history.add("help");
+    history.add("time");
+
+    assertEquals(-1, history.searchBackward("snake", history.size()));
+    assertEquals(0, history.searchBackward("help", history.size()));
+  }
+}
@@ -0,0 +1,71 @@
+package com.terminal.history;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class HistorySearchIndexTest {
+
+  static final int ENTRIES = 100_000;
+
+  List<String> commands;
+  HistorySearchIndex index;
+  int lookups;
+
+  @BeforeEach
+  void setUp() {
+    commands = new ArrayList<>();
+    index = new HistorySearchIndex(ENTRIES);
+    for (int i = 0; i < ENTRIES; i++) {
+      add(i % 1000 == 0 ? "snake " + i : "ls -l");
+    }
+    add("qz");
+  }
+
+  @Test
+  void shouldFindShortQueriesWithoutScanning() {
+    assertEquals(ENTRIES, find("q"));
+    assertEquals(ENTRIES, find("qz"));
+    assertEquals(99_000, find("sn"));
+    // Each query verifies only the entry it returns
+    assertEquals(3, lookups);
+  }
+
+  @Test
+  void shouldNotScanForShortQueriesMatchingNothing() {
+    assertEquals(-1, find("x"));
+    assertEquals(-1, find("zq"));
+    assertEquals(-1, find("l-"));
+    assertEquals(0, lookups);
+  }
+
+  @Test
+  void shouldVerifyOnlyCandidatesOfLongQueries() {
+    assertEquals(42_000, find("snake 42000"));
+    assertTrue(lookups <= ENTRIES / 1000);
+  }
+
+  @Test
+  void shouldMatchEverythingForAnEmptyQuery() {
+    assertEquals(ENTRIES, find(""));
+    assertEquals(-1, index.findBefore("", 0, 0, number -> commands.get((int) number)));
+  }
+
+  private void add(String command) {
+    index.add(commands.size(), command, 0);
+    commands.add(command);
+  }
+
+  // Searches from the newest entry and counts the entries that had to be verified
+  private long find(String query) {
+    return index.findBefore(query, commands.size(), 0, number -> {
+      lookups++;
+      return commands.get((int) number);
+    });
+  }
+}
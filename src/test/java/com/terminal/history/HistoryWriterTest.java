@@ -0,0 +1,52 @@
+package com.terminal.history;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import org.junit.jupiter.api.Test;
+
+class HistoryWriterTest {
+
+  @Test
+  void shouldSaveEntriesOneByOneWhenTheBatchFails() throws Exception {
+    HistoryRepository repository = mock(HistoryRepository.class);
+    when(repository.saveAll(any())).thenThrow(new IllegalStateException("value too long"));
+    when(repository.save(argThat(entry -> entry.getUserId().equals("bad"))))
+        .thenThrow(new IllegalStateException("value too long"));
+
+    HistoryWriter writer = new HistoryWriter(repository, 100);
+    HistoryEntry good = new HistoryEntry("good", "ls", Instant.now());
+    HistoryEntry bad = new HistoryEntry("bad", "x", Instant.now());
+    writer.enqueue(good);
+    writer.enqueue(bad);
+    writer.shutdown();
+
+    verify(repository).save(good);
+    verify(repository).findByUserIdOrderByIdDesc(argThat("good"::equals), any());
+    verify(repository, never()).findByUserIdOrderByIdDesc(argThat("bad"::equals), any());
+  }
+
+  @Test
+  void shouldNotQueueValuesLongerThanTheirColumns() {
+    HistoryRepository repository = mock(HistoryRepository.class);
+    HistoryWriter writer = mock(HistoryWriter.class);
+    HistoryStore store = new HistoryStore(repository, writer, 100);
+
+    CommandHistory history = store.open("user-1");
+    history.add("x".repeat(HistoryEntry.MAX_COMMAND_LENGTH + 1));
+    history.add("ls");
+    verify(writer).enqueue(argThat(entry -> entry.getCommand().equals("ls")));
+
+    CommandHistory tampered = store.open("u".repeat(HistoryEntry.MAX_USER_ID_LENGTH + 1));
+    tampered.add("ls");
+    verify(repository, never()).findByUserIdOrderByIdDesc(
+        argThat(id -> id.length() > HistoryEntry.MAX_USER_ID_LENGTH), any());
+    verify(writer, times(1)).enqueue(any());
+  }
+}
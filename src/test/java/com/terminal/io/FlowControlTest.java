@@ -0,0 +1,101 @@
+package com.terminal.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import com.webforj.component.terminal.Terminal;
+
+class FlowControlTest {
+
+  @Test
+  void shouldBecomeCongestedAtHighWatermarkUntilLowWatermark() {
+    FlowControl flow = new FlowControl(100, 20);
+
+    flow.sent(60);
+    assertFalse(flow.isCongested());
+    flow.sent(40);
+    assertTrue(flow.isCongested());
+
+    flow.acknowledged(60);
+    assertTrue(flow.isCongested());
+    flow.acknowledged(20);
+    assertFalse(flow.isCongested());
+
+    assertEquals(20, flow.getUnacknowledgedBytes());
+    assertEquals(100, flow.getMaxUnacknowledgedBytes());
+    assertEquals(1, flow.getStallCount());
+  }
+
+  @Test
+  void shouldTellTheListenerOnceTheClientCaughtUp() {
+    FlowControl flow = new FlowControl(100, 20);
+    int[] caughtUp = {0};
+    flow.setCatchUpListener(() -> caughtUp[0]++);
+
+    flow.sent(100);
+    flow.acknowledged(50);
+    assertEquals(0, caughtUp[0]);
+    flow.acknowledged(50);
+    flow.acknowledged(0);
+
+    assertEquals(1, caughtUp[0]);
+  }
+
+  @Test
+  void shouldReleaseWaitingWriterOnAcknowledgement() throws Exception {
+    FlowControl flow = new FlowControl(100, 0);
+    flow.sent(100);
+
+    CountDownLatch released = new CountDownLatch(1);
+    Thread writer = Thread.ofVirtual().start(() -> {
+      try {
+        flow.awaitCapacity();
+        released.countDown();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+
+    assertFalse(released.await(50, TimeUnit.MILLISECONDS));
+    flow.acknowledged(100);
+    assertTrue(released.await(1, TimeUnit.SECONDS));
+    writer.join();
+  }
+
+  @SuppressWarnings("unchecked")
+  @Test
+  void shouldTrackFlushesUntilTheClientAcknowledges() {
+    Terminal terminal = mock(Terminal.class);
+    OutputBuffer out = new OutputBuffer(terminal);
+    FlowControl flow = new FlowControl(4, 0);
+    out.setFlowControl(flow);
+
+    out.write("frame");
+    assertTrue(out.shouldSkipFrame());
+    assertEquals(1, flow.getSkippedFrames());
+
+    ArgumentCaptor<Consumer<Void>> ack = ArgumentCaptor.forClass(Consumer.class);
+    verify(terminal).write(eq("frame"), ack.capture());
+    ack.getValue().accept(null);
+
+    assertFalse(out.shouldSkipFrame());
+    assertEquals(0, flow.getUnacknowledgedBytes());
+    assertEquals(1, flow.getSkippedFrames());
+  }
+
+  @Test
+  void shouldRejectLowWatermarkAboveHighWatermark() {
+    assertThrows(IllegalArgumentException.class, () -> new FlowControl(10, 20));
+  }
+}
@@ -0,0 +1,130 @@
+package com.terminal.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.terminal.io.InputEvent.Control;
+import com.terminal.io.InputEvent.Key;
+import com.terminal.io.InputEvent.KeyCode;
+import com.terminal.io.InputEvent.Paste;
+import com.terminal.io.InputEvent.Text;
+
+class InputDecoderTest {
+
+  List<InputEvent> events;
+  InputDecoder decoder;
+
+  @BeforeEach
+  void setUp() {
+    events = new ArrayList<>();
+    decoder = new InputDecoder(events::add);
+  }
+
+  @Test
+  void shouldEmitTextRunsAndKeys() {
+    decoder.decode("ls -l\r\u0003\t\u007F");
+
+    assertEquals(List.of(
+        new Text("ls -l"),
+        new Key(KeyCode.ENTER),
+        new Control('C'),
+        new Key(KeyCode.TAB),
+        new Key(KeyCode.BACKSPACE)), events);
+  }
+
+  @Test
+  void shouldDecodeCarriageReturnAndLineFeedAsOneEnter() {
+    decoder.decode("a\r\nb\n\nc\r");
+    decoder.decode("\nd\r\r");
+
+    assertEquals(List.of(
+        new Text("a"),
+        new Key(KeyCode.ENTER),
+        new Text("b"),
+        new Key(KeyCode.ENTER),
+        new Key(KeyCode.ENTER),
+        new Text("c"),
+        new Key(KeyCode.ENTER),
+        new Text("d"),
+        new Key(KeyCode.ENTER),
+        new Key(KeyCode.ENTER)), events);
+  }
+
+  @Test
+  void shouldDecodeCursorKeysWithModifiers() {
+    decoder.decode("\u001B[A\u001BOH\u001B[3~\u001B[1;5D");
+
+    assertEquals(List.of(
+        new Key(KeyCode.UP),
+        new Key(KeyCode.HOME),
+        new Key(KeyCode.DELETE),
+        new Key(KeyCode.LEFT, Key.CTRL)), events);
+  }
+
+  @Test
+  void shouldCompleteSequencesSplitAcrossChunks() {
+    decoder.decode("ab\u001B");
+    assertTrue(decoder.isPending());
+    decoder.decode("[");
+    decoder.decode("1;2C");
+
+    assertEquals(List.of(new Text("ab"), new Key(KeyCode.RIGHT, Key.SHIFT)), events);
+  }
+
+  @Test
+  void shouldTreatLoneEscapeAsEscapeKey() {
+    decoder.decode("\u001B");
+    decoder.decode("\u001Bx");
+
+    assertEquals(List.of(new Key(KeyCode.ESCAPE), new Key(KeyCode.ESCAPE), new Text("x")), events);
+  }
+
+  @Test
+  void shouldDeliverBracketedPasteAsOneEvent() {
+    decoder.decode("\u001B[200~echo 1\r\necho \u001B[A");
+    decoder.decode("2\u001B[20");
+    decoder.decode("1~x");
+
+    assertEquals(List.of(new Paste("echo 1\r\necho \u001B[A2"), new Text("x")), events);
+  }
+
+  @Test
+  void shouldDropAnUnfinishedPasteOnReset() {
+    decoder.decode("\u001B[200~rm -rf");
+    decoder.reset();
+
+    assertFalse(decoder.isPending());
+    decoder.decode("ls\u001B[201~");
+    assertEquals(List.of(new Text("ls")), events);
+  }
+
+  @Test
+  void shouldDeliverAPasteReachingTheLimitAndDropTheRest() {
+    decoder = new InputDecoder(events::add, 8);
+
+    decoder.decode("\u001B[200~0123");
+    decoder.decode("456789\r");
+    assertEquals(List.of(new Paste("01234567")), events);
+    assertTrue(decoder.isPending());
+
+    decoder.decode("rm -rf /\r\u001B[201~ls");
+    decoder.decode("\u001B[200~ok\u001B[201~");
+    assertEquals(List.of(new Paste("01234567"), new Text("ls"), new Paste("ok")), events);
+  }
+
+  @Test
+  void shouldDecodeLargePasteInOnePass() {
+    String content = "0123456789abcdef\n".repeat(64 * 1024);
+
+    decoder.decode("\u001B[200~" + content + "\u001B[201~");
+
+    assertEquals(List.of(new Paste(content)), events);
+  }
+}
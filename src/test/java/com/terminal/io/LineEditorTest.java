@@ -0,0 +1,133 @@
+package com.terminal.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.webforj.component.terminal.Terminal;
+
+class LineEditorTest {
+
+  Terminal terminal;
+  OutputBuffer out;
+
+  @BeforeEach
+  void setUp() {
+    terminal = mock(Terminal.class);
+    out = new OutputBuffer(terminal);
+  }
+
+  @Test
+  void shouldAppendTypedTextOnly() {
+    LineEditor editor = new LineEditor(out, "$ ", () -> 80);
+    editor.show();
+    editor.insert("ls");
+
+    verify(terminal).write("\r$ ");
+    verify(terminal).write("ls");
+  }
+
+  @Test
+  void shouldReplaceLineWithOneWrite() {
+    LineEditor editor = new LineEditor(out, "$ ", () -> 80);
+    editor.show();
+    editor.insert("x".repeat(200));
+    clearInvocations(terminal);
+
+    editor.setLine("history");
+
+    verify(terminal, times(1)).write(any());
+    verify(terminal).write("\u001B[2A\r\u001B[J$ history");
+  }
+
+  @Test
+  void shouldMoveCursorOverWideCharacters() {
+    LineEditor editor = new LineEditor(out, "$ ", () -> 80);
+    editor.show();
+    editor.insert("a中b");
+    clearInvocations(terminal);
+
+    editor.left();
+    editor.left();
+
+    verify(terminal).write("\u001B[1D");
+    verify(terminal).write("\u001B[2D");
+    assertEquals(1, editor.getCursor());
+  }
+
+  @Test
+  void shouldRedrawWhenEditingInTheMiddle() {
+    LineEditor editor = new LineEditor(out, "$ ", () -> 80);
+    editor.show();
+    editor.insert("echo world");
+    editor.home();
+    clearInvocations(terminal);
+
+    editor.insert("x");
+
+    verify(terminal).write("\r\u001B[J$ xecho world\u001B[10D");
+  }
+
+  @Test
+  void shouldDeleteWordsAndLineParts() {
+    LineEditor editor = new LineEditor(out, "$ ", () -> 80);
+    editor.insert("grep -i foo  ");
+
+    editor.deleteWordBefore();
+    assertEquals("grep -i ", editor.getLine());
+
+    editor.left();
+    editor.left();
+    editor.deleteToEnd();
+    assertEquals("grep -", editor.getLine());
+
+    editor.left();
+    editor.deleteToStart();
+    assertEquals("-", editor.getLine());
+    assertEquals(0, editor.getCursor());
+  }
+
+  @Test
+  void shouldKeepCombiningMarksWithTheirBase() {
+    LineEditor editor = new LineEditor(out, "$ ", () -> 80);
+    editor.insert("café");
+
+    editor.backspace();
+
+    assertEquals("caf", editor.getLine());
+  }
+
+  @Test
+  void shouldWrapBeforeTheLastColumnIsLeftPending() {
+    LineEditor editor = new LineEditor(out, "$ ", () -> 5);
+    editor.show();
+    editor.insert("ab");
+    clearInvocations(terminal);
+
+    editor.insert("c");
+    editor.backspace();
+
+    verify(terminal).write("\r\u001B[J$ abc\r\n");
+    verify(terminal).write("\u001B[1A\r\u001B[J$ ab");
+  }
+
+  @Test
+  void shouldMovePastTheLineOnAccept() {
+    LineEditor editor = new LineEditor(out, "$ ", () -> 80);
+    editor.show();
+    editor.insert("time");
+    editor.home();
+    clearInvocations(terminal);
+
+    assertEquals("time", editor.accept());
+
+    verify(terminal).write("\u001B[4C\r\n");
+    assertEquals("", editor.getLine());
+  }
+}
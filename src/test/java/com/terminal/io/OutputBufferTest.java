@@ -0,0 +1,69 @@
+package com.terminal.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.webforj.component.terminal.Terminal;
+
+class OutputBufferTest {
+
+  Terminal terminal;
+
+  @BeforeEach
+  void setUp() {
+    terminal = mock(Terminal.class);
+  }
+
+  @Test
+  void shouldCoalesceWritesMadeDuringAnEvent() {
+    OutputBuffer out = new OutputBuffer(terminal);
+
+    out.beginEvent();
+    out.writeln("one");
+    out.writeln("two");
+    out.write("$ ");
+    verify(terminal, never()).write(any());
+    out.endEvent();
+
+    verify(terminal, times(1)).write("one\r\ntwo\r\n$ ");
+    assertEquals(1, out.getFlushCount());
+    assertEquals(3.0, out.getAverageWritesPerEvent());
+    assertEquals(12, out.getMaxBytesPerFlush());
+  }
+
+  @Test
+  void shouldFlushEarlyWhenThresholdIsReached() {
+    OutputBuffer out = new OutputBuffer(terminal, 4);
+
+    out.beginEvent();
+    out.write("abcd");
+    out.write("e");
+    out.endEvent();
+
+    verify(terminal).write("abcd");
+    verify(terminal).write("e");
+  }
+
+  @Test
+  void shouldWriteThroughOutsideOfEvents() {
+    OutputBuffer out = new OutputBuffer(terminal);
+
+    out.write("x");
+
+    verify(terminal).write("x");
+  }
+
+  @Test
+  void shouldCountUtf8Bytes() {
+    assertEquals(1, OutputBuffer.utf8Length("a"));
+    assertEquals(3, OutputBuffer.utf8Length("●"));
+    assertEquals(4, OutputBuffer.utf8Length("🐍"));
+  }
+}
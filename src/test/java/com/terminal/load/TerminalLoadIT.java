@@ -0,0 +1,170 @@
+package com.terminal.load;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.Playwright;
+import com.terminal.metrics.TerminalMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+/**
+ * Drives many concurrent terminal sessions and reports what a session costs.
+ *
+ * <p>Run with {@code mvn -Ploadtest verify}. The number of sessions, browser workers and
+ * rounds are set with the {@code loadtest.sessions}, {@code loadtest.workers} and
+ * {@code loadtest.rounds} system properties. Each worker has its own Playwright and browser,
+ * as Playwright is not thread-safe, and keeps its share of the sessions open for the whole
+ * run. Every round, each session types a command key by key, pastes a line and plays a short
+ * seeded game of Snake.</p>
+ *
+ * <p>The report covers the keystroke to echo latency measured in the browsers, the server's
+ * own input handling time, the server heap per open session and the output sent per second.
+ * With {@code loadtest.max-p99-millis} set the test fails when the p99 latency exceeds it.</p>
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "management.server.port=-1", "webforj.devtools.browser.open=false"})
+class TerminalLoadIT {
+
+  private static final int SESSIONS = Integer.getInteger("loadtest.sessions", 200);
+  private static final int WORKERS = Integer.getInteger("loadtest.workers",
+      Math.min(8, Runtime.getRuntime().availableProcessors()));
+  private static final int ROUNDS = Integer.getInteger("loadtest.rounds", 3);
+  private static final double MAX_P99_MILLIS =
+      Double.parseDouble(System.getProperty("loadtest.max-p99-millis", "0"));
+  private static final String PASTE = "echo " + "0123456789abcdef".repeat(64);
+
+  @LocalServerPort
+  private int port;
+
+  @Autowired
+  private TerminalMetrics metrics;
+
+  @Autowired
+  private MeterRegistry registry;
+
+  @Test
+  void shouldServeConcurrentSessions() throws Exception {
+    String url = "http://localhost:" + port + "/terminal";
+    long heapBefore = usedHeapAfterGc();
+
+    ExecutorService workers = Executors.newFixedThreadPool(WORKERS);
+    CountDownLatch opened = new CountDownLatch(WORKERS);
+    CountDownLatch measured = new CountDownLatch(1);
+    List<Future<List<Double>>> results = new ArrayList<>();
+    for (int worker = 0; worker < WORKERS; worker++) {
+      int share = SESSIONS / WORKERS + (worker < SESSIONS % WORKERS ? 1 : 0);
+      results.add(workers.submit(() -> drive(url, share, opened, measured)));
+    }
+
+    // Measure the heap with every session open and idle, before the scripts run
+    long heapPerSession;
+    double bytesBefore;
+    long start;
+    try {
+      assertTrue(opened.await(10, TimeUnit.MINUTES), "Sessions did not open in time");
+      assertEquals(SESSIONS, metrics.getActiveSessions());
+      heapPerSession = (usedHeapAfterGc() - heapBefore) / SESSIONS;
+      bytesBefore = outputBytes();
+      start = System.nanoTime();
+    } finally {
+      measured.countDown();
+    }
+
+    List<Double> latencies = new ArrayList<>();
+    for (Future<List<Double>> result : results) {
+      latencies.addAll(result.get());
+    }
+    double seconds = (System.nanoTime() - start) / 1e9;
+    workers.shutdown();
+
+    Collections.sort(latencies);
+    double p50 = percentile(latencies, 0.50);
+    double p99 = percentile(latencies, 0.99);
+    System.out.printf("""
+
+        Load test: %d sessions, %d workers, %d rounds in %.1f s
+          keystroke to echo   p50 %.1f ms, p99 %.1f ms, max %.1f ms (%d keystrokes)
+          server input        mean %.3f ms, max %.3f ms
+          heap per session    %d KB
+          output              %.0f bytes/s
+        %n""", SESSIONS, WORKERS, ROUNDS, seconds, p50, p99,
+        latencies.get(latencies.size() - 1), latencies.size(),
+        metrics.getInputTimer().mean(TimeUnit.MILLISECONDS),
+        metrics.getInputTimer().max(TimeUnit.MILLISECONDS), heapPerSession / 1024,
+        (outputBytes() - bytesBefore) / seconds);
+
+    if (MAX_P99_MILLIS > 0) {
+      assertTrue(p99 <= MAX_P99_MILLIS, "p99 keystroke to echo latency of " + p99 + " ms");
+    }
+  }
+
+  // Opens a worker's sessions, waits for the heap measurement, then runs the script
+  private static List<Double> drive(String url, int sessionCount, CountDownLatch opened,
+      CountDownLatch measured) throws InterruptedException {
+    try (Playwright playwright = Playwright.create()) {
+      Browser browser = playwright.chromium().launch();
+      List<TerminalSession> sessions = new ArrayList<>();
+      try {
+        for (int i = 0; i < sessionCount; i++) {
+          sessions.add(new TerminalSession(browser, url));
+        }
+      } finally {
+        opened.countDown();
+      }
+      measured.await();
+
+      List<Double> latencies = new ArrayList<>();
+      for (int round = 0; round < ROUNDS; round++) {
+        for (TerminalSession session : sessions) {
+          session.runCommand(round);
+          session.paste(PASTE);
+        }
+        for (TerminalSession session : sessions) {
+          session.playSnake(4, 300);
+        }
+      }
+
+      for (TerminalSession session : sessions) {
+        latencies.addAll(session.getLatencies());
+        session.close();
+      }
+      browser.close();
+      return latencies;
+    }
+  }
+
+  private double outputBytes() {
+    return registry.get("terminal.output").functionCounter().count();
+  }
+
+  private static long usedHeapAfterGc() throws InterruptedException {
+    MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    for (int i = 0; i < 3; i++) {
+      System.gc();
+      Thread.sleep(100);
+    }
+    return memory.getHeapMemoryUsage().getUsed();
+  }
+
+  private static double percentile(List<Double> sorted, double quantile) {
+    int index = (int) Math.ceil(quantile * sorted.size()) - 1;
+    return sorted.get(Math.max(0, index));
+  }
+}
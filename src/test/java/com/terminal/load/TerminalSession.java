@@ -0,0 +1,135 @@
+package com.terminal.load;
+
+import static com.microsoft.playwright.assertions.PlaywrightAssertions.assertThat;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Locator;
+import com.microsoft.playwright.Page;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One browser session of the load test, driving a {@code /terminal} page like a user.
+ *
+ * <p>Keystroke to echo latency is measured inside the page: a capturing key listener stamps
+ * each key and a mutation observer on the terminal's rows stamps the first change after it,
+ * so the latency includes the round trip to the server and the terminal's rendering but not
+ * the test's own polling.</p>
+ */
+class TerminalSession implements AutoCloseable {
+
+  // Stamps keys and the first change of the rows after each key, see measureKeystroke
+  private static final String INSTALL_PROBE = """
+      rows => {
+        window.__echoes = [];
+        window.__keyAt = -1;
+        document.addEventListener('keydown', () => window.__keyAt = performance.now(), true);
+        new MutationObserver(() => {
+          if (window.__keyAt >= 0) {
+            window.__echoes.push(performance.now() - window.__keyAt);
+            window.__keyAt = -1;
+          }
+        }).observe(rows, {childList: true, subtree: true, characterData: true});
+      }""";
+
+  // Pastes like the browser does, the terminal sends the text between bracketed paste markers
+  private static final String PASTE = """
+      (textarea, text) => {
+        const data = new DataTransfer();
+        data.setData('text/plain', text);
+        textarea.dispatchEvent(new ClipboardEvent('paste', {clipboardData: data, bubbles: true}));
+      }""";
+
+  private static final int SETTLE_MILLIS = 250;
+  private static final String[] COMMANDS = {"help", "time", "history 5", "seq 50 | wc"};
+  private static final String[] SNAKE_MOVES = {"ArrowUp", "ArrowLeft", "ArrowDown", "ArrowRight"};
+
+  private final BrowserContext context;
+  private final Page page;
+  private final Locator rows;
+  private final List<Double> latencies = new ArrayList<>();
+  private int echoes = 0;
+
+  /**
+   * Open a terminal in a fresh browser context, so sessions share no storage.
+   *
+   * @param browser the browser
+   * @param url the terminal's URL
+   */
+  TerminalSession(Browser browser, String url) {
+    context = browser.newContext();
+    page = context.newPage();
+    page.navigate(url);
+    rows = page.locator(".xterm-rows");
+    assertThat(rows).containsText("complete.");
+    rows.evaluate(INSTALL_PROBE);
+    page.locator(".xterm").click();
+  }
+
+  /**
+   * Type a command line key by key, measuring each echo, and run it.
+   *
+   * @param round the number of the round, picks the command
+   */
+  void runCommand(int round) {
+    for (char c : COMMANDS[round % COMMANDS.length].toCharArray()) {
+      measureKeystroke(String.valueOf(c));
+    }
+    page.keyboard().press("Enter");
+    // Let the output settle, so it is not taken for the echo of the next key
+    page.waitForTimeout(SETTLE_MILLIS);
+  }
+
+  /**
+   * Paste a line into the prompt and clear it again.
+   *
+   * @param text the text to paste
+   */
+  void paste(String text) {
+    page.locator(".xterm-helper-textarea").evaluate(PASTE, text);
+    page.keyboard().press("Control+U");
+  }
+
+  /**
+   * Play a seeded game of Snake, turning on a fixed schedule, and quit it.
+   *
+   * @param turns the number of turns to make
+   * @param millisPerTurn the time between turns
+   */
+  void playSnake(int turns, int millisPerTurn) {
+    page.keyboard().type("snake 42");
+    page.keyboard().press("Enter");
+    assertThat(rows).containsText("SNAKE");
+    for (int i = 0; i < turns; i++) {
+      page.waitForTimeout(millisPerTurn);
+      page.keyboard().press(SNAKE_MOVES[i % SNAKE_MOVES.length]);
+    }
+    // Quits a running game, a game already over gets a q on its prompt which is cleared
+    page.keyboard().press("q");
+    page.keyboard().press("Control+U");
+  }
+
+  /**
+   * Get the keystroke to echo latencies measured so far.
+   *
+   * @return the latencies in milliseconds
+   */
+  List<Double> getLatencies() {
+    return latencies;
+  }
+
+  @Override
+  public void close() {
+    context.close();
+  }
+
+  // Waits for the echo of this key before the next one, so echoes are not merged
+  private void measureKeystroke(String key) {
+    page.keyboard().type(key);
+    echoes++;
+    page.waitForFunction("n => window.__echoes.length >= n", echoes);
+    Object latency = page.evaluate("n => window.__echoes[n - 1]", echoes);
+    latencies.add(((Number) latency).doubleValue());
+  }
+}
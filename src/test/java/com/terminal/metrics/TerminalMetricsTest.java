@@ -0,0 +1,108 @@
+package com.terminal.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+
+import com.terminal.io.OutputBuffer;
+import com.terminal.scheduler.TickScheduler;
+import com.terminal.session.ForegroundApp;
+import com.terminal.session.ForegroundStack;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.webforj.component.terminal.Terminal;
+
+class TerminalMetricsTest {
+
+  SimpleMeterRegistry registry;
+  TickScheduler scheduler;
+  TerminalMetrics metrics;
+
+  @BeforeEach
+  void setUp() {
+    registry = new SimpleMeterRegistry();
+    scheduler = new TickScheduler(60_000);
+    metrics = new TerminalMetrics(registry, scheduler);
+  }
+
+  @AfterEach
+  void tearDown() {
+    scheduler.shutdown();
+  }
+
+  @Test
+  void shouldKeepOutputOfEndedSessionsInTheCounters() {
+    OutputBuffer first = new OutputBuffer(mock(Terminal.class));
+    OutputBuffer second = new OutputBuffer(mock(Terminal.class));
+    metrics.sessionOpened(first, new ForegroundStack(new ForegroundApp() { }));
+    metrics.sessionOpened(second, new ForegroundStack(new ForegroundApp() { }));
+
+    first.write("hello");
+    second.write("hi");
+    assertEquals(2.0, registry.get("terminal.sessions.active").gauge().value());
+    assertEquals(7.0, registry.get("terminal.output").functionCounter().count());
+
+    metrics.sessionClosed(first);
+    second.write("!");
+
+    assertEquals(1.0, registry.get("terminal.sessions.active").gauge().value());
+    assertEquals(8.0, registry.get("terminal.output").functionCounter().count());
+    assertEquals(3.0, registry.get("terminal.output.writes").functionCounter().count());
+    assertEquals(1, registry.get("terminal.session.output").summary().count());
+    assertEquals(5.0, registry.get("terminal.session.output").summary().totalAmount());
+  }
+
+  @Test
+  void shouldCountSessionClosedTwiceOnce() {
+    OutputBuffer out = new OutputBuffer(mock(Terminal.class));
+    metrics.sessionOpened(out, new ForegroundStack(new ForegroundApp() { }));
+    out.write("hello");
+
+    metrics.sessionClosed(out);
+    metrics.sessionClosed(out);
+
+    assertEquals(5.0, registry.get("terminal.output").functionCounter().count());
+    assertEquals(1, registry.get("terminal.session.output").summary().count());
+  }
+
+  @Test
+  void shouldTagCommandTimersByName() {
+    metrics.getCommandTimer("snake").record(5, TimeUnit.MILLISECONDS);
+    metrics.getCommandTimer("snake").record(7, TimeUnit.MILLISECONDS);
+    metrics.getCommandTimer("help").record(1, TimeUnit.MILLISECONDS);
+
+    assertSame(metrics.getCommandTimer("snake"), metrics.getCommandTimer("snake"));
+    assertEquals(2, registry.get("terminal.command").tag("command", "snake").timer().count());
+    assertEquals(1, registry.get("terminal.command").tag("command", "help").timer().count());
+  }
+
+  @Test
+  void shouldExposeTheTickSchedulerStatistics() {
+    assertEquals(0.0, registry.get("terminal.tick.overruns").functionCounter().count());
+    assertEquals(0.0, registry.get("terminal.tick.deferred").functionCounter().count());
+    assertEquals(0.0, registry.get("terminal.tick.jitter").gauge().value());
+    assertEquals(0.0, registry.get("terminal.tick.jitter.max").gauge().value());
+  }
+
+  @Test
+  void shouldSumForegroundStacksOfOpenSessions() {
+    ForegroundStack first = new ForegroundStack(new ForegroundApp() { });
+    ForegroundStack second = new ForegroundStack(new ForegroundApp() { });
+    OutputBuffer firstOut = new OutputBuffer(mock(Terminal.class));
+    metrics.sessionOpened(firstOut, first);
+    metrics.sessionOpened(new OutputBuffer(mock(Terminal.class)), second);
+
+    first.push(new ForegroundApp() { }).own(() -> { });
+    second.push(new ForegroundApp() { });
+    assertEquals(3.0, registry.get("terminal.foreground.listeners").gauge().value());
+    assertEquals(2.0, registry.get("terminal.foreground.retained").gauge().value());
+
+    metrics.sessionClosed(firstOut);
+    assertEquals(1.0, registry.get("terminal.foreground.listeners").gauge().value());
+    assertEquals(1.0, registry.get("terminal.foreground.retained").gauge().value());
+  }
+}
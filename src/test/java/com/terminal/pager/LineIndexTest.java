@@ -0,0 +1,87 @@
+package com.terminal.pager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class LineIndexTest {
+
+  @TempDir
+  Path dir;
+
+  @Test
+  void shouldFindLineStartsOnlyAsFarAsNeeded() throws IOException {
+    Path file = write("lines.txt", numbered(5000));
+    try (MappedText text = MappedText.open(file)) {
+      LineIndex index = new LineIndex(text);
+
+      assertEquals(0, index.lineStart(0, () -> false));
+      assertEquals(1, index.getCheckpointCount());
+      assertEquals("line 2500", text.line(index.lineStart(2499, () -> false), 100));
+      assertEquals(3, index.getCheckpointCount());
+      assertEquals("line 5000", text.line(index.lineStart(4999, () -> false), 100));
+      assertEquals(-1, index.lineStart(5000, () -> false));
+    }
+  }
+
+  @Test
+  void shouldIndexLinesAppendedAfterOpening() throws IOException {
+    Path file = write("growing.txt", "first\nunfinished");
+    try (MappedText text = MappedText.open(file)) {
+      LineIndex index = new LineIndex(text);
+      assertEquals(-1, index.lineStart(2, () -> false));
+
+      Files.writeString(file, " line\nthird\n", StandardOpenOption.APPEND);
+      text.refresh();
+
+      assertEquals("unfinished line", text.line(index.lineStart(1, () -> false), 100));
+      assertEquals("third", text.line(index.lineStart(2, () -> false), 100));
+    }
+  }
+
+  @Test
+  void shouldStepBetweenLinesInBothDirections() throws IOException {
+    Path file = write("steps.txt", "a\r\n\nccc\n");
+    try (MappedText text = MappedText.open(file)) {
+      assertEquals(3, text.nextLineStart(0));
+      assertEquals(4, text.nextLineStart(3));
+      assertEquals("ccc", text.line(4, 100));
+      assertEquals("a", text.line(0, 100));
+      assertEquals(3, text.previousLineStart(4));
+      assertEquals(0, text.previousLineStart(3));
+      assertEquals(4, text.lineStart(6));
+    }
+  }
+
+  @Test
+  void shouldSearchBytesAndStopWhenCancelled() throws IOException {
+    Path file = write("search.txt", numbered(3000) + "needle ü\n");
+    try (MappedText text = MappedText.open(file)) {
+      byte[] needle = "needle ü".getBytes(StandardCharsets.UTF_8);
+      long match = text.indexOf(needle, 0, () -> false);
+
+      assertEquals("needle ü", text.line(text.lineStart(match), 100));
+      assertEquals(-1, text.indexOf(needle, match + 1, () -> false));
+      assertEquals(-1, text.indexOf(needle, 0, () -> true));
+    }
+  }
+
+  private Path write(String name, String content) throws IOException {
+    return Files.writeString(dir.resolve(name), content);
+  }
+
+  private static String numbered(int count) {
+    StringBuilder text = new StringBuilder();
+    for (int i = 1; i <= count; i++) {
+      text.append("line ").append(i).append('\n');
+    }
+    return text.toString();
+  }
+}
@@ -0,0 +1,132 @@
+package com.terminal.pipeline;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+
+class PipeTest {
+
+  @Test
+  void shouldDeliverLinesInOrderUntilClosed() throws Exception {
+    Pipe pipe = new Pipe(4);
+    pipe.writeLine("a");
+    pipe.writeLine("b");
+    pipe.closeWrite();
+
+    assertEquals("a", pipe.readLine());
+    assertEquals("b", pipe.readLine());
+    assertNull(pipe.readLine());
+    assertNull(pipe.readLine());
+  }
+
+  @Test
+  void shouldBlockTheWriterAtCapacity() throws Exception {
+    Pipe pipe = new Pipe(2);
+    pipe.writeLine("1");
+    pipe.writeLine("2");
+
+    CountDownLatch written = new CountDownLatch(1);
+    Thread writer = Thread.ofVirtual().start(() -> {
+      try {
+        pipe.writeLine("3");
+        written.countDown();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+
+    assertFalse(written.await(100, TimeUnit.MILLISECONDS));
+    assertEquals("1", pipe.readLine());
+    assertTrue(written.await(1, TimeUnit.SECONDS));
+    writer.join();
+    assertEquals("2", pipe.readLine());
+    assertEquals("3", pipe.readLine());
+  }
+
+  @Test
+  void shouldFailTheWriterOnceTheReaderClosed() throws Exception {
+    Pipe pipe = new Pipe(1);
+    pipe.writeLine("1");
+
+    AtomicReference<Throwable> failure = new AtomicReference<>();
+    Thread writer = Thread.ofVirtual().start(() -> {
+      try {
+        pipe.writeLine("2");
+      } catch (Throwable e) {
+        failure.set(e);
+      }
+    });
+
+    Thread.sleep(50);
+    pipe.closeRead();
+    writer.join(TimeUnit.SECONDS.toMillis(1));
+
+    assertFalse(writer.isAlive());
+    assertInstanceOf(PipeClosedException.class, failure.get());
+    assertThrows(PipeClosedException.class, () -> pipe.writeLine("3"));
+  }
+
+  @Test
+  void shouldNotWaitForRoomToCloseWhenTheReaderIsGone() throws Exception {
+    Pipe pipe = new Pipe(1);
+    pipe.writeLine("1");
+    pipe.closeRead();
+
+    Thread closer = Thread.ofVirtual().start(() -> {
+      try {
+        pipe.closeWrite();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    closer.join(TimeUnit.SECONDS.toMillis(1));
+
+    assertFalse(closer.isAlive());
+  }
+
+  @Test
+  void shouldStopABlockedWriterWhenInterrupted() throws Exception {
+    Pipe pipe = new Pipe(1);
+    pipe.writeLine("1");
+
+    assertInstanceOf(InterruptedException.class, blockAndInterrupt(() -> pipe.writeLine("2")));
+  }
+
+  @Test
+  void shouldStopABlockedReaderWhenInterrupted() throws Exception {
+    Pipe pipe = new Pipe(1);
+
+    assertInstanceOf(InterruptedException.class, blockAndInterrupt(pipe::readLine));
+  }
+
+  // Runs the action on a thread, interrupts it once blocked and returns what it threw
+  private static Throwable blockAndInterrupt(Blocking action) throws InterruptedException {
+    AtomicReference<Throwable> failure = new AtomicReference<>();
+    Thread thread = Thread.ofVirtual().start(() -> {
+      try {
+        action.run();
+      } catch (Throwable e) {
+        failure.set(e);
+      }
+    });
+
+    Thread.sleep(50);
+    thread.interrupt();
+    thread.join(TimeUnit.SECONDS.toMillis(1));
+    assertFalse(thread.isAlive());
+    return failure.get();
+  }
+
+  @FunctionalInterface
+  private interface Blocking {
+    void run() throws InterruptedException;
+  }
+}
@@ -0,0 +1,179 @@
+package com.terminal.pipeline;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import com.terminal.commands.CommandContext;
+import com.terminal.commands.GrepCommand;
+import com.terminal.commands.HeadCommand;
+import com.terminal.commands.PipelineCommand;
+import com.terminal.commands.SeqCommand;
+import com.terminal.commands.SortCommand;
+import com.terminal.commands.TailCommand;
+import com.terminal.commands.WcCommand;
+import com.terminal.io.OutputBuffer;
+import com.terminal.io.StreamOutput;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.webforj.component.terminal.Terminal;
+
+class PipelineTest {
+
+  ExecutorService uiExecutor;
+  OutputBuffer out;
+  StringBuffer written;
+  CommandContext context;
+
+  @BeforeEach
+  void setUp() {
+    // A single thread stands in for the session's UI thread, the only one writing to the buffer
+    uiExecutor = Executors.newSingleThreadExecutor();
+    Terminal terminal = mock(Terminal.class);
+    out = new OutputBuffer(terminal);
+    written = new StringBuffer();
+    out.addListener(written::append);
+    context = new CommandContext(terminal, "user-1", out, null, uiExecutor, null, null, null,
+        null, null);
+  }
+
+  @AfterEach
+  void tearDown() {
+    uiExecutor.shutdownNow();
+  }
+
+  @Test
+  void shouldStopTheProducersOnceHeadHasEnough() throws Exception {
+    Source source = new Source();
+
+    assertEquals(List.of("1", "2", "3"),
+        run(stage(source), stage(new GrepCommand(), "."), stage(new HeadCommand(), "3")));
+    assertTrue(source.stopped.await(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  void shouldEndAMillionLineSequenceCutShortPromptly() throws Exception {
+    long start = System.nanoTime();
+
+    assertEquals(List.of("1", "2", "3"),
+        run(stage(new SeqCommand(), "1000000"), stage(new HeadCommand(), "3")));
+    assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+  }
+
+  @Test
+  void shouldFilterSortAndKeepTheLastLines() throws Exception {
+    assertEquals(List.of("11", "10", "1"),
+        run(stage(new SeqCommand(), "20"), stage(new GrepCommand(), "1"),
+            stage(new SortCommand(), "-r", "-n"), stage(new TailCommand(), "-n", "3")));
+    assertEquals(List.of("7", "17"),
+        run(stage(new SeqCommand(), "20"), stage(new GrepCommand(), "-v", "^[^7]*$")));
+  }
+
+  @Test
+  void shouldKeepTheLastLinesWithoutAllocatingTheCount() throws Exception {
+    assertEquals(List.of("1", "2", "3"),
+        run(stage(new SeqCommand(), "3"), stage(new TailCommand(), "2000000000")));
+    assertEquals(List.of("99999", "100000"),
+        run(stage(new SeqCommand(), "100000"), stage(new TailCommand(), "-n", "2")));
+  }
+
+  @Test
+  void shouldCountLinesWordsAndCharacters() throws Exception {
+    assertEquals(List.of("100000"),
+        run(stage(new SeqCommand(), "100000"), stage(new WcCommand(), "-l")));
+    assertEquals(List.of("      3       3       6"),
+        run(stage(new SeqCommand(), "3"), stage(new WcCommand())));
+    assertEquals(List.of("1000000 1000000 6888896"),
+        run(stage(new SeqCommand(), "1000000"), stage(new WcCommand())));
+  }
+
+  @Test
+  void shouldReportAFailedStageAndStopItsProducers() throws Exception {
+    Source source = new Source();
+
+    List<String> lines = run(stage(source), stage(new HeadCommand(), "x"));
+
+    assertEquals(1, lines.size());
+    assertTrue(lines.get(0).contains("head: invalid number of lines: x"), lines.get(0));
+    assertTrue(source.stopped.await(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  void shouldStopEveryStageWhenCancelled() throws Exception {
+    Source source = new Source();
+    Pipeline pipeline = new Pipeline(List.of(stage(source), stage(new GrepCommand(), "never")));
+    StreamOutput stream = new StreamOutput(out, uiExecutor);
+    Thread thread = Thread.ofVirtual().start(() -> {
+      try {
+        pipeline.executeAsync(context, stream, new String[0]);
+      } catch (InterruptedException e) {
+        // Cancelled
+      }
+    });
+
+    assertTrue(source.started.await(5, TimeUnit.SECONDS));
+    thread.interrupt();
+    thread.join(TimeUnit.SECONDS.toMillis(5));
+
+    assertFalse(thread.isAlive());
+    assertTrue(source.stopped.await(5, TimeUnit.SECONDS));
+  }
+
+  // Runs the pipeline on the calling thread and returns the lines written to the terminal
+  private List<String> run(Pipeline.Stage... stages) throws Exception {
+    written.setLength(0);
+    new Pipeline(List.of(stages))
+        .executeAsync(context, new StreamOutput(out, uiExecutor), new String[0]);
+
+    // The last output is handed to the UI thread, wait until it was written
+    uiExecutor.submit(() -> { }).get(5, TimeUnit.SECONDS);
+    List<String> lines = new ArrayList<>(List.of(written.toString().split("\r\n")));
+    lines.removeIf(String::isEmpty);
+    return lines;
+  }
+
+  private static Pipeline.Stage stage(PipelineCommand command, String... args) {
+    String[] all = new String[args.length + 1];
+    all[0] = command.getName();
+    System.arraycopy(args, 0, all, 1, args.length);
+    return new Pipeline.Stage(command, all);
+  }
+
+  // Writes numbered lines until the pipeline stops it
+  private static class Source implements PipelineCommand {
+    final CountDownLatch started = new CountDownLatch(1);
+    final CountDownLatch stopped = new CountDownLatch(1);
+
+    @Override
+    public String getName() {
+      return "source";
+    }
+
+    @Override
+    public String getDescription() {
+      return "source";
+    }
+
+    @Override
+    public void pipe(CommandContext context, LineInput in, LineOutput out, String[] args)
+        throws InterruptedException {
+      started.countDown();
+      try {
+        for (long i = 1; ; i++) {
+          out.writeLine(Long.toString(i));
+        }
+      } finally {
+        stopped.countDown();
+      }
+    }
+  }
+}
@@ -0,0 +1,145 @@
+package com.terminal.recording;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class RecordingStoreTest {
+
+  @TempDir
+  Path dir;
+
+  @Test
+  void shouldWriteEventsReadableAsAsciicast() throws Exception {
+    RecordingStore store = new RecordingStore(true, dir.toString(), 1 << 20, true);
+    Recording recording = store.start("user-1", 80, 24);
+
+    recording.onWrite("$ ");
+    recording.onInput("ls\r");
+    recording.onWrite("\u001B[1;32m\"quoted\"\\ \u00e9\u001B[0m\r\n");
+    recording.close();
+    store.shutdown();
+
+    assertEquals(List.of(recording.getName()), store.list("user-1"));
+    List<String> lines = read(store, "user-1", recording.getName());
+    assertTrue(lines.get(0).startsWith("{\"version\": 2, \"width\": 80, \"height\": 24"));
+    assertEquals(List.of("o:$ ", "i:ls\r", "o:\u001B[1;32m\"quoted\"\\ \u00e9\u001B[0m\r\n"),
+        lines.stream().skip(1).map(Asciicast::parseEvent)
+            .map(event -> event.type() + ":" + event.data()).toList());
+  }
+
+  @Test
+  void shouldLeaveInputOutUnlessEnabled() throws Exception {
+    RecordingStore store = new RecordingStore(true, dir.toString(), 1 << 20, false);
+    Recording recording = store.start("user-1", 80, 24);
+
+    recording.onInput("secret\r");
+    recording.onWrite("done");
+    recording.close();
+    store.shutdown();
+
+    List<String> lines = read(store, "user-1", recording.getName());
+    assertEquals(2, lines.size());
+    assertEquals("done", Asciicast.parseEvent(lines.get(1)).data());
+  }
+
+  @Test
+  void shouldRotateIntoPartsWithTheirOwnHeader() throws Exception {
+    RecordingStore store = new RecordingStore(true, dir.toString(), 200, false);
+    Recording recording = store.start("user-1", 80, 24);
+
+    for (int i = 0; i < 10; i++) {
+      recording.onWrite("line " + i + " " + "x".repeat(40) + "\r\n");
+    }
+    recording.close();
+    store.shutdown();
+
+    List<String> names = store.list("user-1");
+    assertTrue(names.size() > 1);
+    int events = 0;
+    for (String name : names) {
+      List<String> lines = read(store, "user-1", name);
+      assertTrue(lines.get(0).startsWith("{\"version\": 2"));
+      events += lines.size() - 1;
+    }
+    assertEquals(10, events);
+  }
+
+  @Test
+  void shouldStartPartsAfterAResizeWithTheNewSize() throws Exception {
+    RecordingStore store = new RecordingStore(true, dir.toString(), 150, false);
+    Recording recording = store.start("user-1", 80, 24);
+
+    recording.onResize(120, 40);
+    recording.onWrite("x".repeat(100));
+    recording.onWrite("after");
+    recording.close();
+    store.shutdown();
+
+    List<String> names = store.list("user-1");
+    assertEquals(2, names.size());
+    List<String> first = read(store, "user-1", names.get(0));
+    assertEquals("120x40", Asciicast.parseEvent(first.get(1)).data());
+    assertEquals("r", Asciicast.parseEvent(first.get(1)).type());
+    assertTrue(read(store, "user-1", names.get(1)).get(0)
+        .startsWith("{\"version\": 2, \"width\": 120, \"height\": 40"));
+  }
+
+  @Test
+  void shouldNotRecordWhenDisabled() {
+    RecordingStore store = new RecordingStore(false, dir.toString(), 1 << 20, false);
+
+    assertNull(store.start("user-1", 80, 24));
+  }
+
+  @Test
+  void shouldKeepUserIdsInsideTheDirectory() throws Exception {
+    RecordingStore store = new RecordingStore(true, dir.toString(), 1 << 20, false);
+    Recording recording = store.start("../../etc/passwd", 80, 24);
+    recording.onWrite("x");
+    recording.close();
+    store.shutdown();
+
+    assertEquals(List.of(recording.getName()), store.list("../../etc/passwd"));
+    assertTrue(recording.getName().startsWith("______etc_passwd-"));
+  }
+
+  @Test
+  void shouldOnlyListAndOpenTheOwnersRecordings() throws Exception {
+    RecordingStore store = new RecordingStore(true, dir.toString(), 1 << 20, false);
+    Recording mine = store.start("user-1", 80, 24);
+    Recording theirs = store.start("user-1-20250101-120000-ab", 80, 24);
+    mine.onWrite("mine");
+    theirs.onWrite("theirs");
+    mine.close();
+    theirs.close();
+    store.shutdown();
+
+    assertEquals(List.of(mine.getName()), store.list("user-1"));
+    assertEquals(List.of(theirs.getName()), store.list("user-1-20250101-120000-ab"));
+    assertThrows(IOException.class, () -> store.open("user-1", theirs.getName()));
+    assertThrows(IOException.class, () -> store.open("user-2", mine.getName()));
+  }
+
+  private static List<String> read(RecordingStore store, String userId, String name)
+      throws IOException {
+    List<String> lines = new ArrayList<>();
+    try (BufferedReader reader = store.open(userId, name)) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        lines.add(line);
+      }
+    }
+    return lines;
+  }
+}
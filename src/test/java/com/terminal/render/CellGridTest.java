@@ -0,0 +1,57 @@
+package com.terminal.render;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+class CellGridTest {
+
+  @Test
+  void shouldEmitOnlyChangedCells() {
+    CellGrid grid = new CellGrid(4, 2, 7, 2);
+    grid.reset(" ", null);
+
+    grid.set(1, 0, "●", "\u001B[1;32m");
+    grid.set(2, 0, " ", null);
+    StringBuilder out = new StringBuilder();
+
+    assertEquals(1, grid.render(out));
+    assertEquals("\u001B[7;3H\u001B[0m\u001B[1;32m●\u001B[0m", out.toString());
+  }
+
+  @Test
+  void shouldSkipCursorAddressingForAdjacentCells() {
+    CellGrid grid = new CellGrid(4, 2, 1, 1);
+    grid.reset(" ", null);
+
+    grid.set(0, 1, "a", null);
+    grid.set(1, 1, "b", null);
+    StringBuilder out = new StringBuilder();
+    grid.render(out);
+
+    assertEquals("\u001B[2;1Hab", out.toString());
+  }
+
+  @Test
+  void shouldRenderNothingWhenFrameIsUnchanged() {
+    CellGrid grid = new CellGrid(2, 2, 1, 1);
+    grid.reset(" ", null);
+    grid.set(0, 0, "x", null);
+    grid.render(new StringBuilder());
+
+    grid.set(0, 0, "x", null);
+    StringBuilder out = new StringBuilder();
+
+    assertEquals(0, grid.render(out));
+    assertEquals("", out.toString());
+  }
+
+  @Test
+  void shouldRenderEveryCellAfterInvalidate() {
+    CellGrid grid = new CellGrid(2, 2, 1, 1);
+    grid.reset(" ", null);
+    grid.invalidate();
+
+    assertEquals(4, grid.render(new StringBuilder()));
+  }
+}
@@ -0,0 +1,91 @@
+package com.terminal.render;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class TableWriterTest {
+
+  List<String> chunks = new ArrayList<>();
+
+  @Test
+  void shouldAlignColumnsToTheWidestSampledCell() {
+    TableWriter table = new TableWriter(chunk -> chunks.add(chunk.toString()), 80)
+        .column("#", TableWriter.Align.RIGHT, null)
+        .column("Name", TableWriter.Align.LEFT, null)
+        .column("Size", TableWriter.Align.RIGHT, null)
+        .setStyled(false);
+    table.cell(1).cell("snake").cell(42).endRow();
+    table.cell(10).cell("help").cell(7).endRow();
+    table.finish();
+
+    assertEquals(" #  Name   Size\r\n"
+        + " 1  snake    42\r\n"
+        + "10  help      7\r\n", String.join("", chunks));
+    assertEquals(2, table.getRowCount());
+  }
+
+  @Test
+  void shouldTruncateRowsAfterTheSampleByDisplayWidth() {
+    TableWriter table = new TableWriter(chunk -> chunks.add(chunk.toString()), 0)
+        .column(null, TableWriter.Align.LEFT, null)
+        .column(null, TableWriter.Align.LEFT, null)
+        .setSampleRows(1);
+    table.cell("abcd").cell("x").endRow();
+    table.cell("日本語").cell("y").endRow();
+    table.finish();
+
+    assertEquals(4, table.getColumnWidth(0));
+    assertEquals("abcd  x\r\n日…   y\r\n", String.join("", chunks));
+  }
+
+  @Test
+  void shouldWrapCellsOntoContinuationLines() {
+    TableWriter table = new TableWriter(chunk -> chunks.add(chunk.toString()), 10)
+        .column(null, TableWriter.Align.RIGHT, null, 2)
+        .column(null, TableWriter.Align.LEFT, null)
+        .setOverflow(TableWriter.Overflow.WRAP);
+    table.cell(7).cell("abcdefghijklmno").endRow();
+    table.finish();
+
+    assertEquals(" 7  abcdef\r\n"
+        + "    ghijkl\r\n"
+        + "    mno\r\n", String.join("", chunks));
+  }
+
+  @Test
+  void shouldWriteInChunksWithBoundedSample() {
+    StringBuilder all = new StringBuilder();
+    int[] writes = {0};
+    TableWriter table = new TableWriter(chunk -> {
+      writes[0]++;
+      all.append(chunk);
+    }, 80)
+        .column(null, TableWriter.Align.RIGHT, Style.GREEN, 5)
+        .column(null, TableWriter.Align.LEFT, null)
+        .setStyled(false)
+        .setChunkChars(1024);
+
+    for (int i = 0; i < 100_000; i++) {
+      table.cell(i).cell("row").endRow();
+    }
+    table.finish();
+
+    assertTrue(writes[0] > 100);
+    assertTrue(all.indexOf("\u001B") < 0);
+    assertTrue(all.toString().startsWith("    0  row\r\n"));
+    assertTrue(all.toString().endsWith("99999  row\r\n"));
+  }
+
+  @Test
+  void shouldRejectTooManyCells() {
+    TableWriter table = new TableWriter(chunk -> { }, 80)
+        .column(null, TableWriter.Align.LEFT, null);
+    table.cell("a");
+    assertThrows(IllegalStateException.class, () -> table.cell("b"));
+  }
+}
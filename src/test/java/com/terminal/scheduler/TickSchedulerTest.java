@@ -0,0 +1,143 @@
+package com.terminal.scheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TickSchedulerTest {
+
+  // Long enough that the scheduler thread never ticks while a test dispatches by hand
+  static final int PERIOD_MILLIS = 60_000;
+
+  TickScheduler scheduler;
+  List<Runnable> queued;
+  TickSession session;
+
+  @BeforeEach
+  void setUp() {
+    scheduler = new TickScheduler(PERIOD_MILLIS);
+    queued = new ArrayList<>();
+    session = scheduler.openSession(queued::add);
+  }
+
+  @AfterEach
+  void tearDown() {
+    scheduler.shutdown();
+  }
+
+  @Test
+  void shouldDispatchDueRegistrationsAsOneBatch() {
+    List<String> ticked = new ArrayList<>();
+    session.register(() -> ticked.add("a"), PERIOD_MILLIS);
+    session.register(() -> ticked.add("b"), PERIOD_MILLIS);
+    session.register(() -> ticked.add("slow"), 2 * PERIOD_MILLIS);
+
+    assertTrue(session.dispatch(1));
+    assertEquals(1, queued.size());
+    runQueued();
+    assertEquals(List.of("a", "b"), ticked);
+
+    ticked.clear();
+    assertTrue(session.dispatch(2));
+    assertEquals(1, queued.size());
+    runQueued();
+    assertEquals(List.of("a", "b", "slow"), ticked);
+  }
+
+  @Test
+  void shouldNotTickRemovedRegistrations() {
+    int[] ticks = {0};
+    TickSession.Registration registration = session.register(() -> ticks[0]++, PERIOD_MILLIS);
+
+    assertTrue(session.dispatch(1));
+    registration.remove();
+    runQueued();
+
+    assertEquals(0, ticks[0]);
+    assertEquals(0, session.getRegistrationCount());
+    assertFalse(session.dispatch(2));
+  }
+
+  @Test
+  void shouldLowerTheRateWhileBehindAndRecover() {
+    session.register(() -> { }, PERIOD_MILLIS);
+
+    assertTrue(session.dispatch(1));
+    assertFalse(session.dispatch(2));
+    assertEquals(2, session.getRateDivisor());
+    assertFalse(session.dispatch(4));
+    assertFalse(session.dispatch(8));
+    assertEquals(TickSession.MAX_RATE_DIVISOR, session.getRateDivisor());
+    assertEquals(3, session.getSkippedFrames());
+
+    runQueued();
+    int batches = 0;
+    for (long tick = 9; session.getRateDivisor() > 1 && tick < 10_000; tick++) {
+      if (session.dispatch(tick)) {
+        batches++;
+        runQueued();
+      }
+    }
+
+    assertEquals(1, session.getRateDivisor());
+    assertEquals(2 * TickSession.RECOVERY_BATCHES, batches);
+    assertEquals(3, session.getSkippedFrames());
+  }
+
+  @Test
+  void shouldPauseWhileHiddenAndResume() {
+    int[] ticks = {0};
+    session.register(() -> ticks[0]++, PERIOD_MILLIS);
+
+    session.setVisible(false);
+    assertFalse(session.dispatch(1));
+    assertTrue(queued.isEmpty());
+
+    session.setVisible(true);
+    assertTrue(session.dispatch(2));
+    runQueued();
+    assertEquals(1, ticks[0]);
+  }
+
+  @Test
+  void shouldDetachClosedSessions() {
+    session.register(() -> { }, PERIOD_MILLIS);
+    assertEquals(1, scheduler.getSessionCount());
+
+    session.close();
+
+    assertEquals(0, scheduler.getSessionCount());
+    assertEquals(0, session.getRegistrationCount());
+    assertFalse(session.dispatch(1));
+  }
+
+  @Test
+  void shouldTickSessionsOnTheSchedulerThread() throws Exception {
+    TickScheduler clock = new TickScheduler(5);
+    try {
+      CountDownLatch ticked = new CountDownLatch(3);
+      clock.openSession(Runnable::run).register(ticked::countDown, 5);
+
+      assertTrue(ticked.await(5, TimeUnit.SECONDS));
+      // The statistics of a tick are updated once its batches are dispatched
+      assertTrue(clock.getTickCount() >= 3);
+      assertTrue(clock.getBatchCount() >= 2);
+    } finally {
+      clock.shutdown();
+    }
+  }
+
+  private void runQueued() {
+    List<Runnable> tasks = new ArrayList<>(queued);
+    queued.clear();
+    tasks.forEach(Runnable::run);
+  }
+}
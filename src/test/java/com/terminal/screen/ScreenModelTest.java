@@ -0,0 +1,137 @@
+package com.terminal.screen;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+import com.terminal.io.LineEditor;
+import com.terminal.io.OutputBuffer;
+import com.webforj.component.terminal.Terminal;
+import static org.mockito.Mockito.mock;
+
+class ScreenModelTest {
+
+  @Test
+  void shouldWrapAndScrollIntoScrollback() {
+    ScreenModel screen = new ScreenModel(4, 2, 10);
+
+    screen.onWrite("abcdef\r\nxy\r\nz");
+
+    assertEquals(2, screen.getScrollbackSize());
+    assertEquals("abcd", screen.getScrollbackLine(0));
+    assertEquals("ef", screen.getScrollbackLine(1));
+    assertEquals("xy", screen.getLine(0));
+    assertEquals("z", screen.getLine(1));
+    assertEquals(1, screen.getCursorRow());
+    assertEquals(1, screen.getCursorColumn());
+  }
+
+  @Test
+  void shouldApplyCursorMovementAndErasing() {
+    ScreenModel screen = new ScreenModel(10, 3, 0);
+
+    screen.onWrite("hello\r\nworld\u001B[1;2Hi\u001B[K\u001B[2;4H\u001B[1P");
+
+    assertEquals("hi", screen.getLine(0));
+    assertEquals("word", screen.getLine(1));
+  }
+
+  @Test
+  void shouldKeepWideCharactersInTwoCells() {
+    ScreenModel screen = new ScreenModel(5, 2, 0);
+
+    screen.onWrite("ab中中");
+
+    assertEquals("ab中", screen.getLine(0));
+    assertEquals("中", screen.getLine(1));
+    assertEquals(2, screen.getCursorColumn());
+  }
+
+  @Test
+  void shouldSerializeStylesOnlyWhereTheyChange() {
+    ScreenModel screen = new ScreenModel(10, 2, 0);
+
+    screen.onWrite("\u001B[1;32mok\u001B[0m done");
+
+    assertEquals("\u001B[0;1;32mok\u001B[0m done\u001B[1;8H", screen.snapshot());
+  }
+
+  @Test
+  void shouldRebuildTheSameScreenFromSnapshot() {
+    ScreenModel screen = new ScreenModel(8, 3, 5);
+    screen.onWrite("\u001B[31mred\u001B[0m\r\n\u001B[48;5;200mbg\u001B[m\r\n"
+        + "line 3\r\nline 4 wraps\u001B[2;3H");
+
+    ScreenModel copy = new ScreenModel(8, 3, 5);
+    copy.onWrite(screen.snapshot());
+
+    assertEquals(screen.snapshot(), copy.snapshot());
+    assertEquals(screen.getCursorRow(), copy.getCursorRow());
+    assertEquals(screen.getCursorColumn(), copy.getCursorColumn());
+  }
+
+  @Test
+  void shouldKeepCursorRowOnClear() {
+    ScreenModel screen = new ScreenModel(10, 3, 5);
+    screen.onWrite("a\r\nb\r\nc\r\n$ ls");
+
+    screen.onClear();
+
+    assertEquals(0, screen.getScrollbackSize());
+    assertEquals("$ ls", screen.getLine(0));
+    assertEquals("", screen.getLine(1));
+    assertEquals(0, screen.getCursorRow());
+  }
+
+  @Test
+  void shouldRestoreNormalScreenAfterAlternateScreen() {
+    ScreenModel screen = new ScreenModel(10, 2, 5);
+    screen.onWrite("$ less\r\n");
+
+    screen.onWrite("\u001B[?1049h\u001B[Hpage 1\r\npage 2\r\npage 3");
+    assertEquals("page 3", screen.getLine(1));
+    screen.onWrite("\u001B[?1049l");
+
+    assertEquals(0, screen.getScrollbackSize());
+    assertEquals("$ less", screen.getLine(0));
+    assertEquals("", screen.getLine(1));
+    assertEquals(1, screen.getCursorRow());
+    assertEquals(0, screen.getCursorColumn());
+  }
+
+  @Test
+  void shouldResizeTheNormalScreenBehindTheAlternateScreen() {
+    ScreenModel screen = new ScreenModel(10, 4, 5);
+    screen.onWrite("one\r\ntwo\r\n$ less");
+    screen.onWrite("\u001B[?1049h\u001B[Hpage 1\r\npage 2");
+
+    screen.resize(20, 2);
+    assertEquals("page 1", screen.getLine(0));
+    assertEquals("page 2", screen.getLine(1));
+    assertEquals(1, screen.getScrollbackSize());
+
+    screen.onWrite("\u001B[?1049l -N notes.txt");
+    assertEquals("two", screen.getLine(0));
+    assertEquals("$ less -N notes.txt", screen.getLine(1));
+    assertEquals(1, screen.getCursorRow());
+  }
+
+  @Test
+  void shouldShowWhatTheLineEditorDrew() {
+    OutputBuffer out = new OutputBuffer(mock(Terminal.class));
+    ScreenModel screen = new ScreenModel(6, 4, 0);
+    out.addListener(screen);
+    LineEditor editor = new LineEditor(out, "$ ", () -> 6);
+
+    editor.show();
+    editor.insert("echo hi");
+    editor.home();
+    editor.deleteWordBefore();
+    editor.insert("x");
+    editor.setLine("ls");
+
+    assertEquals("$ ls", screen.getLine(0));
+    assertEquals("", screen.getLine(1));
+    assertEquals(4, screen.getCursorColumn());
+  }
+}
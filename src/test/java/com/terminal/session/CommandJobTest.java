@@ -0,0 +1,98 @@
+package com.terminal.session;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import com.terminal.commands.AsyncCommand;
+import com.terminal.commands.CommandContext;
+import com.terminal.io.InputEvent;
+import com.terminal.io.OutputBuffer;
+import com.terminal.io.StreamOutput;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.webforj.component.terminal.Terminal;
+
+class CommandJobTest {
+
+  ExecutorService uiExecutor;
+  OutputBuffer out;
+  StringBuffer written;
+  ForegroundStack stack;
+  CommandContext context;
+
+  @BeforeEach
+  void setUp() {
+    // A single thread stands in for the session's UI thread
+    uiExecutor = Executors.newSingleThreadExecutor();
+    Terminal terminal = mock(Terminal.class);
+    out = new OutputBuffer(terminal);
+    written = new StringBuffer();
+    out.addListener(written::append);
+    stack = new ForegroundStack(new ForegroundApp() {
+      @Override
+      public void onInput(InputEvent event) {
+      }
+    });
+    context = new CommandContext(terminal, "user-1", out, null, uiExecutor, stack, null, null,
+        null, null);
+  }
+
+  @AfterEach
+  void tearDown() {
+    uiExecutor.shutdownNow();
+  }
+
+  @Test
+  void shouldReportAnErrorAndReturnToTheShell() throws Exception {
+    assertFinishes(new Failing(new StackOverflowError()));
+
+    assertTrue(written.toString().contains("Error executing command: StackOverflowError"),
+        written.toString());
+  }
+
+  @Test
+  void shouldReportAnExceptionAndReturnToTheShell() throws Exception {
+    assertFinishes(new Failing(new IllegalStateException("broken")));
+
+    assertTrue(written.toString().contains("Error executing command: broken"),
+        written.toString());
+  }
+
+  // Runs the command as a job and waits until the shell is back in the foreground
+  private void assertFinishes(AsyncCommand command) throws Exception {
+    CountDownLatch done = new CountDownLatch(1);
+    uiExecutor.execute(() -> new CommandJob(command, new String[] {command.getName()}, context,
+        done::countDown).start(stack));
+
+    assertTrue(done.await(5, TimeUnit.SECONDS));
+    assertTrue(uiExecutor.submit(stack::isShellInForeground).get(5, TimeUnit.SECONDS));
+  }
+
+  // Throws the given failure as soon as it runs
+  private record Failing(Throwable failure) implements AsyncCommand {
+
+    @Override
+    public String getName() {
+      return "fail";
+    }
+
+    @Override
+    public String getDescription() {
+      return "fail";
+    }
+
+    @Override
+    public void executeAsync(CommandContext context, StreamOutput out, String[] args) {
+      if (failure instanceof Error error) {
+        throw error;
+      }
+      throw (RuntimeException) failure;
+    }
+  }
+}
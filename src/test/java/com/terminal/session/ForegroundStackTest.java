@@ -0,0 +1,108 @@
+package com.terminal.session;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.terminal.io.InputEvent;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ForegroundStackTest {
+
+  List<String> events;
+  ForegroundApp shell;
+  ForegroundStack stack;
+
+  @BeforeEach
+  void setUp() {
+    events = new ArrayList<>();
+    shell = new RecordingApp("shell");
+    stack = new ForegroundStack(shell);
+  }
+
+  @Test
+  void shouldRouteInputToTheTopApplication() {
+    ForegroundStack.Handle pager = stack.push(new RecordingApp("pager"));
+    ForegroundStack.Handle snake = stack.push(new RecordingApp("snake"));
+    assertEquals(2, stack.size());
+    assertFalse(stack.isShellInForeground());
+
+    stack.dispatchInput(null);
+    snake.close();
+    stack.dispatchInput(null);
+    pager.close();
+    stack.dispatchInput(null);
+
+    assertTrue(stack.isShellInForeground());
+    assertSame(shell, stack.current());
+    assertEquals(List.of("snake input", "snake exit", "pager input", "pager exit", "shell input"),
+        events);
+  }
+
+  @Test
+  void shouldReleaseOwnedResourcesOnceOnExit() {
+    ForegroundStack.Handle handle = stack.push(new RecordingApp("snake"))
+        .own(() -> events.add("tick released"))
+        .own(() -> {
+          throw new IllegalStateException("broken");
+        })
+        .own(() -> events.add("timer released"));
+    assertEquals(4, stack.getLiveListenerCount());
+
+    handle.close();
+    handle.close();
+
+    assertFalse(handle.isActive());
+    assertEquals(0, stack.getLiveListenerCount());
+    assertEquals(List.of("tick released", "timer released", "snake exit"), events);
+  }
+
+  @Test
+  void shouldCloseEveryApplicationOnCloseAll() {
+    stack.push(new RecordingApp("pager")).own(() -> events.add("pager released"));
+    stack.push(new RecordingApp("snake"));
+
+    stack.closeAll();
+
+    assertEquals(0, stack.size());
+    assertEquals(0, stack.getLiveListenerCount());
+    assertEquals(List.of("snake exit", "pager released", "pager exit"), events);
+  }
+
+  @Test
+  void shouldNotRetainApplicationsAfterTheyExit() throws Exception {
+    stack.push(new RecordingApp("snake")).own(() -> { }).close();
+    stack.push(new RecordingApp("pager")).close();
+    ForegroundStack.Handle live = stack.push(new RecordingApp("less"));
+
+    for (int i = 0; i < 50 && stack.getRetainedAppCount() > 1; i++) {
+      System.gc();
+      Thread.sleep(10);
+    }
+
+    assertEquals(1, stack.getRetainedAppCount());
+    assertTrue(live.isActive());
+  }
+
+  private class RecordingApp implements ForegroundApp {
+    private final String name;
+
+    RecordingApp(String name) {
+      this.name = name;
+    }
+
+    @Override
+    public void onInput(InputEvent event) {
+      events.add(name + " input");
+    }
+
+    @Override
+    public void onExit() {
+      events.add(name + " exit");
+    }
+  }
+}
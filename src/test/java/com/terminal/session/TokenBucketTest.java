@@ -0,0 +1,70 @@
+package com.terminal.session;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class TokenBucketTest {
+
+  long now = 0;
+
+  @Test
+  void shouldLetBurstThroughThenRejectUntilRefilled() {
+    TokenBucket bucket = new TokenBucket(10, 3, () -> now);
+
+    assertTrue(bucket.tryAcquire());
+    assertTrue(bucket.tryAcquire());
+    assertTrue(bucket.tryAcquire());
+    assertFalse(bucket.tryAcquire());
+
+    now += TimeUnit.MILLISECONDS.toNanos(100);
+    assertTrue(bucket.tryAcquire());
+    assertFalse(bucket.tryAcquire());
+    assertEquals(2, bucket.getRejectedCount());
+  }
+
+  @Test
+  void shouldChargeActionsBySize() {
+    TokenBucket bucket = new TokenBucket(100, 10, () -> now);
+
+    assertTrue(bucket.tryAcquire(6));
+    assertFalse(bucket.tryAcquire(6));
+    assertTrue(bucket.tryAcquire(4));
+    assertFalse(bucket.tryAcquire(1));
+
+    now += TimeUnit.SECONDS.toNanos(1);
+    assertFalse(bucket.tryAcquire(11));
+    assertTrue(bucket.tryAcquire(10));
+    assertEquals(3, bucket.getRejectedCount());
+  }
+
+  @Test
+  void shouldNotRefillBeyondBurst() {
+    TokenBucket bucket = new TokenBucket(10, 2, () -> now);
+
+    now += TimeUnit.SECONDS.toNanos(60);
+    assertTrue(bucket.tryAcquire());
+    assertTrue(bucket.tryAcquire());
+    assertFalse(bucket.tryAcquire());
+  }
+
+  @Test
+  void shouldNotLimitWithoutRate() {
+    TokenBucket bucket = new TokenBucket(0, 0, () -> now);
+
+    for (int i = 0; i < 1000; i++) {
+      assertTrue(bucket.tryAcquire());
+    }
+    assertFalse(bucket.isLimited());
+    assertEquals(0, bucket.getRejectedCount());
+  }
+
+  @Test
+  void shouldRejectEmptyBurst() {
+    assertThrows(IllegalArgumentException.class, () -> new TokenBucket(10, 0));
+  }
+}
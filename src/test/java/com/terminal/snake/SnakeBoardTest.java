@@ -0,0 +1,59 @@
+package com.terminal.snake;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class SnakeBoardTest {
+
+  @Test
+  void shouldTrackOccupancyAsTheSnakeMoves() {
+    SnakeBoard board = new SnakeBoard(4, 3);
+    board.addTail(board.cell(2, 1));
+    board.addTail(board.cell(1, 1));
+
+    board.addHead(board.cell(3, 1));
+    int freed = board.removeTail();
+
+    assertEquals(board.cell(1, 1), freed);
+    assertFalse(board.isOccupied(freed));
+    assertTrue(board.isOccupied(board.cell(3, 1)));
+    assertEquals(board.cell(3, 1), board.head());
+    assertEquals(board.cell(2, 1), board.tail());
+    assertEquals(10, board.freeCount());
+  }
+
+  @Test
+  void shouldOnlyPickFreeCells() {
+    SnakeBoard board = new SnakeBoard(3, 3);
+    for (int cell = 0; cell < 8; cell++) {
+      board.addHead(cell);
+    }
+
+    Random random = new Random(42);
+    for (int i = 0; i < 20; i++) {
+      assertEquals(8, board.randomFreeCell(random));
+    }
+
+    board.addHead(8);
+    assertEquals(-1, board.randomFreeCell(random));
+  }
+
+  @Test
+  void shouldWrapAroundTheRingBuffer() {
+    SnakeBoard board = new SnakeBoard(2, 2);
+    board.addHead(0);
+    for (int step = 1; step <= 10; step++) {
+      board.addHead(step % 4);
+      board.removeTail();
+    }
+
+    assertEquals(1, board.length());
+    assertEquals(10 % 4, board.head());
+    assertEquals(3, board.freeCount());
+  }
+}
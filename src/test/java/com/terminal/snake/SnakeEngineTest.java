@@ -0,0 +1,128 @@
+package com.terminal.snake;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.terminal.snake.SnakeEngine.Outcome;
+import com.terminal.snake.SnakeRenderer.Piece;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+class SnakeEngineTest {
+
+  @Test
+  void shouldHitTheWallMovingStraight() {
+    SnakeEngine engine = new SnakeEngine(10, 5, 1, SnakeRenderer.NONE);
+    engine.start();
+
+    // The head starts in column 5 and the food may lie on the way
+    Outcome outcome;
+    do {
+      outcome = engine.tick();
+    } while (!outcome.isOver());
+
+    assertEquals(Outcome.HIT_WALL, outcome);
+    assertTrue(engine.isOver());
+    assertThrows(IllegalStateException.class, engine::tick);
+  }
+
+  @Test
+  void shouldIgnoreReversing() {
+    SnakeEngine engine = new SnakeEngine(10, 5, 1, SnakeRenderer.NONE);
+    engine.start();
+
+    engine.turn(Direction.LEFT);
+    engine.tick();
+
+    assertEquals(Direction.RIGHT, engine.getDirection());
+  }
+
+  @Test
+  void shouldBiteItselfTurningInACircle() {
+    SnakeEngine engine = new SnakeEngine(20, 20, 7, SnakeRenderer.NONE);
+    engine.start();
+    // Grow until the snake is long enough to run into itself, food is placed at random
+    while (engine.getLength() < 5) {
+      steerTowardsFood(engine);
+      assertFalse(engine.tick().isOver());
+    }
+
+    Outcome outcome = Outcome.MOVED;
+    Direction[] circle = {Direction.UP, Direction.LEFT, Direction.DOWN, Direction.RIGHT};
+    for (int i = 0; !outcome.isOver(); i++) {
+      engine.turn(circle[i % circle.length]);
+      outcome = engine.tick();
+    }
+
+    assertEquals(Outcome.HIT_SELF, outcome);
+  }
+
+  @Test
+  void shouldReplayTheSameGameFromTheSameSeed() {
+    assertEquals(play(42), play(42));
+    assertFalse(play(42).equals(play(43)));
+  }
+
+  @Test
+  void shouldKeepTheRenderedCellsConsistentWithTheBoard() {
+    SplittableRandom moves = new SplittableRandom(3);
+    for (int game = 0; game < 1000; game++) {
+      Piece[] screen = new Piece[8 * 6];
+      Arrays.fill(screen, Piece.EMPTY);
+      SnakeEngine engine = new SnakeEngine(8, 6, game, (cell, piece) -> screen[cell] = piece);
+      engine.start();
+
+      while (!engine.tick().isOver()) {
+        SnakeBoard board = engine.getBoard();
+        int drawn = 0;
+        for (int cell = 0; cell < screen.length; cell++) {
+          if (screen[cell] == Piece.HEAD || screen[cell] == Piece.BODY) {
+            assertTrue(board.isOccupied(cell));
+            drawn++;
+          }
+        }
+        assertEquals(engine.getLength(), drawn);
+        assertEquals(Piece.HEAD, screen[board.head()]);
+        assertEquals(Piece.FOOD, screen[engine.getFood()]);
+        assertEquals((engine.getLength() - SnakeEngine.START_LENGTH) * SnakeEngine.FOOD_POINTS,
+            engine.getScore());
+
+        if (moves.nextInt(3) == 0) {
+          engine.turn(Direction.values()[moves.nextInt(4)]);
+        }
+      }
+    }
+  }
+
+  // Plays a game that steers towards the food, and returns where the food appeared
+  private static List<Integer> play(long seed) {
+    SnakeEngine engine = new SnakeEngine(20, 10, seed, SnakeRenderer.NONE);
+    engine.start();
+    List<Integer> food = new ArrayList<>();
+    food.add(engine.getFood());
+    while (engine.getTicks() < 500 && !engine.isOver()) {
+      steerTowardsFood(engine);
+      if (engine.tick() == Outcome.ATE) {
+        food.add(engine.getFood());
+      }
+    }
+    return food;
+  }
+
+  private static void steerTowardsFood(SnakeEngine engine) {
+    SnakeBoard board = engine.getBoard();
+    int dx = board.x(engine.getFood()) - board.x(board.head());
+    int dy = board.y(engine.getFood()) - board.y(board.head());
+    if (dx != 0) {
+      engine.turn(dx > 0 ? Direction.RIGHT : Direction.LEFT);
+    } else {
+      engine.turn(dy > 0 ? Direction.DOWN : Direction.UP);
+    }
+  }
+}
@@ -0,0 +1,124 @@
+package com.terminal.spectate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.terminal.io.FlowControl;
+import com.terminal.io.OutputBuffer;
+import com.terminal.screen.ScreenModel;
+import com.webforj.component.terminal.Terminal;
+
+class BroadcastTest {
+
+  ScreenModel screen;
+  Broadcast broadcast;
+  Queue<Runnable> viewerTasks;
+  ScreenModel viewerScreen;
+  OutputBuffer viewerOut;
+
+  @BeforeEach
+  void setUp() {
+    screen = new ScreenModel(40, 4, 0);
+    broadcast = new Broadcast(screen);
+    viewerTasks = new ArrayDeque<>();
+    viewerScreen = new ScreenModel(40, 4, 0);
+    viewerOut = new OutputBuffer(mock(Terminal.class));
+    viewerOut.addListener(viewerScreen);
+  }
+
+  @Test
+  void shouldStartLateJoinersWithSnapshotThenDeltas() {
+    broadcast.onWrite("\u001B[1;32mscore 1\u001B[0m\r\n$ ");
+    Spectator spectator = new Spectator(broadcast, viewerOut, viewerTasks::add);
+
+    broadcast.join(spectator);
+    broadcast.onWrite("snake");
+    runViewerTasks();
+    broadcast.onWrite("\r\nscore 2");
+    runViewerTasks();
+
+    assertEquals(screen.snapshot(), viewerScreen.snapshot());
+    assertEquals(1, spectator.getSnapshotCount());
+  }
+
+  @Test
+  void shouldMergeFramesOfSlowSpectatorsIntoOneSnapshot() {
+    Spectator spectator = new Spectator(broadcast, viewerOut, viewerTasks::add, 2);
+    broadcast.join(spectator);
+    runViewerTasks();
+
+    for (int i = 0; i < 10; i++) {
+      broadcast.onWrite("\u001B[1;1Hframe " + i);
+    }
+    assertEquals(1, viewerTasks.size());
+    runViewerTasks();
+
+    assertEquals("frame 9", viewerScreen.getLine(0));
+    assertEquals(2, spectator.getSnapshotCount());
+  }
+
+  @Test
+  void shouldHoldFramesBackFromCongestedViewersAndCatchThemUpWithASnapshot() {
+    // The mocked terminal never acknowledges, so the first snapshot congests the viewer
+    FlowControl flow = new FlowControl(1, 0);
+    viewerOut.setFlowControl(flow);
+    Spectator spectator = new Spectator(broadcast, viewerOut, viewerTasks::add);
+    broadcast.join(spectator);
+    runViewerTasks();
+    assertTrue(flow.isCongested());
+
+    for (int i = 0; i < 10; i++) {
+      broadcast.onWrite("\u001B[1;1Hframe " + i);
+      runViewerTasks();
+    }
+    assertEquals("", viewerScreen.getLine(0));
+
+    flow.acknowledged((int) flow.getUnacknowledgedBytes());
+    runViewerTasks();
+
+    assertEquals("frame 9", viewerScreen.getLine(0));
+    assertEquals(2, spectator.getSnapshotCount());
+  }
+
+  @Test
+  void shouldStopDeliveringAfterLeaving() {
+    Spectator spectator = new Spectator(broadcast, viewerOut, viewerTasks::add);
+    broadcast.join(spectator);
+    runViewerTasks();
+
+    broadcast.leave(spectator);
+    broadcast.onWrite("hidden");
+
+    assertTrue(viewerTasks.isEmpty());
+    assertEquals(0, broadcast.getSpectatorCount());
+  }
+
+  @Test
+  void shouldTellSpectatorsWhenSharingEnds() {
+    BroadcastRegistry registry = new BroadcastRegistry();
+    String token = registry.share(broadcast);
+    Spectator spectator = new Spectator(registry.find(token), viewerOut, viewerTasks::add);
+    broadcast.join(spectator);
+
+    registry.unshare(broadcast);
+    runViewerTasks();
+
+    assertTrue(spectator.isEnded());
+    assertEquals(null, registry.find(token));
+    assertEquals("The session is no longer shared", viewerScreen.getLine(1));
+  }
+
+  private void runViewerTasks() {
+    Runnable task;
+    while ((task = viewerTasks.poll()) != null) {
+      task.run();
+    }
+  }
+}
@@ -0,0 +1,170 @@
+package com.terminal.startup;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Compares the startup of the plain jar with the startup-optimised builds.
+ *
+ * <p>Run with {@code mvn -Pfast-startup verify}, which builds the AOT-processed jar and its
+ * AppCDS archive before the test runs. A native executable built with
+ * {@code mvn -Pnative native:compile} beforehand is measured as well. Every build is started
+ * {@code startup.runs} times on a free port with an in-memory database. For each start the test
+ * measures the time until the first request to {@code /} succeeds, which is when an autoscaled
+ * node can take traffic, and how long that first request took.</p>
+ *
+ * <p>The report shows the median and the best of both. The test fails when a startup-optimised
+ * build does not become ready faster than the plain jar.</p>
+ */
+@Tag("startup")
+class StartupIT {
+
+  private static final int RUNS = Integer.getInteger("startup.runs", 5);
+  private static final Path JAR = Path.of(System.getProperty("startup.jar",
+      "target/terminal-1.0-SNAPSHOT.jar"));
+  private static final Path DIRECTORY = Path.of(System.getProperty("startup.directory",
+      "target/fast-startup"));
+  private static final Path NATIVE = Path.of(System.getProperty("startup.native",
+      "target/terminal"));
+  private static final Path LOGS = Path.of("target", "startup-logs");
+  private static final Duration START_TIMEOUT = Duration.ofMinutes(2);
+
+  private final HttpClient client = HttpClient.newBuilder()
+      .connectTimeout(Duration.ofSeconds(1))
+      .build();
+
+  @Test
+  void shouldStartFasterThanThePlainJar() throws Exception {
+    assertTrue(Files.isRegularFile(JAR), "No jar at " + JAR);
+    Path archive = DIRECTORY.resolve("application.jsa");
+    assertTrue(Files.isRegularFile(archive), "No AppCDS archive, build with -Pfast-startup");
+    Files.createDirectories(LOGS);
+
+    String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+    Map<String, List<String>> builds = new LinkedHashMap<>();
+    builds.put("plain jar", List.of(java, "-jar", JAR.toString()));
+    builds.put("aot + cds", List.of(java, "-XX:SharedArchiveFile=" + archive,
+        "-Dspring.aot.enabled=true", "-jar", DIRECTORY.resolve(JAR.getFileName()).toString()));
+    if (Files.isExecutable(NATIVE)) {
+      builds.put("native", List.of(NATIVE.toString()));
+    }
+
+    Map<String, Result> results = new LinkedHashMap<>();
+    for (Map.Entry<String, List<String>> build : builds.entrySet()) {
+      results.put(build.getKey(), measure(build.getKey(), build.getValue()));
+    }
+
+    StringBuilder report = new StringBuilder()
+        .append(String.format("%nStartup: %d runs per build%n", RUNS))
+        .append(String.format("  %-10s %14s %14s %16s %16s%n", "build", "ready p50",
+            "ready min", "first req p50", "first req min"));
+    for (Map.Entry<String, Result> result : results.entrySet()) {
+      Result r = result.getValue();
+      report.append(String.format("  %-10s %11.0f ms %11.0f ms %13.1f ms %13.1f ms%n",
+          result.getKey(), median(r.ready), r.ready.get(0), median(r.firstRequest),
+          r.firstRequest.get(0)));
+    }
+    System.out.println(report);
+
+    double plain = median(results.get("plain jar").ready);
+    for (Map.Entry<String, Result> result : results.entrySet()) {
+      if (!result.getKey().equals("plain jar")) {
+        double ready = median(result.getValue().ready);
+        assertTrue(ready < plain,
+            result.getKey() + " took " + ready + " ms to get ready, the plain jar " + plain);
+      }
+    }
+  }
+
+  private Result measure(String name, List<String> command) throws Exception {
+    Result result = new Result();
+    for (int run = 0; run < RUNS; run++) {
+      int port = freePort();
+      List<String> arguments = new ArrayList<>(command);
+      arguments.addAll(List.of("--server.port=" + port, "--management.server.port=-1",
+          "--webforj.devtools.browser.open=false", "--spring.datasource.url=jdbc:h2:mem:startup"));
+      Path log = LOGS.resolve(name.replaceAll("\\W+", "-") + "-" + run + ".log");
+
+      long start = System.nanoTime();
+      Process process = new ProcessBuilder(arguments)
+          .redirectErrorStream(true)
+          .redirectOutput(log.toFile())
+          .start();
+      try {
+        long firstRequest = awaitFirstResponse(process, port, start, log);
+        result.ready.add((System.nanoTime() - start) / 1e6);
+        result.firstRequest.add(firstRequest / 1e6);
+      } finally {
+        stop(process);
+      }
+    }
+
+    Collections.sort(result.ready);
+    Collections.sort(result.firstRequest);
+    return result;
+  }
+
+  // Polls until the server answers and returns how long the answered request took
+  private long awaitFirstResponse(Process process, int port, long start, Path log)
+      throws Exception {
+    HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/"))
+        .timeout(START_TIMEOUT)
+        .build();
+
+    while (System.nanoTime() - start < START_TIMEOUT.toNanos()) {
+      assertTrue(process.isAlive(), "The application exited, see " + log);
+      long sent = System.nanoTime();
+      try {
+        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        assertEquals(200, response.statusCode(), "First request failed, see " + log);
+        return System.nanoTime() - sent;
+      } catch (ConnectException e) {
+        // Not listening yet
+        Thread.sleep(10);
+      }
+    }
+    throw new AssertionError("The application did not start in time, see " + log);
+  }
+
+  private static void stop(Process process) throws InterruptedException {
+    process.descendants().forEach(ProcessHandle::destroy);
+    process.destroy();
+    if (!process.waitFor(30, TimeUnit.SECONDS)) {
+      process.destroyForcibly().waitFor();
+    }
+  }
+
+  private static int freePort() throws IOException {
+    try (ServerSocket socket = new ServerSocket(0)) {
+      return socket.getLocalPort();
+    }
+  }
+
+  private static double median(List<Double> sorted) {
+    return sorted.get(sorted.size() / 2);
+  }
+
+  private static class Result {
+    private final List<Double> ready = new ArrayList<>();
+    private final List<Double> firstRequest = new ArrayList<>();
+  }
+}
@@ -9,16 +9,18 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.server.LocalServerPort;
 
 import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.Locator;
 import com.microsoft.playwright.Page;
 import com.microsoft.playwright.Playwright;
 
-@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
-class HelloWorldViewIT {
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "management.server.port=-1", "webforj.devtools.browser.open=false"})
+class HomeViewIT {
 
   static Playwright playwright = Playwright.create();
   Browser browser;
   Page page;
-  
+
   @LocalServerPort
   private int port;
 
@@ -45,11 +47,17 @@ class HelloWorldViewIT {
   }
 
   @Test
-  void shouldClickButton() {
-    page.locator("input").fill("John Doe");
-    page.getByText("Say Hello").click();
+  void shouldOpenTheTerminalAndRunACommand() {
+    page.getByText("Open Terminal").click();
+
+    // The terminal renders its rows into the page, Playwright's locators pierce its shadow root
+    Locator rows = page.locator(".xterm-rows");
+    assertThat(rows).containsText("Welcome");
+
+    page.locator(".xterm").click();
+    page.keyboard().type("help");
+    page.keyboard().press("Enter");
 
-    assertThat(page.locator("dwc-toast").first())
-        .containsText("Welcome to webforJ Starter John Doe!");
+    assertThat(rows).containsText("Commands:");
   }
-}
\ No newline at end of file
+}